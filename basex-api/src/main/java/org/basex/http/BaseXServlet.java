@@ -5,6 +5,7 @@ import static org.basex.http.HTTPText.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import javax.servlet.*;
 import javax.servlet.http.*;
@@ -52,7 +53,31 @@ public abstract class BaseXServlet extends HttpServlet {
   public final void service(final HttpServletRequest req, final HttpServletResponse res)
       throws IOException {
 
+    // path information is evaluated before a request may be processed asynchronously
     final HTTPContext http = new HTTPContext(req, res, this);
+    final Executor workers = req.isAsyncSupported() && !req.isAsyncStarted() ?
+      HTTPContext.workers() : null;
+    if(workers == null) {
+      process(http);
+      return;
+    }
+
+    // release container thread: slow clients will only block the BaseX workers
+    final AsyncContext async = req.startAsync();
+    async.setTimeout(http.context().mprop.num(MainProp.HTTPTIMEOUT) * 1000L);
+    final AsyncRequest ar = new AsyncRequest(http, async);
+    async.addListener(ar);
+    workers.execute(ar);
+  }
+
+  /**
+   * Processes a request.
+   * @param http HTTP context
+   * @throws IOException I/O exception
+   */
+  private void process(final HTTPContext http) throws IOException {
+    final HttpServletRequest req = http.req;
+    final HttpServletResponse res = http.res;
     final boolean restxq = this instanceof RestXqServlet;
     try {
       run(http);
@@ -89,4 +114,91 @@ public abstract class BaseXServlet extends HttpServlet {
    * @throws Exception any exception
    */
   protected abstract void run(final HTTPContext http) throws Exception;
+
+  /**
+   * Asynchronous request. If the request times out or fails before it has been
+   * processed, an error is returned and the request is completed.
+   * Requests that are still waiting for a worker will then be skipped.
+   */
+  private final class AsyncRequest implements Runnable, AsyncListener {
+    /** HTTP context. */
+    private final HTTPContext http;
+    /** Asynchronous context. */
+    private final AsyncContext async;
+    /** Indicates if the request has been completed. */
+    private boolean done;
+
+    /**
+     * Constructor.
+     * @param ctx HTTP context
+     * @param ac asynchronous context
+     */
+    AsyncRequest(final HTTPContext ctx, final AsyncContext ac) {
+      http = ctx;
+      async = ac;
+    }
+
+    @Override
+    public void run() {
+      try {
+        if(!done()) process(http);
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      } finally {
+        // a request that has been dispatched will be completed by the container
+        if(finish() && http.req.isAsyncStarted()) async.complete();
+      }
+    }
+
+    @Override
+    public void onTimeout(final AsyncEvent event) throws IOException {
+      error(SC_SERVICE_UNAVAILABLE, Text.TIMEOUT_EXCEEDED);
+    }
+
+    @Override
+    public void onError(final AsyncEvent event) throws IOException {
+      final Throwable th = event.getThrowable();
+      error(SC_INTERNAL_SERVER_ERROR, th != null ? Util.message(th) : null);
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) { }
+
+    @Override
+    public void onComplete(final AsyncEvent event) { }
+
+    /**
+     * Returns an error and completes the request, unless it has already been completed.
+     * @param code status code
+     * @param message error message
+     * @throws IOException I/O exception
+     */
+    private void error(final int code, final String message) throws IOException {
+      if(!finish()) return;
+      try {
+        final boolean restxq = BaseXServlet.this instanceof RestXqServlet;
+        if(!http.res.isCommitted()) http.status(code, message, restxq);
+      } finally {
+        async.complete();
+      }
+    }
+
+    /**
+     * Checks if the request has been completed.
+     * @return result of check
+     */
+    private synchronized boolean done() {
+      return done;
+    }
+
+    /**
+     * Marks the request as completed.
+     * @return {@code true} if the request had not been completed before
+     */
+    private synchronized boolean finish() {
+      final boolean d = done;
+      done = true;
+      return !d;
+    }
+  }
 }
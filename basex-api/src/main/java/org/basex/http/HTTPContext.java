@@ -8,6 +8,7 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import javax.servlet.*;
 import javax.servlet.http.*;
@@ -45,13 +46,19 @@ public final class HTTPContext {
   private static Context context;
   /** Initialization flag. */
   private static boolean init;
+  /** Pooled sessions. */
+  private static SessionPool pool;
+  /** Workers for asynchronous requests. */
+  private static ExecutorService workers;
 
   /** Performance. */
   private final Performance perf = new Performance();
+  /** Request path, relative to the servlet context. */
+  private final String path;
   /** Segments. */
   private final String[] segments;
   /** Current user session. */
-  private LocalSession session;
+  private HTTPSession session;
   /** Password. */
   private String pass;
 
@@ -77,7 +84,9 @@ public final class HTTPContext {
 
     // set UTF8 as default encoding (can be overwritten)
     res.setCharacterEncoding(UTF8);
-    segments = toSegments(req.getPathInfo());
+    final String info = req.getPathInfo();
+    segments = toSegments(info);
+    path = req.getServletPath() + (info != null ? info : "");
 
     // adopt servlet-specific credentials or use global ones
     final MainProp mprop = context().mprop;
@@ -230,6 +239,24 @@ public final class HTTPContext {
     }
   }
 
+  /**
+   * Forwards the request to the specified path.
+   * @param target target path
+   * @throws IOException I/O exception
+   * @throws ServletException servlet exception
+   */
+  public void forward(final String target) throws IOException, ServletException {
+    if(req.isAsyncStarted()) {
+      // asynchronous processing: dispatch the request back to the container,
+      // relative paths are resolved against the path of the original request
+      final String p = target.startsWith("/") ? target :
+        path.substring(0, Math.max(0, path.lastIndexOf('/'))) + '/' + target;
+      req.getAsyncContext().dispatch(p);
+    } else {
+      req.getRequestDispatcher(target).forward(req, res);
+    }
+  }
+
   /**
    * Updates the credentials.
    * @param u user
@@ -241,17 +268,17 @@ public final class HTTPContext {
   }
 
   /**
-   * Creates a new {@link LocalSession} instance.
+   * Returns a pooled {@link HTTPSession} instance.
    * @return database session
    * @throws IOException I/O exception
    */
-  public LocalSession session() throws IOException {
+  public HTTPSession session() throws IOException {
     if(session == null) {
       final byte[] address = token(req.getRemoteAddr());
       try {
         if(user == null || user.isEmpty() || pass == null || pass.isEmpty())
           throw new LoginException(NOPASSWD);
-        session = new LocalSession(context(), user, pass);
+        session = pool().get(user, pass);
         context.blocker.remove(address);
       } catch(final LoginException ex) {
         // delay users with wrong passwords
@@ -263,10 +290,13 @@ public final class HTTPContext {
   }
 
   /**
-   * Closes an open database session.
+   * Returns the current database session to the pool.
    */
   public void close() {
-    if(session != null) session.close();
+    if(session != null) {
+      pool().release(session);
+      session = null;
+    }
   }
 
   /**
@@ -300,6 +330,46 @@ public final class HTTPContext {
     return context;
   }
 
+  /**
+   * Returns the session pool.
+   * @return pool
+   */
+  private static synchronized SessionPool pool() {
+    if(pool == null) pool = new SessionPool(context);
+    return pool;
+  }
+
+  /**
+   * Returns the workers for asynchronous requests.
+   * The number of workers is defined by {@link MainProp#HTTPASYNC}.
+   * @return workers, or {@code null} if requests are to be processed synchronously
+   */
+  static synchronized Executor workers() {
+    if(workers == null) {
+      final int n = context.mprop.num(MainProp.HTTPASYNC);
+      if(n <= 0) return null;
+      workers = Executors.newFixedThreadPool(n, new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+          final Thread t = new Thread(r, Prop.NAME + "HTTP");
+          t.setDaemon(true);
+          return t;
+        }
+      });
+    }
+    return workers;
+  }
+
+  /**
+   * Shuts down the workers for asynchronous requests.
+   * New workers will be created by the next asynchronous request.
+   */
+  public static synchronized void shutdown() {
+    if(workers == null) return;
+    workers.shutdown();
+    workers = null;
+  }
+
   /**
    * Initializes the database context, based on the initial servlet context.
    * Parses all context parameters and passes them on to the database context.
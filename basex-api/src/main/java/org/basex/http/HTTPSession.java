@@ -0,0 +1,74 @@
+package org.basex.http;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.server.*;
+import org.basex.util.*;
+
+/**
+ * Local database session, which is reused by subsequent HTTP requests of the same user.
+ * Options can be directly assigned; they will be reset when the session is returned
+ * to the {@link SessionPool}.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class HTTPSession extends LocalSession {
+  /** Initial options. */
+  private final HashMap<String, Object> options = new HashMap<String, Object>();
+
+  /**
+   * Constructor.
+   * @param context database context
+   * @param user user name
+   * @param pass password
+   * @throws LoginException login exception
+   */
+  HTTPSession(final Context context, final String user, final String pass)
+      throws LoginException {
+    super(context, user, pass);
+    for(final String key : ctx.prop) options.put(key, ctx.prop.get(key));
+  }
+
+  /**
+   * Returns the options of this session. Options can be directly assigned
+   * instead of executing {@code SET} commands.
+   * @return options
+   */
+  public Prop prop() {
+    return ctx.prop;
+  }
+
+  /**
+   * Returns the name of the session user.
+   * @return user name
+   */
+  String user() {
+    return ctx.user.name;
+  }
+
+  /**
+   * Checks the credentials of a reused session and updates the user reference.
+   * @param user user name
+   * @param pass password
+   * @throws LoginException login exception
+   */
+  void login(final String user, final String pass) throws LoginException {
+    final User us = ctx.users.get(user);
+    if(us == null || !us.password.equals(Token.md5(pass))) throw new LoginException();
+    ctx.user = us;
+  }
+
+  /**
+   * Closes an opened database and resets all options.
+   */
+  void reset() {
+    if(ctx.data() != null) close();
+    setOutputStream(null);
+    for(final Map.Entry<String, Object> e : options.entrySet()) {
+      final String key = e.getKey();
+      if(!e.getValue().equals(ctx.prop.get(key))) ctx.prop.setObject(key, e.getValue());
+    }
+  }
+}
@@ -15,6 +15,10 @@ public interface HTTPText {
   String BASIC = "Basic";
   /** Location string. */
   String LOCATION = "location";
+  /** HTTP header: ETag. */
+  String ETAG = "ETag";
+  /** HTTP header: If-None-Match. */
+  String IF_NONE_MATCH = "If-None-Match";
 
   /** HTTP String. */
   String HTTP = "HTTP";
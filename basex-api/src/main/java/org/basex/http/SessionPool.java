@@ -0,0 +1,77 @@
+package org.basex.http;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.server.*;
+
+/**
+ * This class pools authenticated database sessions. Sessions are stored per user;
+ * a returned session is reset and reused by the next request of the same user,
+ * so that no new client context needs to be created. The maximum number of idle
+ * sessions per user is defined by {@link MainProp#HTTPPOOL}.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+final class SessionPool {
+  /** Idle sessions, indexed by user names. */
+  private final HashMap<String, ArrayList<HTTPSession>> idle =
+      new HashMap<String, ArrayList<HTTPSession>>();
+  /** Database context. */
+  private final Context context;
+
+  /**
+   * Constructor.
+   * @param ctx database context
+   */
+  SessionPool(final Context ctx) {
+    context = ctx;
+  }
+
+  /**
+   * Returns an idle session of the specified user, or creates a new one.
+   * @param user user name
+   * @param pass password
+   * @return session
+   * @throws LoginException login exception
+   */
+  HTTPSession get(final String user, final String pass) throws LoginException {
+    HTTPSession session = null;
+    synchronized(this) {
+      final ArrayList<HTTPSession> list = idle.get(user);
+      if(list != null && !list.isEmpty()) session = list.remove(list.size() - 1);
+    }
+    if(session == null) return new HTTPSession(context, user, pass);
+
+    try {
+      session.login(user, pass);
+    } catch(final LoginException ex) {
+      release(session);
+      throw ex;
+    }
+    return session;
+  }
+
+  /**
+   * Resets a session and returns it to the pool. The session will be closed
+   * if the maximum number of idle sessions has been reached.
+   * @param session session
+   */
+  void release(final HTTPSession session) {
+    session.reset();
+    final String user = session.user();
+    synchronized(this) {
+      ArrayList<HTTPSession> list = idle.get(user);
+      if(list == null) {
+        list = new ArrayList<HTTPSession>();
+        idle.put(user, list);
+      }
+      if(list.size() < context.mprop.num(MainProp.HTTPPOOL)) {
+        list.add(session);
+        return;
+      }
+    }
+    session.close();
+  }
+}
@@ -1,6 +1,5 @@
 package org.basex.http.rest;
 
-import static org.basex.core.Text.*;
 import static org.basex.http.rest.RESTText.*;
 
 import java.io.*;
@@ -8,8 +7,6 @@ import java.util.*;
 import java.util.Map.Entry;
 
 import org.basex.core.*;
-import org.basex.core.cmd.*;
-import org.basex.core.cmd.Set;
 import org.basex.http.*;
 import org.basex.io.in.*;
 import org.basex.io.serial.*;
@@ -58,24 +55,25 @@ class RESTQuery extends RESTCode {
   protected void query(final String in, final HTTPContext http, final String path)
       throws IOException {
 
-    final LocalSession session = http.session();
+    // options are directly assigned; they will be reset when the session is released
+    final HTTPSession session = http.session();
+    final Prop prop = session.prop();
     if(item != null) {
       // create main memory instance of the document specified as context node
-      final boolean mm = session.execute(
-          new Get(Prop.MAINMEM)).split(COLS)[1].equals(TRUE);
-      session.execute(new Set(Prop.MAINMEM, true));
+      final boolean mm = prop.is(Prop.MAINMEM);
+      prop.set(Prop.MAINMEM, true);
       session.create(Util.name(RESTQuery.class), new ArrayInput(item));
-      if(!mm) session.execute(new Set(Prop.MAINMEM, false));
+      prop.set(Prop.MAINMEM, mm);
     } else {
       // open addressed database
       open(http);
     }
 
-    // send serialization options to the server
-    session.execute(new Set(Prop.SERIALIZER, serial(http)));
+    // assign serialization options
+    prop.set(Prop.SERIALIZER, serial(http));
     session.setOutputStream(http.res.getOutputStream());
     // set base path to correctly resolve local references
-    session.execute(new Set(Prop.QUERYPATH, path));
+    prop.set(Prop.QUERYPATH, path);
 
     // create query instance and bind http context
     final Query qu = session.query(in);
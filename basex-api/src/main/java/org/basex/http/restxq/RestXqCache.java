@@ -0,0 +1,173 @@
+package org.basex.http.restxq;
+
+import static javax.servlet.http.HttpServletResponse.*;
+import static org.basex.http.HTTPText.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.security.*;
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.http.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * This class caches the serialized results of a RESTXQ function, which has been
+ * annotated with {@code %rest:cache}. Results are indexed by the user name and
+ * the values of all function arguments. A cached result is discarded if it has
+ * expired, or if any of the databases accessed by the function has been updated.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+final class RestXqCache {
+  /** Maximum number of cached results. */
+  private static final int MAX_ENTRIES = 256;
+  /** Maximum size of a cached result. */
+  private static final int MAX_SIZE = 1 << 20;
+
+  /** Time to live (milliseconds). */
+  final long duration;
+  /** Cached results (least recently used ones will be removed first). */
+  private final LinkedHashMap<String, Result> entries =
+      new LinkedHashMap<String, Result>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, Result> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  /**
+   * Constructor.
+   * @param ms time to live (milliseconds)
+   */
+  RestXqCache(final long ms) {
+    duration = ms;
+  }
+
+  /**
+   * Returns a cache key for the specified arguments.
+   * @param http HTTP context
+   * @param args bound arguments
+   * @return key, or {@code null} if the arguments cannot be used as key
+   * @throws QueryException query exception
+   */
+  static String key(final HTTPContext http, final Expr[] args) throws QueryException {
+    final TokenBuilder tb = new TokenBuilder().add(http.user);
+    for(final Expr arg : args) {
+      if(!(arg instanceof Value)) return null;
+      final Value val = (Value) arg;
+      tb.add(1);
+      final long vs = val.size();
+      for(long v = 0; v < vs; v++) {
+        final Item it = val.itemAt(v);
+        if(!(it.type instanceof AtomType)) return null;
+        tb.add(2).add(it.type.toString()).add(3).add(it.string(null));
+      }
+    }
+    return tb.toString();
+  }
+
+  /**
+   * Returns a valid cached result.
+   * @param key key
+   * @param versions database versions
+   * @return result, or {@code null}
+   */
+  synchronized Result get(final String key, final Versions versions) {
+    final Result entry = entries.get(key);
+    if(entry == null) return null;
+    if(entry.expires >= System.currentTimeMillis() && entry.valid(versions)) return entry;
+    entries.remove(key);
+    return null;
+  }
+
+  /**
+   * Creates a result and caches it if it does not exceed the maximum size.
+   * @param key key
+   * @param result serialized result
+   * @param lr databases accessed by the function
+   * @param versions database versions
+   * @return result
+   */
+  synchronized Result put(final String key, final byte[] result, final LockResult lr,
+      final Versions versions) {
+
+    final StringList dbs = lr.readAll || lr.writeAll ? null : new StringList().
+        add(lr.read).add(lr.write);
+    final Result entry = new Result(result, dbs, versions, duration);
+    if(result.length <= MAX_SIZE) entries.put(key, entry);
+    return entry;
+  }
+
+  /** Cached result. */
+  static final class Result {
+    /** Serialized result. */
+    private final byte[] result;
+    /** Entity tag. */
+    private final String etag;
+    /** Accessed databases ({@code null}: all databases). */
+    private final String[] dbs;
+    /** Versions of the accessed databases. */
+    private final long[] vers;
+    /** Expiration time. */
+    private final long expires;
+
+    /**
+     * Constructor.
+     * @param res serialized result
+     * @param names accessed databases ({@code null}: all databases)
+     * @param versions database versions
+     * @param ms time to live (milliseconds)
+     */
+    Result(final byte[] res, final StringList names, final Versions versions,
+        final long ms) {
+      result = res;
+      dbs = names == null ? new String[] { null } : names.toArray();
+      vers = new long[dbs.length];
+      for(int d = 0; d < dbs.length; d++) vers[d] = versions.get(dbs[d]);
+      expires = System.currentTimeMillis() + ms;
+      try {
+        final byte[] md5 = MessageDigest.getInstance("MD5").digest(res);
+        etag = '"' + string(hex(md5, false)) + '"';
+      } catch(final NoSuchAlgorithmException ex) {
+        throw Util.notexpected(ex);
+      }
+    }
+
+    /**
+     * Checks if none of the accessed databases has been updated.
+     * @param versions database versions
+     * @return result of check
+     */
+    boolean valid(final Versions versions) {
+      for(int d = 0; d < dbs.length; d++) {
+        if(versions.get(dbs[d]) != vers[d]) return false;
+      }
+      return true;
+    }
+
+    /**
+     * Sends the result, or a {@code 304} status code if the client has cached the
+     * result with the same entity tag.
+     * @param http HTTP context
+     * @throws IOException I/O exception
+     */
+    void send(final HTTPContext http) throws IOException {
+      http.res.setHeader(ETAG, etag);
+      final String match = http.req.getHeader(IF_NONE_MATCH);
+      if(match != null && (match.equals("*") || match.contains(etag))) {
+        http.res.setStatus(SC_NOT_MODIFIED);
+      } else {
+        http.res.getOutputStream().write(result);
+      }
+    }
+  }
+}
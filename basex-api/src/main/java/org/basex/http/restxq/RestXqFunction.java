@@ -40,6 +40,9 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
   /** Pattern for a single template. */
   private static final Pattern TEMPLATE =
       Pattern.compile("\\s*\\{\\s*\\$(.+?)\\s*\\}\\s*");
+  /** Pattern for a cache duration. */
+  private static final Pattern DURATION =
+      Pattern.compile("\\s*(\\d{1,9})\\s*(ms|s|m|h)?\\s*");
 
   /** Supported methods. */
   EnumSet<HTTPMethod> methods = EnumSet.allOf(HTTPMethod.class);
@@ -52,6 +55,8 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
   /** Path. */
   RestXqPath path;
 
+  /** Result cache (assigned if function is annotated with {@code %rest:cache}). */
+  RestXqCache cache;
   /** Error. */
   RestXqError error;
   /** Query parameters. */
@@ -155,6 +160,10 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
         } else if(eq(ERROR_PARAM, local)) {
           // annotation "error-param"
           errorParams.add(param(value, name, declared));
+        } else if(eq(CACHE, local)) {
+          // annotation "cache"
+          if(cache != null) error(info, ANN_TWICE, "%", name.string());
+          cache = new RestXqCache(duration(toString(value, name), info));
         } else {
           // method annotations
           final HTTPMethod m = HTTPMethod.get(string(local));
@@ -469,6 +478,23 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
     for(int v = 0; v < vs; v++) list.add(toString(value.itemAt(v), name));
   }
 
+  /**
+   * Returns a cache duration in milliseconds.
+   * Supported units are {@code ms}, {@code s} (default), {@code m} and {@code h}.
+   * @param dur duration string
+   * @param info input info
+   * @return duration
+   * @throws QueryException HTTP exception
+   */
+  private long duration(final String dur, final InputInfo info) throws QueryException {
+    final Matcher m = DURATION.matcher(dur);
+    if(!m.matches()) error(info, INV_CACHE, dur);
+    final long d = Long.parseLong(m.group(1));
+    final String unit = m.group(2);
+    return unit == null || unit.equals("s") ? d * 1000 : unit.equals("ms") ? d :
+      unit.equals("m") ? d * 60000 : d * 3600000;
+  }
+
   /**
    * Returns a parameter.
    * @param value value
@@ -105,6 +105,8 @@ final class RestXqModule {
         if(!func.function.info.equals(uf.info)) continue;
         final RestXqFunction rxf = new RestXqFunction(uf, qc, this);
         rxf.parse();
+        // results are cached by the function instance of the parsed module
+        rxf.cache = func.cache;
         new RestXqResponse(rxf, qc, http, error).create();
         break;
       }
@@ -3,7 +3,11 @@ package org.basex.http.restxq;
 import static org.basex.http.restxq.RestXqText.*;
 import static org.basex.util.Token.*;
 
+import java.io.*;
+
+import org.basex.core.*;
 import org.basex.http.*;
+import org.basex.io.out.*;
 import org.basex.io.serial.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
@@ -68,6 +72,25 @@ final class RestXqResponse {
       query.mainModule(mm);
       query.context(http, null);
 
+      // return cached result
+      final RestXqCache cache = function.cache;
+      final boolean cacheable = cache != null && error == null &&
+          http.method == HTTPMethod.GET && !query.updating;
+      final String key = cacheable ? RestXqCache.key(http, args) : null;
+      final Versions versions = query.context.versions;
+      LockResult lr = null;
+      if(key != null) {
+        final RestXqCache.Result cached = cache.get(key, versions);
+        if(cached != null) {
+          http.initResponse(function.output);
+          cached.send(http);
+          return;
+        }
+        // collect accessed databases before expressions are pre-evaluated
+        lr = new LockResult();
+        query.databases(lr);
+      }
+
       // compile and evaluate query
       query.compile();
       final Iter iter = query.iter();
@@ -104,10 +127,17 @@ final class RestXqResponse {
       // serialize result
       final SerializerProp sp = function.output;
       http.initResponse(sp);
-      final Serializer ser = Serializer.get(http.res.getOutputStream(), sp);
+      final ArrayOutput ao = key != null ? new ArrayOutput() : null;
+      final OutputStream os = ao != null ? ao : http.res.getOutputStream();
+      final Serializer ser = Serializer.get(os, sp);
       for(; item != null; item = iter.next()) ser.serialize(item);
       ser.close();
 
+      if(ao != null) {
+        // cache result, including the versions of all accessed databases
+        cache.put(key, ao.toArray(), lr, versions).send(http);
+      }
+
     } finally {
       query.close();
       query.context.unregister(query);
@@ -115,7 +145,7 @@ final class RestXqResponse {
       if(redirect != null) {
         http.res.sendRedirect(redirect);
       } else if(forward != null) {
-        http.req.getRequestDispatcher(forward).forward(http.req, http.res);
+        http.forward(forward);
       } else if(resp != null) {
         if(resp.status != 0) http.status(resp.status, resp.message, resp.error);
         http.res.getOutputStream().write(resp.cache.toArray());
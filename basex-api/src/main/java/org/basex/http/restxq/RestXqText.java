@@ -32,6 +32,8 @@ public interface RestXqText {
   byte[] COOKIE_PARAM = token("cookie-param");
   /** Token "query-param". */
   byte[] ERROR_PARAM = token("error-param");
+  /** Token "cache". */
+  byte[] CACHE = token("cache");
 
   /** Token "header". */
   byte[] HEADER = token("header");
@@ -103,6 +105,8 @@ public interface RestXqText {
   String ERROR_CONFLICT = "Several functions assigned to error \"%\":%";
   /** Error message. */
   String NO_VALUE = "'%' element has no string value.";
+  /** Error message. */
+  String INV_CACHE = "Invalid cache duration: \"%\".";
 
   /** QName. */
   QNm Q_STATUS = QNm.get(STATUS);
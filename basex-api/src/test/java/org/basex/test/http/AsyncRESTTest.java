@@ -0,0 +1,93 @@
+package org.basex.test.http;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.http.*;
+import org.basex.util.*;
+import org.junit.*;
+
+/**
+ * This class tests the REST API with asynchronous request processing.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public class AsyncRESTTest extends RESTTest {
+  /** Number of workers. */
+  private static final int WORKERS = 4;
+  /** Duration of a slow query (ms). */
+  private static final int SLEEP = 500;
+
+  /**
+   * Start server.
+   * @throws Exception exception
+   */
+  @BeforeClass
+  public static void start() throws Exception {
+    init(ROOT, true);
+    CONTEXT.mprop.set(MainProp.HTTPASYNC, WORKERS);
+  }
+
+  /**
+   * Stops the workers and switches back to synchronous request processing.
+   */
+  @AfterClass
+  public static void reset() {
+    HTTPContext.shutdown();
+    CONTEXT.mprop.set(MainProp.HTTPASYNC, (Integer) MainProp.HTTPASYNC[1]);
+  }
+
+  /**
+   * Sends more slow requests than there are workers. All requests must succeed,
+   * and the workers must process them in parallel.
+   * @throws Exception exception
+   */
+  @Test
+  public void parallel() throws Exception {
+    final int clients = WORKERS * 2;
+    final ExecutorService exec = Executors.newFixedThreadPool(clients);
+    try {
+      final ArrayList<Future<String>> results = new ArrayList<Future<String>>();
+      final Performance perf = new Performance();
+      for(int c = 0; c < clients; c++) {
+        results.add(exec.submit(new Callable<String>() {
+          @Override
+          public String call() throws IOException {
+            return get("?query=prof:sleep(" + SLEEP + "),1");
+          }
+        }));
+      }
+      for(final Future<String> f : results) assertEquals("1", f.get());
+      // sequential processing would take (clients * SLEEP) ms
+      final long ms = perf.time() / 1000000;
+      assertTrue("Requests were not processed in parallel: " + ms + " ms",
+          ms < clients * SLEEP);
+    } finally {
+      exec.shutdown();
+    }
+  }
+
+  /**
+   * Checks that requests exceeding the asynchronous timeout return an error,
+   * and that subsequent requests are processed as usual.
+   * @throws Exception exception
+   */
+  @Test
+  public void timeout() throws Exception {
+    CONTEXT.mprop.set(MainProp.HTTPTIMEOUT, 1);
+    try {
+      get("?query=prof:sleep(" + SLEEP * 4 + "),1");
+      fail("Timeout expected.");
+    } catch(final IOException ex) {
+      assertContains(ex.getMessage(), Text.TIMEOUT_EXCEEDED);
+    } finally {
+      CONTEXT.mprop.set(MainProp.HTTPTIMEOUT, (Integer) MainProp.HTTPTIMEOUT[1]);
+    }
+    assertEquals("1", get("?query=1"));
+  }
+}
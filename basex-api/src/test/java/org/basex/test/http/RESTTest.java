@@ -465,7 +465,7 @@ public class RESTTest extends HTTPTest {
    * @param str string
    * @param sub sub string
    */
-  private static void assertContains(final String str, final String sub) {
+  static void assertContains(final String str, final String sub) {
     if(!str.contains(sub)) fail('\'' + sub + "' not contained in '" + str + "'.");
   }
 
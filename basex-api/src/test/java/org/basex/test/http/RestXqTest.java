@@ -385,6 +385,41 @@ public final class RestXqTest extends HTTPTest {
         "function m:b($x) { $x };", "", "!!!");
   }
 
+  /**
+   * Result caching.
+   * @throws Exception exception */
+  @Test public void cache() throws Exception {
+    // cached results
+    install("declare %R:path('c/{$x}') %R:cache('60s') function m:c($x) { " +
+        "$x || random:double() };");
+    final String a = get("c/a");
+    assertEquals(a, get("c/a"));
+    assertFalse(a.equals(get("c/b")));
+
+    // invalidate result after database update
+    final String db = "db:open('" + NAME + "')";
+    install("declare %R:path('c') %R:cache('1h') function m:c() { " +
+        "count(" + db + "//b) };" +
+        "declare %updating %R:path('u') function m:u() { insert node <b/> into " + db +
+        " };" +
+        "declare %updating %R:path('n') function m:n() { db:create('" + NAME +
+        "', <a/>, 'a.xml') };" +
+        "declare %updating %R:path('d') function m:d() { db:drop('" + NAME + "') };");
+    get("n");
+    try {
+      assertEquals("0", get("c"));
+      assertEquals("0", get("c"));
+      get("u");
+      assertEquals("1", get("c"));
+    } finally {
+      get("d");
+    }
+
+    // invalid durations
+    getE("declare %R:path('') %R:cache('1d') function m:c() { 1 };", "");
+    getE("declare %R:path('') %R:cache('1s') %R:cache('1s') function m:c() { 1 };", "");
+  }
+
   // PRIVATE METHODS ==========================================================
 
   /**
@@ -33,6 +33,10 @@ final class XMLScanner extends Proc {
   private static final byte[] QUESTION = { '?' };
   /** Ampersand entity. */
   private static final byte[] AMPER = { '&' };
+  /** Characters that terminate a run of plain text. */
+  private static final boolean[] TEXT = XMLInput.delimiters('<', '&', ']');
+  /** Characters that terminate a run of plain attribute value characters. */
+  private static final boolean[] ATTV = XMLInput.delimiters('<', '&', '\'', '"', '\n');
 
   /** Scanning states. */
   private enum State {
@@ -283,6 +287,8 @@ final class XMLScanner extends Proc {
         else if(!input.add(r, false)) error(RECENT);
       } else {
         token.add(c);
+        // copy subsequent ASCII characters in bulk
+        if(!pe) input.copy(token, ATTV);
       }
     } while((c = consume()) != quote);
   }
@@ -312,8 +318,9 @@ final class XMLScanner extends Proc {
             }
             prev(1);
           }
-          // add character to cached content
+          // add character to cached content, and copy subsequent ASCII characters
           token.add(c);
+          if(!pe) input.copy(token, TEXT);
         }
       } else {
         if(!f && !isCDATA()) {
@@ -40,6 +40,10 @@ public final class Context {
   public final Repo repo;
   /** Databases list. */
   public final Databases databases;
+  /** Background jobs. */
+  public final Jobs jobs;
+  /** Database versions. */
+  public final Versions versions;
 
   /** User reference. */
   public User user;
@@ -54,6 +58,8 @@ public final class Context {
   /** Focused node. */
   public int focused = -1;
 
+  /** Indicates if the context is used by a background job (no timeout is applied). */
+  boolean job;
   /** Node context. Set if it does not contain all documents of the current database. */
   private Nodes current;
   /** Process locking. */
@@ -89,6 +95,8 @@ public final class Context {
     events = ctx.events;
     sessions = ctx.sessions;
     databases = ctx.databases;
+    jobs = ctx.jobs;
+    versions = ctx.versions;
     blocker = ctx.blocker;
     locks = ctx.locks;
     users = ctx.users;
@@ -107,6 +115,8 @@ public final class Context {
     sessions = new Sessions();
     blocker = new ClientBlocker();
     databases = new Databases(this);
+    jobs = new Jobs(mp);
+    versions = new Versions();
     locks = mp.is(MainProp.GLOBALLOCK) || Prop.gui ?
       new ProcLocking(this) : new DBLocking(mp);
     users = new Users(this);
@@ -121,6 +131,7 @@ public final class Context {
    */
   public synchronized void close() {
     while(!sessions.isEmpty()) sessions.get(0).quit();
+    jobs.close();
     dbs.close();
     log.close();
   }
@@ -228,17 +239,30 @@ public final class Context {
     assert !pr.registered() : "Already registered:" + pr;
     pr.registered(true);
 
-    // administrators will not be affected by the timeout
-    if(!user.has(Perm.ADMIN)) pr.startTimeout(mprop.num(MainProp.TIMEOUT) * 1000L);
+    // administrators and background jobs will not be affected by the timeout
+    if(!job && !user.has(Perm.ADMIN)) {
+      pr.startTimeout(mprop.num(MainProp.TIMEOUT) * 1000L);
+    }
+    // background jobs will be scheduled with a lower priority than client requests
+    pr.priority = priority() - (job ? 1 : 0);
 
     // get touched databases
     final LockResult lr = new LockResult();
     pr.databases(lr);
     final StringList read = prepareLock(lr.read, lr.readAll);
     final StringList write = prepareLock(lr.write, lr.writeAll);
+    pr.written = write;
     locks.acquire(pr, read, write);
   }
 
+  /**
+   * Returns information on the transaction queue.
+   * @return info string, or {@code null} if not available
+   */
+  public String locking() {
+    return locks instanceof DBLocking ? ((DBLocking) locks).info() : null;
+  }
+
   /**
    * Downgrades locks.
    * @param pr process
@@ -256,10 +280,32 @@ public final class Context {
   public void unregister(final Proc pr) {
     assert pr.registered() : "Not registered:" + pr;
     pr.registered(false);
+    // assign new versions to updated databases before other processes can access them.
+    // if no write locks were assigned, the touched databases are unknown
+    if(pr.updating) {
+      final StringList w = pr.written;
+      versions.update(w == null || w.isEmpty() ? null : w);
+    }
     locks.release(pr);
     pr.stopTimeout();
   }
 
+  /**
+   * Returns the scheduling priority of the current user, as defined by
+   * {@link MainProp#PRIORITIES}.
+   * @return priority
+   */
+  private int priority() {
+    for(final String entry : mprop.get(MainProp.PRIORITIES).split(",")) {
+      final int i = entry.indexOf('=');
+      if(i != -1 && entry.substring(0, i).trim().equals(user.name)) {
+        final int p = Token.toInt(entry.substring(i + 1).trim());
+        if(p != Integer.MIN_VALUE) return p;
+      }
+    }
+    return 0;
+  }
+
   /**
    * Prepares the string list for locking.
    * @param sl string list
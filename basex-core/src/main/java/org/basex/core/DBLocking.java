@@ -6,11 +6,13 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.*;
 
+import org.basex.core.Scheduler.Ticket;
 import org.basex.util.list.*;
 
 /**
  * Manage read and write locks on arbitrary strings. Maximum of {@link MainProp#PARALLEL}
- * concurrent transactions are allowed, further will be queued.
+ * concurrent transactions are allowed, further will be queued. The order in which queued
+ * transactions are admitted is determined by a {@link Scheduler}.
  *
  * This class prevents locking deadlocks by sorting all all strings
  *
@@ -66,16 +68,21 @@ public final class DBLocking implements Locking {
   private final Map<String, Integer> lockUsage =
       new HashMap<String, Integer>();
   /**
-   * Currently running transactions.
-   * Used as monitor for atomizing access to {@link #queue}.
+   * Currently running readers (offset 0) and writers (offset 1).
+   * Guarded by {@link #queue}.
    */
-  private int transactions;
+  private final int[] running = new int[2];
   /**
-   * Queue for transactions waiting.
+   * Queue for transactions waiting, in the order of arrival.
    *
    * Used as monitor for waiting threads in queue.
    */
-  private final Queue<Long> queue = new LinkedList<Long>();
+  private final List<Ticket> queue = new LinkedList<Ticket>();
+  /** Tickets of the currently running transactions. */
+  private final ConcurrentMap<Long, Ticket> admitted =
+      new ConcurrentHashMap<Long, Ticket>();
+  /** Scheduler, deciding on the order in which queued transactions will be admitted. */
+  private final Scheduler scheduler;
   /**
    * Stores a list of objects each transaction has write-locked.
    * Null means lock everything, an empty array lock nothing.
@@ -96,7 +103,17 @@ public final class DBLocking implements Locking {
    * @param mp Main properties, used to read parallel transactions limit.
    */
   public DBLocking(final MainProp mp) {
+    this(mp, new Scheduler(mp));
+  }
+
+  /**
+   * Initialize new Locking instance with a custom scheduler.
+   * @param mp Main properties, used to read parallel transactions limit.
+   * @param sc Scheduler
+   */
+  public DBLocking(final MainProp mp, final Scheduler sc) {
     mprop = mp;
+    scheduler = sc;
   }
 
   @Override
@@ -106,20 +123,24 @@ public final class DBLocking implements Locking {
       throw new IllegalMonitorStateException("Thread already holds one or more locks.");
 
     // Wait in queue if necessary
+    final boolean writing = null == write || !write.isEmpty();
+    final Ticket ticket = new Ticket(thread, pr.priority, writing);
     synchronized(queue) { // Guard queue and transaction, monitor for waiting in queue
-      queue.add(thread);
-      while(transactions >= Math.max(mprop.num(MainProp.PARALLEL), 1)
-          || queue.peek() != thread) {
+      queue.add(ticket);
+      while(scheduler.next(queue, running) != ticket) {
         try {
           queue.wait();
         } catch(final InterruptedException e) {
           Thread.currentThread().interrupt();
         }
       }
-      final int t = transactions++;
-      assert t <= Math.max(mprop.num(MainProp.PARALLEL), 1);
-      queue.remove(thread);
+      queue.remove(ticket);
+      running[ticket.writing ? 1 : 0]++;
+      scheduler.admitted(ticket);
+      // Other waiting transactions may be admissible as well
+      queue.notifyAll();
     }
+    admitted.put(thread, ticket);
 
     // Global write lock if write StringList is not set
     if(null == write) writeAll.writeLock().lock();
@@ -304,12 +325,23 @@ public final class DBLocking implements Locking {
     }
 
     // Allow another transaction to run
+    final Ticket ticket = admitted.remove(thread);
     synchronized(queue) {
-      transactions--;
+      running[ticket.writing ? 1 : 0]--;
       queue.notifyAll();
     }
   }
 
+  /**
+   * Returns information on the transaction queue and the waiting times.
+   * @return info string
+   */
+  public String info() {
+    synchronized(queue) {
+      return "Running: " + (running[0] + running[1]) + NL + scheduler.info(queue.size());
+    }
+  }
+
   /**
    * Marks a lock as used.
    * @param lock Lock to set used
@@ -347,8 +379,11 @@ public final class DBLocking implements Locking {
     final String ind = "| ";
     final StringBuilder sb = new StringBuilder(NL);
     sb.append("Locking" + NL);
-    sb.append(ind + "Transactions running: " + transactions + NL);
-    sb.append(ind + "Transaction queue: " + queue + NL);
+    synchronized(queue) {
+      sb.append(ind + "Readers running: " + running[0] + NL);
+      sb.append(ind + "Writers running: " + running[1] + NL);
+      sb.append(ind + "Transactions waiting: " + queue.size() + NL);
+    }
     sb.append(ind + "Held locks by object:" + NL);
     for(final Object object : locks.keySet())
       sb.append(ind + ind + object + " -> " + locks.get(object) + NL);
@@ -0,0 +1,263 @@
+package org.basex.core;
+
+import java.io.*;
+
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.basex.io.out.*;
+import org.basex.util.*;
+
+/**
+ * This class represents a query that is evaluated in the background.
+ * The result is cached in main memory; if it exceeds the size defined by
+ * {@link MainProp#JOBCACHE}, it is spilled to a temporary file.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class Job implements Runnable {
+  /** Job states. */
+  public enum State {
+    /** Waiting for a free worker. */ QUEUED,
+    /** Running. */ RUNNING,
+    /** Stopped by the user. */ STOPPED,
+    /** Failed. */ FAILED,
+    /** Finished. */ FINISHED
+  }
+
+  /** Job id. */
+  public final String id;
+  /** Name of the user who submitted the job. */
+  public final String user;
+  /** Query string. */
+  public final String query;
+
+  /** Job context. */
+  private final Context ctx;
+  /** Query command. */
+  private final XQuery cmd;
+  /** Maximum number of bytes to be cached in main memory. */
+  private final long max;
+  /** Submission time. */
+  private final long submitted = System.currentTimeMillis();
+
+  /** Current state. */
+  private volatile State state = State.QUEUED;
+  /** Start time. */
+  private long started;
+  /** End time. */
+  private long ended;
+  /** Error message or command info. */
+  private String info = "";
+  /** Cached result. */
+  private ArrayOutput cache = new ArrayOutput();
+  /** Temporary file with the result (assigned if the cache has been exceeded). */
+  private IOFile file;
+
+  /**
+   * Constructor.
+   * @param i job id
+   * @param query query string
+   * @param context context of the submitting client
+   */
+  Job(final String i, final String query, final Context context) {
+    id = i;
+    this.query = query;
+    user = context.user.name;
+    max = context.mprop.num(MainProp.JOBCACHE);
+    ctx = new Context(context, null);
+    ctx.user = context.user;
+    ctx.job = true;
+    cmd = new XQuery(query);
+  }
+
+  @Override
+  public void run() {
+    synchronized(this) {
+      // job may have been stopped while it was queued
+      if(state != State.QUEUED) return;
+      state = State.RUNNING;
+      started = System.currentTimeMillis();
+    }
+
+    boolean ok = false;
+    try {
+      final PrintOutput out = PrintOutput.get(new SpillOutput());
+      try {
+        cmd.execute(ctx, out);
+        info = cmd.info();
+        ok = true;
+      } finally {
+        out.close();
+      }
+    } catch(final BaseXException ex) {
+      info = ex.getMessage();
+    } catch(final IOException ex) {
+      info = Util.message(ex);
+    } catch(final RuntimeException ex) {
+      info = Util.bug(ex);
+    } finally {
+      synchronized(this) {
+        ended = System.currentTimeMillis();
+        if(state == State.RUNNING) state = ok ? State.FINISHED : State.FAILED;
+      }
+      new Close().run(ctx);
+    }
+  }
+
+  /**
+   * Stops the job.
+   */
+  public synchronized void stop() {
+    if(state == State.QUEUED) ended = System.currentTimeMillis();
+    if(state == State.QUEUED || state == State.RUNNING) {
+      state = State.STOPPED;
+      cmd.stop();
+    }
+  }
+
+  /**
+   * Returns the current state.
+   * @return state
+   */
+  public State state() {
+    return state;
+  }
+
+  /**
+   * Checks if the job has been completed.
+   * @return result of check
+   */
+  public boolean done() {
+    final State s = state;
+    return s != State.QUEUED && s != State.RUNNING;
+  }
+
+  /**
+   * Returns the progress of the running query as value from the interval {@code [0, 1]}.
+   * @return progress
+   */
+  public double progress() {
+    final State s = state;
+    return s == State.FINISHED ? 1 : s == State.RUNNING ? cmd.progress() : 0;
+  }
+
+  /**
+   * Returns the elapsed time in milliseconds.
+   * @return time
+   */
+  public synchronized long time() {
+    return state == State.QUEUED ? 0 :
+      (done() ? ended : System.currentTimeMillis()) - (started == 0 ? ended : started);
+  }
+
+  /**
+   * Returns the submission time.
+   * @return time
+   */
+  public long submitted() {
+    return submitted;
+  }
+
+  /**
+   * Returns the command info or error message.
+   * @return info
+   */
+  public String info() {
+    return info;
+  }
+
+  /**
+   * Returns the size of the result in bytes.
+   * @return size
+   */
+  public synchronized long size() {
+    return file != null ? file.length() : cache != null ? cache.size() : 0;
+  }
+
+  /**
+   * Writes the result to the specified output stream.
+   * @param os output stream
+   * @throws IOException I/O exception
+   */
+  public synchronized void result(final OutputStream os) throws IOException {
+    if(file != null) {
+      final InputStream is = file.inputStream();
+      try {
+        final byte[] data = new byte[IO.BLOCKSIZE];
+        for(int c; (c = is.read(data)) != -1;) os.write(data, 0, c);
+      } finally {
+        is.close();
+      }
+    } else if(cache != null) {
+      os.write(cache.buffer(), 0, (int) cache.size());
+    }
+  }
+
+  /**
+   * Discards the result and deletes a temporary file.
+   */
+  synchronized void discard() {
+    cache = null;
+    if(file != null) {
+      file.delete();
+      file = null;
+    }
+  }
+
+  /**
+   * Output stream, which caches bytes in main memory and switches to
+   * a temporary file once the maximum cache size has been exceeded.
+   */
+  private final class SpillOutput extends OutputStream {
+    /** File output. */
+    private OutputStream fos;
+
+    @Override
+    public void write(final int b) throws IOException {
+      if(fos == null) {
+        final ArrayOutput ao = cache;
+        if(ao == null) return;
+        if(ao.size() < max) {
+          ao.write(b);
+          return;
+        }
+        spill(ao);
+      }
+      fos.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int o, final int l) throws IOException {
+      if(fos == null) {
+        final ArrayOutput ao = cache;
+        if(ao == null) return;
+        if(ao.size() + l <= max) {
+          ao.write(b, o, l);
+          return;
+        }
+        spill(ao);
+      }
+      fos.write(b, o, l);
+    }
+
+    /**
+     * Writes the cached bytes to a temporary file.
+     * @param ao cached bytes
+     * @throws IOException I/O exception
+     */
+    private void spill(final ArrayOutput ao) throws IOException {
+      synchronized(Job.this) {
+        file = new IOFile(File.createTempFile(Prop.NAME + "-job", null));
+        fos = new BufferOutput(file.path());
+        fos.write(ao.buffer(), 0, (int) ao.size());
+        cache = null;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if(fos != null) fos.close();
+    }
+  }
+}
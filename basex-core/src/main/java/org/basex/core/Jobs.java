@@ -0,0 +1,154 @@
+package org.basex.core;
+
+import static org.basex.core.Text.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * This class organizes all queries that are evaluated in the background.
+ * Jobs are executed by a bounded pool of worker threads; the number of workers is
+ * defined by {@link MainProp#JOBPARALLEL}. Jobs are independent of the client
+ * session that submitted them: results can be retrieved after reconnecting.
+ * If more than {@link MainProp#JOBKEEP} finished jobs exist, the oldest ones and
+ * their results are discarded.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class Jobs {
+  /** Registered jobs, in the order of submission. */
+  private final LinkedHashMap<String, Job> jobs = new LinkedHashMap<String, Job>();
+  /** Main properties. */
+  private final MainProp mprop;
+  /** Worker pool (created on demand). */
+  private ExecutorService pool;
+  /** Job id counter. */
+  private int id;
+
+  /**
+   * Constructor.
+   * @param mp main properties
+   */
+  Jobs(final MainProp mp) {
+    mprop = mp;
+  }
+
+  /**
+   * Submits a query for background evaluation.
+   * @param query query string
+   * @param ctx context of the submitting client
+   * @return job
+   */
+  public synchronized Job submit(final String query, final Context ctx) {
+    if(pool == null) {
+      pool = Executors.newFixedThreadPool(Math.max(1, mprop.num(MainProp.JOBPARALLEL)),
+        new ThreadFactory() {
+          @Override
+          public Thread newThread(final Runnable r) {
+            final Thread t = new Thread(r, Prop.NAME + "Job");
+            t.setDaemon(true);
+            return t;
+          }
+        });
+    }
+    evict();
+    final Job job = new Job("job" + ++id, query, ctx);
+    jobs.put(job.id, job);
+    pool.execute(job);
+    return job;
+  }
+
+  /**
+   * Returns the job with the specified id if it is visible to the specified user.
+   * Administrators can access all jobs.
+   * @param jid job id
+   * @param user user
+   * @return job or {@code null}
+   */
+  public synchronized Job get(final String jid, final User user) {
+    evict();
+    final Job job = jobs.get(jid);
+    return job != null && visible(job, user) ? job : null;
+  }
+
+  /**
+   * Removes a job and discards its result.
+   * @param job job to be removed
+   */
+  public synchronized void remove(final Job job) {
+    jobs.remove(job.id);
+    job.discard();
+  }
+
+  /**
+   * Returns a table with all jobs that are visible to the specified user.
+   * @param user user
+   * @return table
+   */
+  public synchronized Table info(final User user) {
+    final Table table = new Table();
+    table.description = JOBS;
+    for(final String head : JOBHEAD) table.header.add(head);
+
+    for(final Job job : jobs.values()) {
+      if(!visible(job, user)) continue;
+      final TokenList tl = new TokenList();
+      tl.add(job.id);
+      tl.add(job.user);
+      tl.add(job.state().toString());
+      tl.add((int) (job.progress() * 100) + "%");
+      tl.add(job.time());
+      tl.add(job.size());
+      final String q = job.query.replaceAll("\\s+", " ");
+      tl.add(q.length() > 40 ? q.substring(0, 40) + DOTS : q);
+      table.contents.add(tl);
+    }
+    return table;
+  }
+
+  /**
+   * Stops all jobs, shuts down the workers and discards all results.
+   */
+  public synchronized void close() {
+    for(final Job job : jobs.values()) {
+      job.stop();
+      job.discard();
+    }
+    jobs.clear();
+    if(pool != null) {
+      pool.shutdownNow();
+      pool = null;
+    }
+  }
+
+  /**
+   * Discards the oldest finished jobs if their number exceeds the maximum.
+   */
+  private void evict() {
+    int done = 0;
+    for(final Job job : jobs.values()) if(job.done()) done++;
+    final int max = Math.max(0, mprop.num(MainProp.JOBKEEP));
+    final Iterator<Job> it = jobs.values().iterator();
+    while(done > max && it.hasNext()) {
+      final Job job = it.next();
+      if(!job.done()) continue;
+      it.remove();
+      job.discard();
+      done--;
+    }
+  }
+
+  /**
+   * Checks if a job is visible to the specified user.
+   * @param job job
+   * @param user user
+   * @return result of check
+   */
+  private static boolean visible(final Job job, final User user) {
+    return user.has(Perm.ADMIN) || job.user.equals(user.name);
+  }
+}
@@ -64,6 +64,18 @@ public final class MainProp extends AProp {
   public static final Object[] KEEPALIVE = { "KEEPALIVE", 600 };
   /** Defines the number of parallel readers. */
   public static final Object[] PARALLEL = { "PARALLEL", 8 };
+  /** Maximum number of parallel read transactions (0: only limited by PARALLEL). */
+  public static final Object[] PARALLELREAD = { "PARALLELREAD", 0 };
+  /** Maximum number of parallel write transactions (0: only limited by PARALLEL). */
+  public static final Object[] PARALLELWRITE = { "PARALLELWRITE", 0 };
+  /** Scheduling priorities of users (e.g.: {@code admin=1,report=-1}). */
+  public static final Object[] PRIORITIES = { "PRIORITIES", "" };
+  /** Defines the number of background jobs that are evaluated in parallel. */
+  public static final Object[] JOBPARALLEL = { "JOBPARALLEL", 2 };
+  /** Maximum size of job results in main memory (larger results are written to disk). */
+  public static final Object[] JOBCACHE = { "JOBCACHE", 1 << 20 };
+  /** Maximum number of finished jobs whose results are kept. */
+  public static final Object[] JOBKEEP = { "JOBKEEP", 100 };
   /** Logging flag. */
   public static final Object[] LOG = { "LOG", true };
   /** Log message cut-off. */
@@ -79,6 +91,12 @@ public final class MainProp extends AProp {
   public static final Object[] RESTXQPATH = { "RESTXQPATH", "" };
   /** Local (embedded) mode. */
   public static final Object[] HTTPLOCAL = { "HTTPLOCAL", false };
+  /** Maximum number of idle sessions per user, which are reused by HTTP requests. */
+  public static final Object[] HTTPPOOL = { "HTTPPOOL", 8 };
+  /** Number of threads for asynchronous HTTP requests (0: synchronous processing). */
+  public static final Object[] HTTPASYNC = { "HTTPASYNC", 0 };
+  /** Timeout (seconds) for asynchronous HTTP requests; deactivated if set to 0. */
+  public static final Object[] HTTPTIMEOUT = { "HTTPTIMEOUT", 60 };
   /** Port for stopping the web server. */
   public static final Object[] STOPPORT = { "STOPPORT", 8985 };
 
@@ -3,6 +3,7 @@ package org.basex.core;
 import static org.basex.core.Text.*;
 
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * This class is implemented by all kinds of processes.
@@ -19,6 +20,10 @@ public abstract class Proc {
   public boolean updating;
   /** Indicates if a process is currently registered. */
   boolean registered;
+  /** Scheduling priority; transactions with higher priorities will be admitted first. */
+  int priority;
+  /** Databases locked for writing ({@code null}: all databases). */
+  StringList written;
 
   /** Stopped flag. */
   private boolean stopped;
@@ -149,6 +149,8 @@ public final class Prop extends AProp {
   public static final Object[] CASESENS = { "CASESENS", false };
   /** Flag for full-text diacritics sensitivity. */
   public static final Object[] DIACRITICS = { "DIACRITICS", false };
+  /** Flag for creating an n-gram index for fuzzy full-text searches. */
+  public static final Object[] FUZZYINDEX = { "FUZZYINDEX", false };
   /** Language for full-text search index. */
   public static final Object[] LANGUAGE = { "LANGUAGE", "en" };
   /** Path to full-text stopword list. */
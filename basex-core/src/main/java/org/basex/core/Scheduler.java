@@ -0,0 +1,159 @@
+package org.basex.core;
+
+import java.util.*;
+
+/**
+ * Admission scheduler for transactions that are queued by {@link DBLocking}.
+ *
+ * The default policy admits transactions by priority and, within the same priority,
+ * in the order of arrival. Waiting transactions are promoted by one priority level per
+ * second, so low-priority transactions cannot starve. Readers and writers can be
+ * limited separately via {@link MainProp#PARALLELREAD} and
+ * {@link MainProp#PARALLELWRITE}; the total number of transactions is limited by
+ * {@link MainProp#PARALLEL}.
+ *
+ * Custom policies can be plugged in by overwriting {@link #admissible} and
+ * {@link #priority} and passing on an instance to {@link DBLocking}.
+ * All methods are called while holding the monitor of the transaction queue.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public class Scheduler {
+  /** Waiting time (in nanoseconds) after which a transaction gains one priority level. */
+  private static final long AGING = 1000000000L;
+
+  /** Main properties. */
+  protected final MainProp mprop;
+
+  /** Number of admitted readers. */
+  private long readers;
+  /** Number of admitted writers. */
+  private long writers;
+  /** Accumulated waiting time of readers (nanoseconds). */
+  private long readWait;
+  /** Accumulated waiting time of writers (nanoseconds). */
+  private long writeWait;
+  /** Maximum waiting time (nanoseconds). */
+  private long maxWait;
+
+  /**
+   * Constructor.
+   * @param mp main properties
+   */
+  public Scheduler(final MainProp mp) {
+    mprop = mp;
+  }
+
+  /**
+   * Chooses the next transaction to be admitted.
+   * @param queue waiting transactions, in the order of arrival
+   * @param running number of running readers (offset 0) and writers (offset 1)
+   * @return transaction, or {@code null} if no transaction may be admitted
+   */
+  final Ticket next(final List<Ticket> queue, final int[] running) {
+    if(running[0] + running[1] >= Math.max(mprop.num(MainProp.PARALLEL), 1)) return null;
+
+    final long now = System.nanoTime();
+    Ticket next = null;
+    long max = 0;
+    for(final Ticket t : queue) {
+      if(!admissible(t, running[0], running[1])) continue;
+      final long p = priority(t) * AGING + now - t.time;
+      if(next == null || p > max) {
+        next = t;
+        max = p;
+      }
+    }
+    return next;
+  }
+
+  /**
+   * Registers the admission of a transaction and updates the statistics.
+   * @param t admitted transaction
+   */
+  final void admitted(final Ticket t) {
+    final long w = System.nanoTime() - t.time;
+    if(t.writing) {
+      writers++;
+      writeWait += w;
+    } else {
+      readers++;
+      readWait += w;
+    }
+    maxWait = Math.max(maxWait, w);
+  }
+
+  /**
+   * Checks if the specified transaction may be started.
+   * @param t transaction
+   * @param reading number of running readers
+   * @param writing number of running writers
+   * @return result of check
+   */
+  protected boolean admissible(final Ticket t, final int reading, final int writing) {
+    final int max = mprop.num(t.writing ? MainProp.PARALLELWRITE : MainProp.PARALLELREAD);
+    return max <= 0 || (t.writing ? writing : reading) < max;
+  }
+
+  /**
+   * Returns the priority of the specified transaction.
+   * Transactions with higher values will be admitted first.
+   * @param t transaction
+   * @return priority
+   */
+  protected long priority(final Ticket t) {
+    return t.priority;
+  }
+
+  /**
+   * Returns queue-time statistics.
+   * @param waiting number of waiting transactions
+   * @return statistics
+   */
+  final String info(final int waiting) {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Waiting: ").append(waiting).append(Prop.NL);
+    sb.append("Admitted readers: ").append(readers).append(", average wait: ").
+      append(ms(readers == 0 ? 0 : readWait / readers)).append(Prop.NL);
+    sb.append("Admitted writers: ").append(writers).append(", average wait: ").
+      append(ms(writers == 0 ? 0 : writeWait / writers)).append(Prop.NL);
+    sb.append("Maximum wait: ").append(ms(maxWait)).append(Prop.NL);
+    return sb.toString();
+  }
+
+  /**
+   * Returns a string representation of the specified nanoseconds in milliseconds.
+   * @param ns nanoseconds
+   * @return string
+   */
+  private static String ms(final long ns) {
+    return (ns + 500000) / 1000000 + " ms";
+  }
+
+  /**
+   * Transaction waiting for admission.
+   */
+  public static final class Ticket {
+    /** Thread id. */
+    public final Long thread;
+    /** Priority. */
+    public final int priority;
+    /** Writing flag. */
+    public final boolean writing;
+    /** Time of arrival (nanoseconds). */
+    public final long time = System.nanoTime();
+
+    /**
+     * Constructor.
+     * @param th thread id
+     * @param p priority
+     * @param w writing flag
+     */
+    Ticket(final Long th, final int p, final boolean w) {
+      thread = th;
+      priority = p;
+      writing = w;
+    }
+  }
+}
@@ -175,6 +175,8 @@ public interface Text {
   String[] USERHEAD = { "Username", "Read", "Write", "Create", "Admin" };
   /** Default admin user and password. */
   String ADMIN = "admin";
+  /** Job table header. */
+  String[] JOBHEAD = { "ID", "User", "State", "Progress", "Time (ms)", "Size", "Query" };
 
   /** Option flag. */
   String INFOON = lang("ON");
@@ -218,6 +220,8 @@ public interface Text {
   String C_PKGNAME = "name";
   /** Command keyword. */
   String C_PKGDIR = "dir";
+  /** Command keyword. */
+  String C_ID = "id";
 
   /** No help available. */
   String NOHELP = lang("no_help");
@@ -422,6 +426,21 @@ public interface Text {
     "  " + lang("c_repo5")
   };
   /** Command help. */
+  String[] HELPJOBS = {
+    "[" + CmdJobs.LIST + '|' + CmdJobs.RESULT + '|' + CmdJobs.STOP + '|' +
+    CmdJobs.SUBMIT + ']',
+    lang("c_jobs1"),
+    lang("c_jobs2") + NL +
+    LI + CmdJobs.LIST + ':' + NL +
+    "  " + lang("c_jobs3") + NL +
+    LI + CmdJobs.RESULT + " [" + C_ID + "]:" + NL +
+    "  " + lang("c_jobs4", C_ID) + NL +
+    LI + CmdJobs.STOP + " [" + C_ID + "]:" + NL +
+    "  " + lang("c_jobs5", C_ID) + NL +
+    LI + CmdJobs.SUBMIT + " [" + C_QUERY + "]:" + NL +
+    "  " + lang("c_jobs6", C_QUERY)
+  };
+  /** Command help. */
   String[] HELPHELP = {
     "([command])", lang("c_help1", Prop.NAME), lang("c_help2", "command")
   };
@@ -664,6 +683,16 @@ public interface Text {
   String EVENTS_X = lang("events_%");
   /** Show packages. */
   String PACKAGES_X = lang("packages_%");
+  /** Show jobs. */
+  String JOBS = lang("jobs");
+  /** Job submitted. */
+  String JOB_SUBMITTED_X = lang("job_submitted_%");
+  /** Job stopped. */
+  String JOB_STOPPED_X = lang("job_stopped_%");
+  /** Job not found. */
+  String JOB_UNKNOWN_X = lang("job_unknown_%");
+  /** Job is still running. */
+  String JOB_RUNNING_X = lang("job_running_%");
   /** Permission required. */
   String PERM_REQUIRED_X = lang("perm_required_%");
   /** Invalid permissions. */
@@ -812,6 +841,8 @@ public interface Text {
   String GENERAL_INFO = lang("general_info");
   /** "Main Options". */
   String MAIN_OPTIONS = lang("main_options");
+  /** "Transactions". */
+  String TRANSACTIONS = lang("transactions");
 
   /** "(chopped)". */
   String CHOPPED = "(" + lang("chopped") + ") ";
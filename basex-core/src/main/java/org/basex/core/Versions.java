@@ -0,0 +1,46 @@
+package org.basex.core;
+
+import java.util.*;
+
+import org.basex.util.list.*;
+
+/**
+ * This class assigns version numbers to databases. A new version is assigned
+ * whenever an updating process releases its write locks. Versions can be used to
+ * check if cached results, which depend on the contents of databases, are still valid.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class Versions {
+  /** Versions of single databases. */
+  private final HashMap<String, Long> dbs = new HashMap<String, Long>();
+  /** Most recent version. */
+  private long version;
+  /** Version of the last update that may have touched all databases. */
+  private long all;
+
+  /**
+   * Assigns a new version to the specified databases.
+   * @param names names of databases ({@code null}: all databases)
+   */
+  synchronized void update(final StringList names) {
+    ++version;
+    if(names == null) {
+      all = version;
+    } else {
+      for(final String name : names) dbs.put(name, version);
+    }
+  }
+
+  /**
+   * Returns the version of the specified database.
+   * @param name name of database ({@code null}: most recent version of all databases)
+   * @return version
+   */
+  public synchronized long get(final String name) {
+    if(name == null) return version;
+    final Long v = dbs.get(name);
+    return v == null ? all : Math.max(all, v);
+  }
+}
@@ -49,6 +49,11 @@ public final class Info extends AInfo {
       final AProp prop = context.mprop;
       tb.add(NL + MAIN_OPTIONS + NL);
       for(final String s : prop) info(tb, s, prop.get(s));
+      final String locking = context.locking();
+      if(locking != null) {
+        tb.add(NL + TRANSACTIONS + NL);
+        for(final String l : locking.split(NL)) tb.add(' ').add(l).add(NL);
+      }
     }
     final AProp prop = context.prop;
     tb.add(NL + OPTIONS + NL);
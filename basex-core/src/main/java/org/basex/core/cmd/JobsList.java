@@ -0,0 +1,39 @@
+package org.basex.core.cmd;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.parse.*;
+import org.basex.core.parse.Commands.*;
+
+/**
+ * Evaluates the 'jobs list' command and shows all background jobs of the current user.
+ * Administrators will see the jobs of all users.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsList extends Command {
+  /**
+   * Default constructor.
+   */
+  public JobsList() {
+    super(Perm.NONE);
+  }
+
+  @Override
+  protected boolean run() throws IOException {
+    out.println(context.jobs.info(context.user).finish());
+    return true;
+  }
+
+  @Override
+  public void databases(final LockResult lr) {
+    // No locks needed
+  }
+
+  @Override
+  public void build(final CmdBuilder cb) {
+    cb.init(Cmd.JOBS + " " + CmdJobs.LIST);
+  }
+}
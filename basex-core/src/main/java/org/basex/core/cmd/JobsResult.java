@@ -0,0 +1,57 @@
+package org.basex.core.cmd;
+
+import static org.basex.core.Text.*;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.parse.*;
+import org.basex.core.parse.Commands.*;
+
+/**
+ * Evaluates the 'jobs result' command and returns the result of a completed
+ * background job. The job will be removed afterwards.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsResult extends Command {
+  /**
+   * Default constructor.
+   * @param id job id
+   */
+  public JobsResult(final String id) {
+    super(Perm.NONE, id);
+  }
+
+  @Override
+  protected boolean run() throws IOException {
+    final Job job = context.jobs.get(args[0], context.user);
+    if(job == null) return error(JOB_UNKNOWN_X, args[0]);
+    if(!job.done()) return error(JOB_RUNNING_X, args[0]);
+
+    try {
+      switch(job.state()) {
+        case FINISHED:
+          job.result(out);
+          return info(job.info());
+        case STOPPED:
+          return error(JOB_STOPPED_X, args[0]);
+        default:
+          return error(job.info());
+      }
+    } finally {
+      context.jobs.remove(job);
+    }
+  }
+
+  @Override
+  public void databases(final LockResult lr) {
+    // No locks needed
+  }
+
+  @Override
+  public void build(final CmdBuilder cb) {
+    cb.init(Cmd.JOBS + " " + CmdJobs.RESULT).args();
+  }
+}
@@ -0,0 +1,41 @@
+package org.basex.core.cmd;
+
+import static org.basex.core.Text.*;
+
+import org.basex.core.*;
+import org.basex.core.parse.*;
+import org.basex.core.parse.Commands.*;
+
+/**
+ * Evaluates the 'jobs stop' command and stops a background job.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsStop extends Command {
+  /**
+   * Default constructor.
+   * @param id job id
+   */
+  public JobsStop(final String id) {
+    super(Perm.NONE, id);
+  }
+
+  @Override
+  protected boolean run() {
+    final Job job = context.jobs.get(args[0], context.user);
+    if(job == null) return error(JOB_UNKNOWN_X, args[0]);
+    job.stop();
+    return info(JOB_STOPPED_X, args[0]);
+  }
+
+  @Override
+  public void databases(final LockResult lr) {
+    // No locks needed
+  }
+
+  @Override
+  public void build(final CmdBuilder cb) {
+    cb.init(Cmd.JOBS + " " + CmdJobs.STOP).args();
+  }
+}
@@ -0,0 +1,43 @@
+package org.basex.core.cmd;
+
+import static org.basex.core.Text.*;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.parse.*;
+import org.basex.core.parse.Commands.*;
+
+/**
+ * Evaluates the 'jobs submit' command and evaluates a query in the background.
+ * The job id is returned as result.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsSubmit extends Command {
+  /**
+   * Default constructor.
+   * @param query query to evaluate
+   */
+  public JobsSubmit(final String query) {
+    super(Perm.NONE, query);
+  }
+
+  @Override
+  protected boolean run() throws IOException {
+    final Job job = context.jobs.submit(args[0], context);
+    out.print(job.id);
+    return info(JOB_SUBMITTED_X, job.id);
+  }
+
+  @Override
+  public void databases(final LockResult lr) {
+    // locks will be acquired by the job itself
+  }
+
+  @Override
+  public void build(final CmdBuilder cb) {
+    cb.init(Cmd.JOBS + " " + CmdJobs.SUBMIT).xquery(0);
+  }
+}
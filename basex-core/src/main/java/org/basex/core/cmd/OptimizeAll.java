@@ -117,6 +117,7 @@ public final class OptimizeAll extends ACreate {
     ctx.prop.set(Prop.STEMMING,   m.stemming);
     ctx.prop.set(Prop.CASESENS,   m.casesens);
     ctx.prop.set(Prop.DIACRITICS, m.diacritics);
+    ctx.prop.set(Prop.FUZZYINDEX, m.fuzzyindex);
     ctx.prop.set(Prop.LANGUAGE,   m.language.toString());
     ctx.prop.set(Prop.STOPWORDS,  m.stopwords);
 
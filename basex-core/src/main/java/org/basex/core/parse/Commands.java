@@ -73,6 +73,14 @@ public interface Commands {
   String INFO_INDEX = "info-index";
   /** Command string: "info-storage". */
   String INFO_STORAGE = "info-storage";
+  /** Command string: "jobs-list". */
+  String JOBS_LIST = "jobs-list";
+  /** Command string: "jobs-result". */
+  String JOBS_RESULT = "jobs-result";
+  /** Command string: "jobs-stop". */
+  String JOBS_STOP = "jobs-stop";
+  /** Command string: "jobs-submit". */
+  String JOBS_SUBMIT = "jobs-submit";
   /** Command string: "kill". */
   String KILL = "kill";
   /** Command string: "list". */
@@ -146,6 +154,8 @@ public interface Commands {
   String VALUE = "value";
   /** Command attribute: "command". */
   String COMMAND = "command";
+  /** Command attribute: "id". */
+  String ID = "id";
 
   /** Create commands. */
   enum CmdCreate { DATABASE, DB, INDEX, USER, BACKUP, EVENT }
@@ -167,13 +177,16 @@ public interface Commands {
   enum CmdAlter { DATABASE, DB, USER }
   /** Repo types. */
   enum CmdRepo { INSTALL, DELETE, LIST }
+  /** Job commands. */
+  enum CmdJobs { SUBMIT, LIST, RESULT, STOP }
 
   /** Command definitions. */
   enum Cmd {
     ADD(HELPADD), ALTER(HELPALTER), CHECK(HELPCHECK), CLOSE(HELPCLOSE), COPY(HELPCOPY),
     CREATE(HELPCREATE), CS(HELPCS), DELETE(HELPDELETE), DROP(HELPDROP), EXIT(HELPEXIT),
     EXPORT(HELPEXPORT), FIND(HELPFIND), FLUSH(HELPFLUSH), GET(HELPGET), GRANT(HELPGRANT),
-    HELP(HELPHELP), INFO(HELPINFO), INSPECT(HELPINSPECT), KILL(HELPKILL), LIST(HELPLIST),
+    HELP(HELPHELP), INFO(HELPINFO), INSPECT(HELPINSPECT), JOBS(HELPJOBS), KILL(HELPKILL),
+    LIST(HELPLIST),
     OPEN(HELPOPEN), OPTIMIZE(HELPOPTIMIZE), PASSWORD(HELPPASSWORD), RENAME(HELPRENAME),
     REPLACE(HELPREPLACE), REPO(HELPREPO), RESTORE(HELPRESTORE), RETRIEVE(HELPRETRIEVE),
     RUN(HELPRUN), EXECUTE(HELPEXECUTE), SET(HELPSET), SHOW(HELPSHOW), STORE(HELPSTORE),
@@ -16,6 +16,7 @@ import org.basex.core.parse.Commands.CmdDrop;
 import org.basex.core.parse.Commands.CmdIndex;
 import org.basex.core.parse.Commands.CmdIndexInfo;
 import org.basex.core.parse.Commands.CmdInfo;
+import org.basex.core.parse.Commands.CmdJobs;
 import org.basex.core.parse.Commands.CmdOptimize;
 import org.basex.core.parse.Commands.CmdPerm;
 import org.basex.core.parse.Commands.CmdRepo;
@@ -218,6 +219,19 @@ public final class StringParser extends CmdParser {
           default:
         }
         break;
+      case JOBS:
+        switch(consume(CmdJobs.class, cmd)) {
+          case SUBMIT:
+            return new JobsSubmit(xquery(cmd));
+          case LIST:
+            return new JobsList();
+          case RESULT:
+            return new JobsResult(name(cmd));
+          case STOP:
+            return new JobsStop(name(cmd));
+          default:
+        }
+        break;
       default:
     }
     throw Util.notexpected("command specified, but not implemented yet");
@@ -56,6 +56,8 @@ public interface DataText {
   String DBFTCS = "FTCS";
   /** Full-text diacritics removal. */
   String DBFTDC = "FTDC";
+  /** Full-text n-gram index for fuzzy searches. */
+  String DBFTFZ = "FTFUZZY";
   /** Maximum token length. */
   String DBMAXLEN = "MAXLEN";
   /** Maximum number of categories. */
@@ -107,6 +109,8 @@ public interface DataText {
   String DATASWL = "swl";
   /** Database - Updating flag. */
   String DATAUPD = "upd";
+  /** Database - Sorted document paths. */
+  String DATADOC = "doc";
 
   // XML SERIALIZATION ========================================================
 
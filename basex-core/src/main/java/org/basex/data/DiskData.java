@@ -157,6 +157,7 @@ public final class DiskData extends Data {
     closed = true;
     try {
       write();
+      resources.close();
       table.close();
       texts.close();
       values.close();
@@ -66,6 +66,8 @@ public final class MetaData {
   public volatile boolean casesens;
   /** Flag for full-text diacritics removal. */
   public volatile boolean diacritics;
+  /** Flag for the n-gram index for fuzzy full-text searches. */
+  public volatile boolean fuzzyindex;
   /** Full-text stopword file. */
   public volatile String stopwords = "";
 
@@ -129,6 +131,7 @@ public final class MetaData {
     createattr = prop.is(Prop.ATTRINDEX);
     createftxt = prop.is(Prop.FTINDEX);
     diacritics = prop.is(Prop.DIACRITICS);
+    fuzzyindex = prop.is(Prop.FUZZYINDEX);
     stemming = prop.is(Prop.STEMMING);
     casesens = prop.is(Prop.CASESENS);
     updindex = prop.is(Prop.UPDINDEX);
@@ -302,6 +305,7 @@ public final class MetaData {
         else if(k.equals(DBTIME))     time       = toLong(v);
         else if(k.equals(DBFSIZE))    filesize   = toLong(v);
         else if(k.equals(DBFTDC))     diacritics = toBool(v);
+        else if(k.equals(DBFTFZ))     fuzzyindex = toBool(v);
         else if(k.equals(DBCHOP))     chop       = toBool(v);
         else if(k.equals(DBUPDIDX))   updindex   = toBool(v);
         else if(k.equals(DBTXTIDX))   textindex  = toBool(v);
@@ -355,6 +359,7 @@ public final class MetaData {
     writeInfo(out, DBFTST,     stemming);
     writeInfo(out, DBFTCS,     casesens);
     writeInfo(out, DBFTDC,     diacritics);
+    writeInfo(out, DBFTFZ,     fuzzyindex);
     writeInfo(out, DBFTSW,     stopwords);
     writeInfo(out, DBMAXLEN,   maxlen);
     writeInfo(out, DBMAXCATS,  maxcats);
@@ -54,6 +54,12 @@ public final class AtomicUpdateList {
   private boolean opt;
   /** States if this list has been merged, hence accumulations are invalid. */
   private boolean dirty;
+  /** PRE values of the first nodes whose distances are affected by the structural
+   * updates (see {@link BasicUpdate#preOfAffectedNode}). */
+  private int[] affected;
+  /** Accumulated PRE value shifts of the structural updates
+   * (see {@link BasicUpdate#accumulatedShifts}). */
+  private int[] shifts;
 
   /**
    * Constructor.
@@ -258,12 +264,14 @@ public final class AtomicUpdateList {
               desc.parent() >= pre && desc.parent() < fol) {
             // it is removed.
             updStructural.remove(i--);
+            dirty = true;
 
           // Other updates (not inserting a node) that operate on the subtree of T can
           // only have a PRE value that is smaller than the following PRE of T
           } else if(descpre < fol) {
             // these we delete.
             updStructural.remove(i--);
+            dirty = true;
 
           // Else there's nothing to delete
           } else
@@ -312,11 +320,16 @@ public final class AtomicUpdateList {
    */
   private void accumulatePreValueShifts() {
     if(!dirty) return;
+    final int us = updStructural.size();
+    affected = new int[us];
+    shifts = new int[us];
     int s = 0;
-    for(int i = updStructural.size() - 1; i >= 0; i--) {
+    for(int i = us - 1; i >= 0; i--) {
       final BasicUpdate t = updStructural.get(i);
       s += t.shifts;
       t.accumulatedShifts = s;
+      affected[i] = t.preOfAffectedNode;
+      shifts[i] = s;
     }
     dirty = false;
   }
@@ -377,19 +390,18 @@ public final class AtomicUpdateList {
    * value is calculated after updates, the result is X+1, as the node with the original
    * position X has been shifted by the insertion at position X.
    *
-   * Make sure accumulated shifts have been calculated before calling this method!
-   *
    * @param pre PRE value
    * @param beforeUpdates calculate PRE value before shifts/updates have been applied
    * @return index of update, or -1
    */
   public int calculatePreValue(final int pre, final boolean beforeUpdates) {
+    accumulatePreValueShifts();
     int i = find(pre, beforeUpdates);
     // given PRE not changed by updates
     if(i == -1) return pre;
 
-    i = refine(updStructural, i, beforeUpdates);
-    final int acm = updStructural.get(i).accumulatedShifts;
+    i = refine(i, beforeUpdates);
+    final int acm = shifts[i];
     return beforeUpdates ? pre - acm : pre + acm;
   }
 
@@ -403,20 +415,20 @@ public final class AtomicUpdateList {
    */
   private int find(final int pre, final boolean beforeUpdates) {
     int left = 0;
-    int right = updStructural.size() - 1;
+    int right = affected.length - 1;
 
     while(left <= right) {
       if(left == right) {
-        if(c(updStructural, left, beforeUpdates) <= pre) return left;
+        if(c(left, beforeUpdates) <= pre) return left;
         return -1;
       }
       if(right - left == 1) {
-        if(c(updStructural, left, beforeUpdates) <= pre) return left;
-        if(c(updStructural, right, beforeUpdates) <= pre) return right;
+        if(c(left, beforeUpdates) <= pre) return left;
+        if(c(right, beforeUpdates) <= pre) return right;
         return -1;
       }
       final int middle = left + right >>> 1;
-      final int value = c(updStructural, middle, beforeUpdates);
+      final int value = c(middle, beforeUpdates);
       if(value == pre) return middle;
       else if(value > pre) left = middle + 1;
       else right = middle;
@@ -427,34 +439,31 @@ public final class AtomicUpdateList {
   }
 
   /**
-   * Finds the update with the lowest index in the given list that affects the same
-   * PRE value as the update with the given index.
-   * @param l list of updates
+   * Finds the update with the lowest index that affects the same PRE value as the
+   * update with the given index.
    * @param index of update
    * @param beforeUpdates find update for PRE values before updates have been applied
    * @return update with the lowest index that invalidates the distance of the same node
    * as the given one
    */
-  private static int refine(final List<BasicUpdate> l, final int index,
-      final boolean beforeUpdates) {
+  private int refine(final int index, final boolean beforeUpdates) {
     int i = index;
-    final int value = c(l, i--, beforeUpdates);
-    while(i >= 0 && c(l, i, beforeUpdates) == value) i--;
+    final int value = c(i--, beforeUpdates);
+    while(i >= 0 && c(i, beforeUpdates) == value) i--;
     return i + 1;
   }
 
   /**
    * Recalculates the PRE value of the first node whose distance is affected by the
-   * given update.
-   * @param l list of updates
+   * given update. The values are taken from the arrays that have been created by
+   * {@link #accumulatePreValueShifts()}, which are faster to traverse than the update
+   * instances.
    * @param index index of the update
    * @param beforeUpdates calculate PRE value before or after updates
    * @return PRE value
    */
-  private static int c(final List<BasicUpdate> l, final int index,
-      final boolean beforeUpdates) {
-    final BasicUpdate u = l.get(index);
-    return u.preOfAffectedNode + (beforeUpdates ? u.accumulatedShifts : 0);
+  private int c(final int index, final boolean beforeUpdates) {
+    return affected[index] + (beforeUpdates ? shifts[index] : 0);
   }
 
   /**
@@ -482,26 +491,29 @@ public final class AtomicUpdateList {
         final int followingNode = newLocation + insseq.size();
         final int beforeFollowingNode = followingNode - 1;
         // check the nodes at the end of/after the insertion sequence
-        if(!s.contains(beforeFollowingNode)) {
-          final AtomicUpdateList merges = necessaryMerges(beforeFollowingNode);
-          merges.mergeNodes();
-          allMerges.merge(merges);
-          s.add(beforeFollowingNode);
-        }
+        if(s.add(beforeFollowingNode)) mergeTexts(beforeFollowingNode, allMerges);
       }
       // check nodes for delete and for insert before the updated location
-      if(!s.contains(beforeNewLocation)) {
-        final AtomicUpdateList merges = necessaryMerges(beforeNewLocation);
-        merges.mergeNodes();
-        allMerges.merge(merges);
-        s.add(beforeNewLocation);
-      }
+      if(s.add(beforeNewLocation)) mergeTexts(beforeNewLocation, allMerges);
     }
 
     allMerges.updateDistances();
     allMerges.clear();
   }
 
+  /**
+   * Merges the text nodes with the given PRE value and its right neighbor, if
+   * necessary.
+   * @param a node PRE value
+   * @param allMerges list to which the applied merges will be added
+   */
+  private void mergeTexts(final int a, final AtomicUpdateList allMerges) {
+    final AtomicUpdateList merges = necessaryMerges(a);
+    if(merges == null) return;
+    merges.mergeNodes();
+    allMerges.merge(merges);
+  }
+
   /**
    * Applies text node merges.
    */
@@ -515,19 +527,19 @@ public final class AtomicUpdateList {
    * Returns atomic text node merging operations if necessary for the given node PRE and
    * its right neighbor PRE+1.
    * @param a node PRE value
-   * @return list of text merging operations
+   * @return list of text merging operations, or {@code null} if no merge is necessary
    */
   private AtomicUpdateList necessaryMerges(final int a) {
-    final AtomicUpdateList mergeTwoNodes = new AtomicUpdateList(data);
     final int s = data.meta.size;
     final int b = a + 1;
     // don't leave table
-    if(a >= s || b >= s || a < 0 || b < 0) return mergeTwoNodes;
+    if(a >= s || b >= s || a < 0 || b < 0) return null;
     // only merge texts
-    if(data.kind(a) != Data.TEXT || data.kind(b) != Data.TEXT) return mergeTwoNodes;
+    if(data.kind(a) != Data.TEXT || data.kind(b) != Data.TEXT) return null;
     // only merge neighboring texts
-    if(data.parent(a, Data.TEXT) != data.parent(b, Data.TEXT)) return mergeTwoNodes;
+    if(data.parent(a, Data.TEXT) != data.parent(b, Data.TEXT)) return null;
 
+    final AtomicUpdateList mergeTwoNodes = new AtomicUpdateList(data);
     mergeTwoNodes.addDelete(b);
     mergeTwoNodes.addUpdateValue(a, Data.TEXT,
         Token.concat(data.text(a, true), data.text(b, true)));
@@ -101,7 +101,12 @@ public final class FTBuilder extends IndexBuilder {
   @Override
   public FTIndex build() throws IOException {
     index();
-    return new FTIndex(data);
+    final FTIndex ftx = new FTIndex(data);
+    FTSkips.build(data, ftx);
+    FTSuffixes.build(data, ftx);
+    FTScores.build(data, ftx);
+    if(data.meta.fuzzyindex) FTGrams.build(data, ftx);
+    return ftx;
   }
 
   /**
@@ -0,0 +1,213 @@
+package org.basex.index.ft;
+
+import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.data.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.io.random.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * <p>This class provides access to an n-gram index over the tokens of the
+ * full-text index, which is used to find candidates for fuzzy searches.
+ * Each token is padded with a boundary character and split into bigrams.
+ * Token characters are normalized in the same way as by {@link Levenshtein}.
+ * The index consists of two files with the prefix {@link DataText#DATAFTX}:</p>
+ *
+ * <ul>
+ * <li>File <b>g</b> contains all bigrams, and the offsets and sizes of their
+ *   entries in the second file.</li>
+ * <li>File <b>p</b> contains the pointers to all tokens in the full-text index
+ *   (see {@link FTIndex}) that contain a specific bigram, in ascending order.
+ *   The pointers are stored as differences [{@link Num}].</li>
+ * </ul>
+ *
+ * <p>If a token can be transformed into another token with {@code k} edit operations,
+ * at most {@code 3 * k} of its distinct bigrams (insertion, deletion and
+ * substitution: 2, transposition: 3) are missing in the second token. Only
+ * tokens that share the remaining bigrams need to be compared.</p>
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+final class FTGrams {
+  /** Boundary character. */
+  private static final int BOUND = 0;
+  /** Maximum number of bigrams that can be destroyed by a single edit operation. */
+  private static final int EDIT = 3;
+
+  /** Bigrams. */
+  private final TokenSet grams;
+  /** Offsets of the pointer lists. */
+  private final long[] offsets;
+  /** Sizes of the pointer lists. */
+  private final int[] sizes;
+  /** Pointer lists. */
+  private final DataAccess lists;
+
+  /**
+   * Constructor, opening the index structure.
+   * @param data data reference
+   * @throws IOException I/O Exception
+   */
+  FTGrams(final Data data) throws IOException {
+    final DataInput in = new DataInput(data.meta.dbfile(DATAFTX + 'g'));
+    try {
+      grams = new TokenSet(in);
+      offsets = in.readLongs(in.readNum());
+      sizes = in.readNums();
+    } finally {
+      in.close();
+    }
+    lists = new DataAccess(data.meta.dbfile(DATAFTX + 'p'));
+  }
+
+  /**
+   * Builds the n-gram index for the tokens of the specified full-text index.
+   * @param data data reference
+   * @param ftx full-text index
+   * @throws IOException I/O Exception
+   */
+  static void build(final Data data, final FTIndex ftx) throws IOException {
+    final TokenSet grams = new TokenSet();
+    IntList[] ptrs = new IntList[Array.CAPACITY];
+
+    // assign the pointers of all tokens to their bigrams
+    final int[] tp = ftx.tp;
+    for(int s = 0; s < tp.length - 1; s++) {
+      int p = tp[s];
+      if(p == -1) continue;
+      int i = s + 1, e = -1;
+      while(i < tp.length && e == -1) e = tp[i++];
+      for(; p < e; p += s + FTIndex.ENTRY) {
+        for(final byte[] gram : grams(ftx.inY.readBytes(p, s))) {
+          final int id = grams.put(gram);
+          if(id == ptrs.length) ptrs = Array.copy(ptrs, new IntList[Array.newSize(id)]);
+          if(ptrs[id] == null) ptrs[id] = new IntList();
+          ptrs[id].add(p);
+        }
+      }
+    }
+
+    // write pointer lists
+    final int gs = grams.size();
+    final long[] offsets = new long[gs + 1];
+    final int[] sizes = new int[gs + 1];
+    final DataOutput outP = new DataOutput(data.meta.dbfile(DATAFTX + 'p'));
+    try {
+      for(int id = 1; id <= gs; id++) {
+        final IntList il = ptrs[id];
+        offsets[id] = outP.size();
+        sizes[id] = il.size();
+        for(int i = 0, o = 0; i < sizes[id]; i++) {
+          final int p = il.get(i);
+          outP.writeNum(p - o);
+          o = p;
+        }
+      }
+    } finally {
+      outP.close();
+    }
+
+    // write bigrams
+    final DataOutput outG = new DataOutput(data.meta.dbfile(DATAFTX + 'g'));
+    try {
+      grams.write(outG);
+      outG.writeLongs(offsets);
+      outG.writeNums(sizes);
+    } finally {
+      outG.close();
+    }
+  }
+
+  /**
+   * Returns the pointers to all tokens in the specified range which may be
+   * similar to the specified token.
+   * @param token token
+   * @param k maximum number of errors
+   * @param min minimum pointer
+   * @param max maximum pointer (exclusive)
+   * @return pointers, or {@code null} if all tokens must be compared
+   */
+  int[] candidates(final byte[] token, final int k, final int min,
+      final int max) {
+
+    final byte[][] gr = grams(token);
+    final int t = gr.length - k * EDIT;
+    if(t <= 0) return null;
+
+    // read all pointer lists in the specified range
+    final int gl = gr.length;
+    final int[][] ptrs = new int[gl][];
+    for(int g = 0; g < gl; g++) {
+      final int id = grams.id(gr[g]);
+      final IntList il = new IntList();
+      if(id != 0) {
+        long o = offsets[id];
+        for(int s = sizes[id], p = 0; s > 0; s--) {
+          final int d = lists.readNum(o);
+          o += Num.length(d);
+          p += d;
+          if(p >= max) break;
+          if(p >= min) il.add(p);
+        }
+      }
+      ptrs[g] = il.toArray();
+    }
+
+    // return pointers that occur in at least t lists
+    final IntList cands = new IntList();
+    final int[] pos = new int[gl];
+    while(true) {
+      int m = Integer.MAX_VALUE;
+      for(int g = 0; g < gl; g++) {
+        if(pos[g] < ptrs[g].length) m = Math.min(m, ptrs[g][pos[g]]);
+      }
+      if(m == Integer.MAX_VALUE) break;
+      int c = 0;
+      for(int g = 0; g < gl; g++) {
+        if(pos[g] < ptrs[g].length && ptrs[g][pos[g]] == m) {
+          pos[g]++;
+          c++;
+        }
+      }
+      if(c >= t) cands.add(m);
+    }
+    return cands.toArray();
+  }
+
+  /**
+   * Closes the index.
+   */
+  synchronized void close() {
+    lists.close();
+  }
+
+  /**
+   * Returns the distinct bigrams of the specified token.
+   * @param token token
+   * @return bigrams
+   */
+  private static byte[][] grams(final byte[] token) {
+    final TokenSet set = new TokenSet();
+    final TokenBuilder tb = new TokenBuilder();
+    int c = BOUND;
+    for(int t = 0; t < token.length; t += cl(token, t)) {
+      final int n = norm(lc(cp(token, t)));
+      set.add(tb.reset().add(c).add(n).finish());
+      c = n;
+    }
+    set.add(tb.reset().add(c).add(BOUND).finish());
+
+    final byte[][] gr = new byte[set.size()][];
+    int g = 0;
+    for(final byte[] gram : set) gr[g++] = gram;
+    return gr;
+  }
+}
@@ -41,19 +41,28 @@ import org.basex.util.list.*;
  * <li>File <b>z</b> contains the {@code id/pos} references.
  *   The values are ordered, but not distinct:<br/>
  *   {@code pre1/pos1, pre2/pos2, pre3/pos3, ...} [{@link Num}]</li>
+ * <li>The optional files <b>r</b>, <b>g</b> and <b>p</b> are used to speed up
+ *   wildcard and fuzzy searches (see {@link FTSuffixes} and {@link FTGrams}).</li>
+ * <li>File <b>s</b> contains the maximum score of each token, which is used for
+ *   top-k searches (see {@link FTScores} and {@link FTTopK}).</li>
+ * <li>File <b>k</b> contains skip lists for tokens with many {@code id/pos}
+ *   references (see {@link FTSkips}).</li>
  * </ul>
  *
+ * <p>All query methods can be called by concurrent readers: the index files are
+ * accessed via positional reads, and the iterators manage their own cursors.
+ * Please note that the single reads are still serialized, as {@link DataAccess}
+ * synchronizes all accesses to its buffers.</p>
+ *
  * @author BaseX Team 2005-12, BSD License
  * @author Christian Gruen
  */
 public final class FTIndex implements Index {
   /** Entry size. */
-  private static final int ENTRY = 9;
+  static final int ENTRY = 9;
 
   /** Cached texts. Increases used memory, but speeds up repeated queries. */
   private final IntObjMap<byte[]> ctext = new IntObjMap<byte[]>();
-  /** Levenshtein reference. */
-  private final Levenshtein ls = new Levenshtein();
   /** Data reference. */
   private final Data data;
 
@@ -65,6 +74,15 @@ public final class FTIndex implements Index {
   /** Storing pre and pos values for each token. */
   final DataAccess inZ;
 
+  /** N-gram index for fuzzy searches (will be opened on demand). */
+  private FTGrams grams;
+  /** Reversed dictionary for wildcard searches (will be opened on demand). */
+  private FTSuffixes suffixes;
+  /** Maximum scores of all tokens (will be opened on demand). */
+  private FTScores scores;
+  /** Skip lists (will be opened on demand). */
+  private FTSkips skips;
+
   /** Cache for number of hits and data reference per token. */
   final IndexCache cache = new IndexCache();
   /** Token positions. */
@@ -105,7 +123,7 @@ public final class FTIndex implements Index {
   public synchronized void init() { }
 
   @Override
-  public synchronized int count(final IndexToken it) {
+  public int count(final IndexToken it) {
     final byte[] tok = it.get();
     if(tok.length > data.meta.maxlen) return Integer.MAX_VALUE;
 
@@ -117,7 +135,7 @@ public final class FTIndex implements Index {
   }
 
   @Override
-  public synchronized IndexIterator iter(final IndexToken it) {
+  public IndexIterator iter(final IndexToken it) {
     final byte[] tok = it.get();
 
     // wildcard search
@@ -132,7 +150,7 @@ public final class FTIndex implements Index {
 
     // return cached or new result
     final IndexEntry e = entry(tok);
-    return e.size > 0 ? iter(e.pointer, e.size, inZ) : FTIndexIterator.FTEMPTY;
+    return e.size > 0 ? iter(e.pointer, e.size) : FTIndexIterator.FTEMPTY;
   }
 
   /**
@@ -157,13 +175,13 @@ public final class FTIndex implements Index {
       boolean inner;
 
       @Override
-      public synchronized byte[] next() {
+      public byte[] next() {
         if(inner && i < e) {
           // loop through all entries with the same character length
           final byte[] entry = inY.readBytes(i, ti);
           if(startsWith(entry, prefix)) {
-            final long poi = inY.read5();
-            nr = inY.read4();
+            final long poi = pointer(i, ti);
+            nr = size(i, ti);
             if(prefix.length != 0) cache.add(entry, nr, poi);
             i += ti + ENTRY;
             return entry;
@@ -206,10 +224,15 @@ public final class FTIndex implements Index {
     while(l <= h) {
       final int m = l + h >>> 1;
       final int p = i + m * tl;
-      byte[] txt = ctext.get(p);
+      byte[] txt;
+      synchronized(ctext) {
+        txt = ctext.get(p);
+      }
       if(txt == null) {
         txt = inY.readBytes(p, ti);
-        ctext.put(p, txt);
+        synchronized(ctext) {
+          ctext.put(p, txt);
+        }
       }
       final int d = diff(txt, token);
       if(d == 0) return i + m * tl;
@@ -220,7 +243,7 @@ public final class FTIndex implements Index {
   }
 
   @Override
-  public synchronized byte[] info() {
+  public byte[] info() {
     final TokenBuilder tb = new TokenBuilder();
     tb.add(LI_STRUCTURE + FUZZY + NL);
     tb.addExt("- %: %" + NL, STEMMING, Util.flag(data.meta.stemming));
@@ -244,6 +267,74 @@ public final class FTIndex implements Index {
     inX.close();
     inY.close();
     inZ.close();
+    if(grams != null) grams.close();
+    if(suffixes != null) suffixes.close();
+    if(scores != null) scores.close();
+  }
+
+  /**
+   * Returns the text nodes with the highest scores that contain at least one of
+   * the specified tokens.
+   * @param tokens tokens
+   * @param k maximum number of results
+   * @param tn token number
+   * @return results
+   */
+  public FTTopK top(final TokenSet tokens, final int k, final byte tn) {
+    return new FTTopK(this, data, tokens, k, tn);
+  }
+
+  /**
+   * Returns the maximum score of the specified token.
+   * @param p pointer on token
+   * @param l length of the token
+   * @return maximum score, or infinity if no scores are available
+   */
+  double maxScore(final int p, final int l) {
+    final FTScores sc = scores();
+    return sc != null ? sc.max(p, l) : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Returns the skip lists.
+   * @return skip lists
+   */
+  private synchronized FTSkips skips() {
+    if(skips == null) {
+      try {
+        skips = FTSkips.open(data);
+      } catch(final IOException ex) {
+        Util.debug(ex);
+        skips = FTSkips.EMPTY;
+      }
+    }
+    return skips;
+  }
+
+  /**
+   * Returns the maximum scores.
+   * @return scores, or {@code null} if they do not exist
+   */
+  private synchronized FTScores scores() {
+    if(scores == null && data.meta.dbfile(DATAFTX + 's').exists()) {
+      try {
+        scores = new FTScores(data, this);
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+    }
+    return scores;
+  }
+
+  /**
+   * Returns the length of the token at the specified pointer.
+   * @param p pointer on token
+   * @return length of the token
+   */
+  int length(final int p) {
+    int l = tp.length - 1;
+    while(--l > 0 && (tp[l] == -1 || tp[l] > p));
+    return l;
   }
 
   /**
@@ -251,7 +342,7 @@ public final class FTIndex implements Index {
    * @param token token looking for
    * @return int pointer or {@code -1} if token was not found
    */
-  private int token(final byte[] token) {
+  int token(final byte[] token) {
     final int tl = token.length;
     // left limit
     int l = tp[tl];
@@ -303,7 +394,7 @@ public final class FTIndex implements Index {
    * @param lt length of the token
    * @return int pointer on ftdata
    */
-  private long pointer(final long pt, final int lt) {
+  long pointer(final long pt, final int lt) {
     return inY.read5(pt + lt);
   }
 
@@ -313,7 +404,7 @@ public final class FTIndex implements Index {
    * @param lt length of the token
    * @return size of the ftdata
    */
-  private int size(final long pt, final int lt) {
+  int size(final long pt, final int lt) {
     return inY.read4(pt + lt + 5);
   }
 
@@ -323,12 +414,27 @@ public final class FTIndex implements Index {
    * @param k number of errors allowed
    * @return iterator
    */
-  private synchronized IndexIterator fuzzy(final byte[] token, final int k) {
-    FTIndexIterator it = FTIndexIterator.FTEMPTY;
+  private IndexIterator fuzzy(final byte[] token, final int k) {
+    final Levenshtein ls = new Levenshtein();
+    final IntList pt = new IntList();
+    final IntList lt = new IntList();
     final int tl = token.length;
     final int e = Math.min(tp.length - 1, tl + k);
     int s = Math.max(1, tl - k) - 1;
 
+    // only compare candidates that have been found in the n-gram index
+    final int[] cands = candidates(token, k, s + 1, e);
+    if(cands != null) {
+      for(final int p : cands) {
+        final int l = length(p);
+        if(ls.similar(inY.readBytes(p, l), token, k)) {
+          pt.add(p);
+          lt.add(l);
+        }
+      }
+      return iter(pt, lt);
+    }
+
     while(++s <= e) {
       int p = tp[s];
       if(p == -1) continue;
@@ -337,28 +443,84 @@ public final class FTIndex implements Index {
       while(i < tp.length && r == -1) r = tp[i++];
       while(p < r) {
         if(ls.similar(inY.readBytes(p, s), token, k)) {
-          it = FTIndexIterator.union(iter(pointer(p, s), size(p, s), inZ), it);
+          pt.add(p);
+          lt.add(s);
         }
         p += s + ENTRY;
       }
     }
-    return it;
+    return iter(pt, lt);
+  }
+
+  /**
+   * Returns the pointers to all tokens with the specified lengths that may be
+   * similar to the specified token.
+   * @param token token to look for
+   * @param k number of errors allowed
+   * @param min minimum token length
+   * @param max maximum token length
+   * @return pointers, or {@code null} if no n-gram index exists, or if all tokens
+   *   must be compared
+   */
+  private int[] candidates(final byte[] token, final int k, final int min,
+      final int max) {
+
+    final FTGrams gr = grams();
+    if(gr == null) return null;
+    // pointers to the first and after the last token with the specified lengths
+    int l = min;
+    while(l < tp.length - 1 && tp[l] == -1) l++;
+    int r = Math.min(max + 1, tp.length - 1);
+    while(r < tp.length - 1 && tp[r] == -1) r++;
+    return l > max ? new int[0] : gr.candidates(token, k, tp[l], tp[r]);
+  }
+
+  /**
+   * Returns the n-gram index.
+   * @return index, or {@code null} if it does not exist
+   */
+  private synchronized FTGrams grams() {
+    if(grams == null && data.meta.fuzzyindex) {
+      try {
+        grams = new FTGrams(data);
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+    }
+    return grams;
   }
 
   /**
    * Performs a wildcard search for the specified token.
+   * If the wildcard has a suffix that is longer than its prefix, the tokens are
+   * looked up in the reversed dictionary.
    * @param token token to look for
    * @return iterator
    */
-  private synchronized IndexIterator wc(final byte[] token) {
-    final FTIndexIterator it = FTIndexIterator.FTEMPTY;
+  private IndexIterator wc(final byte[] token) {
     final FTWildcard wc = new FTWildcard(token);
-    if(!wc.parse()) return it;
+    if(!wc.parse()) return FTIndexIterator.FTEMPTY;
 
-    final IntList pr = new IntList();
-    final IntList ps = new IntList();
+    final IntList pt = new IntList();
+    final IntList lt = new IntList();
     final byte[] pref = wc.prefix();
+    final byte[] suf = wc.suffix();
     final int l = Math.min(tp.length - 1, wc.max());
+    final FTSuffixes sx = suf.length > pref.length ? suffixes() : null;
+    if(sx != null) {
+      final IntList ptrs = sx.tokens(suf);
+      final int ps = ptrs.size();
+      for(int i = 0; i < ps; i++) {
+        final int p = ptrs.get(i);
+        final int ti = length(p);
+        if(ti <= l && wc.match(inY.readBytes(p, ti))) {
+          pt.add(p);
+          lt.add(ti);
+        }
+      }
+      return iter(pt, lt);
+    }
+
     for(int ti = pref.length; ti <= l; ti++) {
       int i = tp[ti];
       if(i == -1) continue;
@@ -371,73 +533,124 @@ public final class FTIndex implements Index {
         final byte[] t = inY.readBytes(i, ti);
         if(!startsWith(t, pref)) break;
         if(wc.match(t)) {
-          inZ.cursor(pointer(i, ti));
-          final int s = size(i, ti);
-          for(int d = 0; d < s; d++) {
-            pr.add(inZ.readNum());
-            ps.add(inZ.readNum());
-          }
+          pt.add(i);
+          lt.add(ti);
         }
         i += ti + ENTRY;
       }
     }
-    return iter(new FTCache(pr, ps));
+    return iter(pt, lt);
   }
 
   /**
-   * Returns an iterator for an index entry.
-   * @param off offset on entries
-   * @param size number of id/pos entries
-   * @param da data source
-   * @return iterator
+   * Returns the reversed dictionary.
+   * @return dictionary, or {@code null} if it does not exist
    */
-  private FTIndexIterator iter(final long off, final int size, final DataAccess da) {
-    da.cursor(off);
-    final IntList pr = new IntList(size);
-    final IntList ps = new IntList(size);
-    for(int c = 0; c < size; c++) {
-      pr.add(da.readNum());
-      ps.add(da.readNum());
+  private synchronized FTSuffixes suffixes() {
+    if(suffixes == null && data.meta.dbfile(DATAFTX + 'r').exists()) {
+      try {
+        suffixes = new FTSuffixes(data, this);
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
     }
-    return iter(new FTCache(pr, ps));
+    return suffixes;
+  }
+
+  /**
+   * Returns an iterator for the specified tokens.
+   * The iterators of the single tokens are merged in a balanced tree.
+   * @param pt pointers on tokens
+   * @param lt lengths of tokens
+   * @return iterator
+   */
+  private FTIndexIterator iter(final IntList pt, final IntList lt) {
+    return iter(pt, lt, 0, pt.size());
   }
 
   /**
-   * Returns an iterator for an index entry.
-   * @param ftc id cache
+   * Returns an iterator for the specified range of tokens.
+   * @param pt pointers on tokens
+   * @param lt lengths of tokens
+   * @param s first token
+   * @param e last token (exclusive)
    * @return iterator
    */
-  private synchronized FTIndexIterator iter(final FTCache ftc) {
-    final int size = ftc.pre.size();
+  private FTIndexIterator iter(final IntList pt, final IntList lt, final int s,
+      final int e) {
 
+    if(s == e) return FTIndexIterator.FTEMPTY;
+    if(e - s == 1) {
+      final int p = pt.get(s), l = lt.get(s);
+      return iter(pointer(p, l), size(p, l));
+    }
+    final int m = s + e >>> 1;
+    return FTIndexIterator.union(iter(pt, lt, s, m), iter(pt, lt, m, e));
+  }
+
+  /**
+   * Returns an iterator for an index entry. The id/pos entries, which are
+   * sorted by pre values and positions, are read on demand via positional reads.
+   * @param off offset on entries
+   * @param size number of id/pos entries
+   * @return iterator
+   */
+  FTIndexIterator iter(final long off, final int size) {
+    final FTSkips.Entries sl = size >= FTSkips.BLOCK << 1 ? skips().get(off) : null;
     return new FTIndexIterator() {
       final FTMatches all = new FTMatches(toknum);
+      long o = off;
       int pre, c;
 
       @Override
-      public synchronized boolean more() {
+      public boolean skip(final int p) {
+        if(sl != null) {
+          // jump to the last block that starts with a smaller or equal pre value
+          final int b = sl.find(p);
+          if(b != -1 && sl.counts[b] > c) {
+            c = sl.counts[b];
+            o = sl.offsets[b];
+          }
+        }
+        while(more()) if(pre >= p) return true;
+        return false;
+      }
+
+      @Override
+      public boolean more() {
         if(c == size) return false;
         all.reset(toknum);
-        pre = ftc.pre.get(ftc.order[c]);
-        all.or(ftc.pos.get(ftc.order[c++]));
-        while(c < size && pre == ftc.pre.get(ftc.order[c])) {
-          all.or(ftc.pos.get(ftc.order[c++]));
+        pre = num();
+        all.or(num());
+        while(++c < size && inZ.readNum(o) == pre) {
+          o += Num.length(pre);
+          all.or(num());
         }
         return true;
       }
 
+      /**
+       * Reads the next number and advances the cursor.
+       * @return number
+       */
+      private int num() {
+        final int n = inZ.readNum(o);
+        o += Num.length(n);
+        return n;
+      }
+
       @Override
-      public synchronized FTMatches matches() {
+      public FTMatches matches() {
         return all;
       }
 
       @Override
-      public synchronized int next() {
+      public int next() {
         return pre;
       }
 
       @Override
-      public synchronized int size() {
+      public int size() {
         return size;
       }
 
@@ -447,30 +660,4 @@ public final class FTIndex implements Index {
       }
     };
   }
-
-  /**
-   * Full-text cache.
-   */
-  static final class FTCache {
-    /** Order. */
-    final int[] order;
-    /** Pre values. */
-    final IntList pre;
-    /** Pos values. */
-    final IntList pos;
-
-    /**
-     * Constructor.
-     * @param pr pre values
-     * @param ps positions
-     */
-    FTCache(final IntList pr, final IntList ps) {
-      final int s = pr.size();
-      final double[] v = new double[s];
-      for(int i = 0; i < s; i++) v[i] = (long) pr.get(i) << 32 | ps.get(i);
-      order = Array.createOrder(v, true);
-      pre = pr;
-      pos = ps;
-    }
-  }
 }
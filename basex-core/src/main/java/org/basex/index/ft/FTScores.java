@@ -0,0 +1,102 @@
+package org.basex.index.ft;
+
+import static org.basex.data.DataText.*;
+
+import java.io.*;
+
+import org.basex.data.*;
+import org.basex.index.query.*;
+import org.basex.io.out.DataOutput;
+import org.basex.io.random.*;
+import org.basex.util.ft.*;
+
+/**
+ * <p>This class provides access to the maximum scores of the tokens in the
+ * full-text index. The maximum score of a token is the highest score
+ * (see {@link Scoring#textNode}) that a single text node containing this token
+ * can get. The scores are stored in the file {@link DataText#DATAFTX} +
+ * <b>s</b>, in the order of the tokens in the full-text index
+ * (see {@link FTIndex}) [float].</p>
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+final class FTScores {
+  /** Full-text index. */
+  private final FTIndex ftx;
+  /** Scores. */
+  private final DataAccess scores;
+  /** Number of tokens that are shorter than a specific length. */
+  private final int[] offsets;
+
+  /**
+   * Constructor, opening the index structure.
+   * @param data data reference
+   * @param index full-text index
+   * @throws IOException I/O Exception
+   */
+  FTScores(final Data data, final FTIndex index) throws IOException {
+    ftx = index;
+    scores = new DataAccess(data.meta.dbfile(DATAFTX + 's'));
+
+    final int[] tp = ftx.tp;
+    offsets = new int[tp.length];
+    for(int s = 0, c = 0; s < tp.length - 1; s++) {
+      offsets[s] = c;
+      if(tp[s] == -1) continue;
+      int i = s + 1, e = -1;
+      while(i < tp.length && e == -1) e = tp[i++];
+      c += (e - tp[s]) / (s + FTIndex.ENTRY);
+    }
+  }
+
+  /**
+   * Computes the maximum scores of the tokens of the specified full-text index.
+   * @param data data reference
+   * @param ftx full-text index
+   * @throws IOException I/O Exception
+   */
+  static void build(final Data data, final FTIndex ftx) throws IOException {
+    final DataOutput out = new DataOutput(data.meta.dbfile(DATAFTX + 's'));
+    try {
+      final int[] tp = ftx.tp;
+      for(int s = 0; s < tp.length - 1; s++) {
+        int p = tp[s];
+        if(p == -1) continue;
+        int i = s + 1, e = -1;
+        while(i < tp.length && e == -1) e = tp[i++];
+        for(; p < e; p += s + FTIndex.ENTRY) {
+          final int size = ftx.size(p, s);
+          final FTIndexIterator it = ftx.iter(ftx.pointer(p, s), size);
+          double max = 0;
+          while(it.more()) {
+            final int tl = data.textLen(it.next(), true);
+            max = Math.max(max, Scoring.textNode(it.matches().size(), size, s, tl));
+          }
+          // round up to compensate for the reduced precision
+          out.write4(Float.floatToIntBits(Math.nextUp((float) max)));
+        }
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Returns the maximum score of the specified token.
+   * @param p pointer on token
+   * @param l length of the token
+   * @return maximum score
+   */
+  double max(final int p, final int l) {
+    final int i = offsets[l] + (p - ftx.tp[l]) / (l + FTIndex.ENTRY);
+    return Float.intBitsToFloat(scores.read4((long) i << 2));
+  }
+
+  /**
+   * Closes the index.
+   */
+  synchronized void close() {
+    scores.close();
+  }
+}
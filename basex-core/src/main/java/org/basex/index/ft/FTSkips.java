@@ -0,0 +1,194 @@
+package org.basex.index.ft;
+
+import static org.basex.data.DataText.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.io.random.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * <p>This class provides access to the skip lists of the full-text index, which
+ * allow iterators to jump over blocks of id/pos entries (see {@link FTIndex}).
+ * Skip lists are only created for tokens with at least twice as many entries as
+ * specified by {@link #BLOCK}. A new skip entry is added after each block of
+ * {@link #BLOCK} entries, as soon as the next pre value is found. The skip lists
+ * are stored in the file {@link DataText#DATAFTX} + <b>k</b>, and they are kept
+ * in main memory:</p>
+ *
+ * <ul>
+ * <li>The offsets of all tokens with skip lists in file <b>z</b>, sorted
+ *   in ascending order [long[]]</li>
+ * <li>For each of these tokens: the first pre values of the blocks [{@link Num}[]],
+ *   the number of entries before the blocks [{@link Num}[]], and the offsets of
+ *   the blocks in file <b>z</b> [long[]]</li>
+ * </ul>
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+final class FTSkips {
+  /** Minimum number of entries per block. */
+  static final int BLOCK = 128;
+  /** Empty skip lists. */
+  static final FTSkips EMPTY = new FTSkips(new long[0], new Entries[0]);
+
+  /** Offsets of the tokens with skip lists, sorted in ascending order. */
+  private final long[] offsets;
+  /** Skip lists. */
+  private final Entries[] entries;
+
+  /**
+   * Constructor.
+   * @param o offsets of the tokens
+   * @param e skip lists
+   */
+  private FTSkips(final long[] o, final Entries[] e) {
+    offsets = o;
+    entries = e;
+  }
+
+  /**
+   * Opens the skip lists of the specified database.
+   * @param data data reference
+   * @return skip lists, or {@link #EMPTY} if no skip lists exist
+   * @throws IOException I/O Exception
+   */
+  static FTSkips open(final Data data) throws IOException {
+    final IOFile file = data.meta.dbfile(DATAFTX + 'k');
+    if(!file.exists()) return EMPTY;
+
+    final DataInput in = new DataInput(file);
+    try {
+      final long[] offsets = in.readLongs(in.readNum());
+      final Entries[] entries = new Entries[offsets.length];
+      for(int i = 0; i < offsets.length; i++) {
+        final int[] pres = in.readNums(), counts = in.readNums();
+        entries[i] = new Entries(pres, counts, in.readLongs(in.readNum()));
+      }
+      return new FTSkips(offsets, entries);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Creates the skip lists for the tokens of the specified full-text index.
+   * @param data data reference
+   * @param ftx full-text index
+   * @throws IOException I/O Exception
+   */
+  static void build(final Data data, final FTIndex ftx) throws IOException {
+    final DataAccess inZ = ftx.inZ;
+    long[] offsets = new long[Array.CAPACITY];
+    Entries[] entries = new Entries[Array.CAPACITY];
+    int n = 0;
+
+    final int[] tp = ftx.tp;
+    for(int s = 0; s < tp.length - 1; s++) {
+      int p = tp[s];
+      if(p == -1) continue;
+      int i = s + 1, e = -1;
+      while(i < tp.length && e == -1) e = tp[i++];
+      for(; p < e; p += s + FTIndex.ENTRY) {
+        final int size = ftx.size(p, s);
+        if(size < BLOCK << 1) continue;
+
+        final long off = ftx.pointer(p, s);
+        final IntList pres = new IntList();
+        final IntList counts = new IntList();
+        long[] offs = new long[Array.CAPACITY];
+        long o = off;
+        for(int c = 0, b = 0, last = -1; c < size; c++) {
+          final int pre = inZ.readNum(o);
+          if(c - b >= BLOCK && pre != last) {
+            final int ps = pres.size();
+            if(ps == offs.length) offs = Arrays.copyOf(offs, Array.newSize(ps));
+            offs[ps] = o;
+            pres.add(pre);
+            counts.add(c);
+            b = c;
+          }
+          o += Num.length(pre);
+          o += Num.length(inZ.readNum(o));
+          last = pre;
+        }
+        if(n == offsets.length) {
+          offsets = Arrays.copyOf(offsets, Array.newSize(n));
+          entries = Arrays.copyOf(entries, offsets.length);
+        }
+        offsets[n] = off;
+        entries[n++] = new Entries(pres.toArray(), counts.toArray(),
+            Arrays.copyOf(offs, pres.size()));
+      }
+    }
+
+    final DataOutput out = new DataOutput(data.meta.dbfile(DATAFTX + 'k'));
+    try {
+      out.writeLongs(Arrays.copyOf(offsets, n));
+      for(int i = 0; i < n; i++) {
+        out.writeNums(entries[i].pres);
+        out.writeNums(entries[i].counts);
+        out.writeLongs(entries[i].offsets);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Returns the skip list for the entries at the specified offset.
+   * @param off offset of the entries
+   * @return skip list, or {@code null}
+   */
+  Entries get(final long off) {
+    final int i = Arrays.binarySearch(offsets, off);
+    return i < 0 ? null : entries[i];
+  }
+
+  /**
+   * Skip list of a single token.
+   */
+  static final class Entries {
+    /** First pre values of the blocks. */
+    final int[] pres;
+    /** Number of entries before the blocks. */
+    final int[] counts;
+    /** Offsets of the blocks. */
+    final long[] offsets;
+
+    /**
+     * Constructor.
+     * @param p first pre values of the blocks
+     * @param c number of entries before the blocks
+     * @param o offsets of the blocks
+     */
+    Entries(final int[] p, final int[] c, final long[] o) {
+      pres = p;
+      counts = c;
+      offsets = o;
+    }
+
+    /**
+     * Returns the index of the last block that starts with a pre value smaller
+     * than or equal to the specified value.
+     * @param pre pre value
+     * @return index, or {@code -1}
+     */
+    int find(final int pre) {
+      int l = 0, h = pres.length - 1;
+      while(l <= h) {
+        final int m = l + h >>> 1;
+        if(pres[m] <= pre) l = m + 1;
+        else h = m - 1;
+      }
+      return h;
+    }
+  }
+}
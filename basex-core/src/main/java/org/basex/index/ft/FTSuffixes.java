@@ -0,0 +1,128 @@
+package org.basex.index.ft;
+
+import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.data.*;
+import org.basex.io.out.DataOutput;
+import org.basex.io.random.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * <p>This class provides access to a reversed dictionary of the full-text index,
+ * which is used to find all tokens with a specific suffix. It is stored in
+ * the file {@link DataText#DATAFTX} + <b>r</b>, which contains the pointers to
+ * all tokens in the full-text index (see {@link FTIndex}), ordered by the
+ * reversed bytes of the tokens [int].</p>
+ *
+ * <p>As the bytes of the UTF-8 representation of a token are reversed,
+ * all tokens ending with a specific suffix form a contiguous range.</p>
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+final class FTSuffixes {
+  /** Full-text index. */
+  private final FTIndex ftx;
+  /** Token pointers. */
+  private final DataAccess ptrs;
+  /** Number of tokens. */
+  private final int size;
+
+  /**
+   * Constructor, opening the index structure.
+   * @param data data reference
+   * @param index full-text index
+   * @throws IOException I/O Exception
+   */
+  FTSuffixes(final Data data, final FTIndex index) throws IOException {
+    ftx = index;
+    ptrs = new DataAccess(data.meta.dbfile(DATAFTX + 'r'));
+    size = (int) (ptrs.length() >>> 2);
+  }
+
+  /**
+   * Builds the reversed dictionary for the tokens of the specified full-text index.
+   * @param data data reference
+   * @param ftx full-text index
+   * @throws IOException I/O Exception
+   */
+  static void build(final Data data, final FTIndex ftx) throws IOException {
+    final TokenList tokens = new TokenList();
+    final IntList pointers = new IntList();
+    final int[] tp = ftx.tp;
+    for(int s = 0; s < tp.length - 1; s++) {
+      int p = tp[s];
+      if(p == -1) continue;
+      int i = s + 1, e = -1;
+      while(i < tp.length && e == -1) e = tp[i++];
+      for(; p < e; p += s + FTIndex.ENTRY) {
+        tokens.add(reverse(ftx.inY.readBytes(p, s)));
+        pointers.add(p);
+      }
+    }
+
+    final DataOutput out = new DataOutput(data.meta.dbfile(DATAFTX + 'r'));
+    try {
+      for(final int o : Array.createOrder(tokens.toArray(), false, true)) {
+        out.write4(pointers.get(o));
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Returns the pointers to all tokens that end with the specified suffix.
+   * @param suffix suffix
+   * @return pointers, sorted by the reversed tokens
+   */
+  IntList tokens(final byte[] suffix) {
+    final byte[] rev = reverse(suffix);
+    // find first token that starts with the reversed suffix
+    int l = 0, h = size;
+    while(l < h) {
+      final int m = l + h >>> 1;
+      if(diff(token(m), rev) < 0) l = m + 1;
+      else h = m;
+    }
+    final IntList il = new IntList();
+    for(; l < size; l++) {
+      if(!startsWith(token(l), rev)) break;
+      il.add(ptrs.read4((long) l << 2));
+    }
+    return il;
+  }
+
+  /**
+   * Closes the index.
+   */
+  synchronized void close() {
+    ptrs.close();
+  }
+
+  /**
+   * Returns the reversed token at the specified position.
+   * @param i position
+   * @return reversed token
+   */
+  private byte[] token(final int i) {
+    final int p = ptrs.read4((long) i << 2);
+    return reverse(ftx.inY.readBytes(p, ftx.length(p)));
+  }
+
+  /**
+   * Returns a copy of the specified token with reversed bytes.
+   * @param token token
+   * @return reversed token
+   */
+  private static byte[] reverse(final byte[] token) {
+    final int tl = token.length;
+    final byte[] rev = new byte[tl];
+    for(int t = 0; t < tl; t++) rev[t] = token[tl - 1 - t];
+    return rev;
+  }
+}
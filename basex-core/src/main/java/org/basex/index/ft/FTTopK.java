@@ -0,0 +1,240 @@
+package org.basex.index.ft;
+
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.index.query.*;
+import org.basex.util.*;
+import org.basex.util.ft.*;
+import org.basex.util.hash.*;
+
+/**
+ * <p>This class retrieves the text nodes with the highest scores that contain
+ * at least one of the specified tokens. The score of a text node is computed
+ * by combining the scores of all tokens (see {@link Scoring#textNode} and
+ * {@link Scoring#or}).</p>
+ *
+ * <p>The index entries of all tokens are traversed in parallel with the WAND
+ * algorithm (Broder et al., 2003): the maximum scores of the tokens are used
+ * to pass over all text nodes that cannot be among the current top results.
+ * Scores will only be computed for the remaining candidates. Index entries are
+ * only skipped without being decoded if the index contains skip lists
+ * (see {@link FTSkips}); otherwise, they are still read one by one.</p>
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class FTTopK {
+  /** Pre values of the results, sorted by descending scores. */
+  public final int[] pres;
+  /** Scores of the results. */
+  public final double[] scores;
+  /** Full-text matches of the results. */
+  public final FTMatches[] matches;
+
+  /** Pre values of the current results (min heap). */
+  private int[] hp;
+  /** Scores of the current results. */
+  private double[] hs;
+  /** Full-text matches of the current results. */
+  private FTMatches[] hm;
+  /** Number of current results. */
+  private int size;
+
+  /**
+   * Constructor.
+   * @param ftx full-text index
+   * @param data data reference
+   * @param tokens tokens
+   * @param k maximum number of results
+   * @param tn token number
+   */
+  FTTopK(final FTIndex ftx, final Data data, final TokenSet tokens, final int k,
+      final byte tn) {
+
+    // create cursors for all tokens
+    Cursor[] cursors = new Cursor[tokens.size()];
+    int cs = 0;
+    long total = 0;
+    for(final byte[] token : tokens) {
+      final int l = token.length;
+      final int p = l < ftx.tp.length - 2 ? ftx.token(token) : -1;
+      if(p == -1) continue;
+      final Cursor c = new Cursor(ftx, p, l, tn);
+      if(c.pre == Integer.MAX_VALUE) continue;
+      cursors[cs++] = c;
+      total += c.size;
+    }
+    cursors = Arrays.copyOf(cursors, cs);
+
+    final int max = (int) Math.min(k, total);
+    hp = new int[Math.max(0, max)];
+    hs = new double[hp.length];
+    hm = new FTMatches[hp.length];
+    if(max > 0) run(cursors, data, max);
+
+    // sort results by descending scores
+    pres = new int[size];
+    scores = new double[size];
+    matches = new FTMatches[size];
+    final int[] order = Array.createOrder(Arrays.copyOf(hs, size), false);
+    for(int o = 0; o < size; o++) {
+      pres[o] = hp[order[o]];
+      scores[o] = hs[order[o]];
+      matches[o] = hm[order[o]];
+    }
+    hp = null;
+    hs = null;
+    hm = null;
+  }
+
+  /**
+   * Traverses the index entries of all tokens.
+   * @param cursors cursors
+   * @param data data reference
+   * @param k maximum number of results
+   */
+  private void run(final Cursor[] cursors, final Data data, final int k) {
+    final int cs = cursors.length;
+    while(true) {
+      // sort cursors by their current pre values
+      for(int i = 1; i < cs; i++) {
+        final Cursor c = cursors[i];
+        int j = i;
+        for(; j > 0 && cursors[j - 1].pre > c.pre; j--) cursors[j] = cursors[j - 1];
+        cursors[j] = c;
+      }
+
+      // find pivot: first node that may beat the current threshold
+      final double min = size < k ? -1 : hs[0];
+      double bound = 0;
+      int pv = -1;
+      for(int c = 0; c < cs && cursors[c].pre != Integer.MAX_VALUE; c++) {
+        bound = Scoring.or(bound, cursors[c].max);
+        if(bound > min) {
+          pv = c;
+          break;
+        }
+      }
+      if(pv == -1) break;
+
+      final int pre = cursors[pv].pre;
+      if(cursors[0].pre == pre) {
+        // all preceding cursors point to the pivot: compute score
+        final int tl = data.textLen(pre, true);
+        double score = 0;
+        int n = 0;
+        for(; n < cs && cursors[n].pre == pre; n++) {
+          final Cursor c = cursors[n];
+          final int npv = c.iter.matches().size();
+          final double s = Scoring.textNode(npv, c.size, c.length, tl);
+          score = n == 0 ? s : Scoring.or(score, s);
+        }
+        if(score > min) {
+          final FTMatches m = cursors[0].iter.matches().copy();
+          for(int c = 1; c < n; c++) {
+            for(final FTMatch fm : cursors[c].iter.matches()) m.add(fm);
+          }
+          add(pre, score, m, k);
+        }
+        for(int c = 0; c < n; c++) cursors[c].next();
+      } else {
+        // skip nodes that cannot beat the threshold
+        for(int c = 0; c < pv; c++) cursors[c].skip(pre);
+      }
+    }
+  }
+
+  /**
+   * Adds a result to the heap.
+   * @param pre pre value
+   * @param score score
+   * @param m full-text matches
+   * @param k maximum number of results
+   */
+  private void add(final int pre, final double score, final FTMatches m, final int k) {
+    int i;
+    if(size < k) {
+      // sift up
+      i = size++;
+      while(i > 0) {
+        final int p = i - 1 >>> 1;
+        if(hs[p] <= score) break;
+        set(i, p);
+        i = p;
+      }
+    } else {
+      // replace root and sift down
+      i = 0;
+      while(true) {
+        int c = (i << 1) + 1;
+        if(c >= size) break;
+        if(c + 1 < size && hs[c + 1] < hs[c]) c++;
+        if(hs[c] >= score) break;
+        set(i, c);
+        i = c;
+      }
+    }
+    hp[i] = pre;
+    hs[i] = score;
+    hm[i] = m;
+  }
+
+  /**
+   * Copies a heap entry.
+   * @param t target position
+   * @param s source position
+   */
+  private void set(final int t, final int s) {
+    hp[t] = hp[s];
+    hs[t] = hs[s];
+    hm[t] = hm[s];
+  }
+
+  /**
+   * Cursor on the index entries of a single token.
+   */
+  private static final class Cursor {
+    /** Index iterator. */
+    final FTIndexIterator iter;
+    /** Maximum score of the token. */
+    final double max;
+    /** Number of index entries. */
+    final int size;
+    /** Token length. */
+    final int length;
+    /** Current pre value ({@link Integer#MAX_VALUE} if all entries were read). */
+    int pre;
+
+    /**
+     * Constructor.
+     * @param ftx full-text index
+     * @param p pointer on token
+     * @param l length of the token
+     * @param tn token number
+     */
+    Cursor(final FTIndex ftx, final int p, final int l, final byte tn) {
+      size = ftx.size(p, l);
+      length = l;
+      max = ftx.maxScore(p, l);
+      iter = ftx.iter(ftx.pointer(p, l), size);
+      iter.tokenNum(tn);
+      next();
+    }
+
+    /**
+     * Moves the cursor to the next node.
+     */
+    void next() {
+      pre = iter.more() ? iter.next() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Moves the cursor to the first node with the specified or a larger pre value.
+     * @param p pre value
+     */
+    void skip(final int p) {
+      if(pre < p) pre = iter.skip(p) ? iter.next() : Integer.MAX_VALUE;
+    }
+  }
+}
@@ -30,6 +30,18 @@ public abstract class FTIndexIterator extends IndexIterator {
    */
   public abstract FTMatches matches();
 
+  /**
+   * Moves the iterator to the next result with a pre value that is equal to or
+   * larger than the specified value. The value must be larger than the pre value of
+   * the current result.
+   * @param pre pre value
+   * @return {@code true} if a result was found
+   */
+  public boolean skip(final int pre) {
+    while(more()) if(next() >= pre) return true;
+    return false;
+  }
+
   /**
    * Sets the unique token number. Used for visualization.
    * @param tn number of tokens
@@ -55,6 +67,22 @@ public abstract class FTIndexIterator extends IndexIterator {
       public boolean more() {
         if(c <= 0) r = i1.more() ? i1 : null;
         if(c >= 0) s = i2.more() ? i2 : null;
+        return choose();
+      }
+
+      @Override
+      public boolean skip(final int pre) {
+        // the iterator that has not been consumed yet may already point to a result
+        if(c <= 0 || r != null && r.next() < pre) r = i1.skip(pre) ? i1 : null;
+        if(c >= 0 || s != null && s.next() < pre) s = i2.skip(pre) ? i2 : null;
+        return choose();
+      }
+
+      /**
+       * Chooses the iterator with the smallest pre value.
+       * @return {@code true} if a result was found
+       */
+      private boolean choose() {
         c = r != null && s != null ? r.next() - s.next() : r != null ? -1 : 1;
         n = c <= 0 ? r : s;
         return n != null;
@@ -105,15 +133,37 @@ public abstract class FTIndexIterator extends IndexIterator {
 
       @Override
       public boolean more() {
-        int c = 0;
-        while(true) {
-          if(c <= 0) r = i1.more() ? i1 : null;
-          if(c >= 0) s = i2.more() ? i2 : null;
-          if(r == null || s == null) return false;
-          c = r.next() - s.next();
-          if(c == 0 && (dis == 0 || r.matches().phrase(s.matches(), dis)))
-            return true;
+        r = i1.more() ? i1 : null;
+        s = i2.more() ? i2 : null;
+        return find();
+      }
+
+      @Override
+      public boolean skip(final int pre) {
+        r = i1.skip(pre) ? i1 : null;
+        s = i2.skip(pre) ? i2 : null;
+        return find();
+      }
+
+      /**
+       * Finds the next common result. The iterator with the smaller pre value
+       * skips all results up to the pre value of the other iterator.
+       * @return {@code true} if a result was found
+       */
+      private boolean find() {
+        while(r != null && s != null) {
+          final int c = r.next() - s.next();
+          if(c == 0) {
+            if(dis == 0 || r.matches().phrase(s.matches(), dis)) return true;
+            r = i1.more() ? i1 : null;
+            s = i2.more() ? i2 : null;
+          } else if(c < 0) {
+            r = i1.skip(s.next()) ? i1 : null;
+          } else {
+            s = i2.skip(r.next()) ? i2 : null;
+          }
         }
+        return false;
       }
 
       @Override
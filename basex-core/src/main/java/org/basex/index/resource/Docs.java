@@ -1,5 +1,6 @@
 package org.basex.index.resource;
 
+import static org.basex.data.DataText.*;
 import static org.basex.util.Token.*;
 
 import java.io.*;
@@ -7,6 +8,7 @@ import java.io.*;
 import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.data.atomic.*;
+import org.basex.io.*;
 import org.basex.io.in.DataInput;
 import org.basex.io.out.DataOutput;
 import org.basex.util.*;
@@ -17,10 +19,13 @@ import org.basex.util.list.*;
  * <p>This data structure contains references to all document nodes in a
  * database. The document nodes are incrementally updated.</p>
  *
- * <p>If updates are performed, the path order is discarded, as its continuous
- * update would be more expensive in some cases (e.g. when bulk insertions of
- * new documents are performed). A tree structure could be introduced to
- * offer better general performance.</p>
+ * <p>The document paths are sorted when they are requested for the first time.
+ * The path order is then incrementally updated: new paths are merged into the
+ * existing order, and deleted or renamed paths are located via binary search.
+ * When a database is closed, paths and order are written to the file
+ * {@link DataText#DATADOC}, along with the timestamp of the database. If the
+ * timestamp is still valid when the database is reopened, the paths need not be
+ * rebuilt from the document names.</p>
  *
  * @author BaseX Team 2005-12, BSD License
  * @author Christian Gruen
@@ -37,7 +42,13 @@ final class Docs {
   private TokenList pathList;
   /** Ordered path indexes (can be {@code null}).
    * This variable should always be requested via {@link #order()}. */
-  private int[] pathOrder;
+  private IntList pathOrder;
+  /** Timestamp of the sorted paths on disk ({@code 0}: no paths stored). */
+  private long time;
+  /** Index of the first document with a pending pre value shift. */
+  private int sfrom;
+  /** Pending shift of the pre values of all documents from {@link #sfrom} on. */
+  private int shift;
 
   /**
    * Constructor.
@@ -54,6 +65,7 @@ final class Docs {
    */
   synchronized void read(final DataInput in) throws IOException {
     docList = in.readDiffs();
+    shift = 0;
   }
 
   /**
@@ -65,6 +77,28 @@ final class Docs {
     out.writeDiffs(docs());
   }
 
+  /**
+   * Writes the sorted document paths to disk if they have been changed.
+   */
+  synchronized void close() {
+    if(pathOrder == null || time == data.meta.time || data.inMemory()) return;
+    final IOFile file = data.meta.dbfile(DATADOC);
+    try {
+      final DataOutput out = new DataOutput(file);
+      try {
+        out.writeToken(token(data.meta.time));
+        out.writeTokens(pathList.toArray());
+        out.writeNums(pathOrder.toArray());
+      } finally {
+        out.close();
+      }
+      time = data.meta.time;
+    } catch(final IOException ex) {
+      Util.debug(ex);
+      file.delete();
+    }
+  }
+
   /**
    * Initializes the document index. Currently, will only be called if the database is
    * optimized, and the resource index will be rebuilt.
@@ -72,6 +106,9 @@ final class Docs {
   synchronized void init() {
     docList = null;
     pathList = null;
+    pathOrder = null;
+    time = 0;
+    shift = 0;
     docs();
   }
 
@@ -91,6 +128,10 @@ final class Docs {
       data.meta.dirty = true;
       docList = il;
     }
+    if(shift != 0) {
+      docList.move(shift, sfrom);
+      shift = 0;
+    }
     return docList;
   }
 
@@ -99,7 +140,7 @@ final class Docs {
    * @return document paths
    */
   private synchronized TokenList paths() {
-    if(pathList == null) {
+    if(pathList == null && !read()) {
       final IntList docs = docs();
       final int ds = docs.size();
       final TokenList paths = new TokenList(ds);
@@ -115,13 +156,41 @@ final class Docs {
    * Returns the document path order, and initialize the array if necessary.
    * @return path order
    */
-  private synchronized int[] order() {
+  private synchronized IntList order() {
     if(pathOrder == null) {
-      pathOrder = Array.createOrder(paths().toArray(), false, true);
+      pathOrder = new IntList(Array.createOrder(paths().toArray(), false, true));
     }
     return pathOrder;
   }
 
+  /**
+   * Reads the sorted document paths from disk, if they exist and are up-to-date.
+   * @return success flag
+   */
+  private boolean read() {
+    if(data.inMemory()) return false;
+    final IOFile file = data.meta.dbfile(DATADOC);
+    if(!file.exists()) return false;
+    try {
+      final DataInput in = new DataInput(file);
+      try {
+        final long tm = toLong(in.readToken());
+        if(tm != data.meta.time) return false;
+        final byte[][] paths = in.readTokens();
+        if(paths.length != docs().size()) return false;
+        pathList = new TokenList(paths);
+        pathOrder = new IntList(in.readNums());
+        time = tm;
+        return true;
+      } finally {
+        in.close();
+      }
+    } catch(final IOException ex) {
+      Util.debug(ex);
+      return false;
+    }
+  }
+
   /**
    * Adds entries to the index and updates subsequent nodes.
    * @param pre insertion position
@@ -135,11 +204,16 @@ final class Docs {
       if(k == Data.DOC) pres.add(pre + dpre);
       dpre += clip.data.size(dpre, k);
     }
+    if(pres.isEmpty()) {
+      shift(pre, clip.size());
+      return;
+    }
 
     // insert DOC nodes and move pre values of following DOC nodes
     final int[] presA = pres.toArray();
     final IntList docs = docs();
     final TokenList paths = paths();
+    time = 0;
 
     int i = docs.sortedIndexOf(pre);
     if(i < 0) i = -i - 1;
@@ -152,7 +226,28 @@ final class Docs {
       t[j] = normalize(clip.data.text(presA[j] - pre, true));
     }
     paths.insert(i, t);
-    pathOrder = null;
+
+    // merge new paths into path order
+    final IntList po = pathOrder;
+    if(po == null || t.length == 0) return;
+    final int ps = po.size(), ts = t.length;
+    for(int p = 0; p < ps; p++) {
+      final int v = po.get(p);
+      if(v >= i) po.set(p, v + ts);
+    }
+    final int[] old = po.toArray(), order = new int[ps + ts];
+    final int[] to = Array.createOrder(t, false, true);
+    int o = 0, p = 0;
+    for(final int n : to) {
+      // copy all paths that are smaller than or equal to the new path
+      final int f = find(t[n], true), l = f - p;
+      System.arraycopy(old, p, order, o, l);
+      o += l;
+      p = f;
+      order[o++] = i + n;
+    }
+    System.arraycopy(old, p, order, o, ps - p);
+    pathOrder = new IntList(order);
   }
 
   /**
@@ -161,8 +256,14 @@ final class Docs {
    * @param size number of deleted nodes
    */
   void delete(final int pre, final int size) {
+    if(data.kind(pre) != Data.DOC) {
+      shift(pre, -size);
+      return;
+    }
+
     final IntList docs = docs();
     final TokenList paths = paths();
+    time = 0;
 
     int i = docs.sortedIndexOf(pre);
     final boolean found = i >= 0;
@@ -171,8 +272,42 @@ final class Docs {
     docs.move(-size, i);
 
     if(!found) return;
+    final IntList po = pathOrder;
+    if(po != null) {
+      po.deleteAt(position(i));
+      final int ps = po.size();
+      for(int p = 0; p < ps; p++) {
+        final int v = po.get(p);
+        if(v > i) po.set(p, v - 1);
+      }
+    }
     paths.deleteAt(i);
-    pathOrder = null;
+  }
+
+  /**
+   * Moves the pre values of all documents starting from the specified pre value.
+   * The values are moved lazily: as updates are usually performed in descending
+   * order (see {@link AtomicUpdateList}), only the values between the current and
+   * the last position need to be touched, and all remaining values will be moved
+   * when the document index is requested the next time.
+   * @param pre pre value
+   * @param diff difference to be added
+   */
+  private void shift(final int pre, final int diff) {
+    if(docList == null) docs();
+    final IntList docs = docList;
+    int l = 0, h = docs.size() - 1;
+    while(l <= h) {
+      final int m = l + h >>> 1;
+      if(docs.get(m) + (m >= sfrom ? shift : 0) < pre) l = m + 1;
+      else h = m - 1;
+    }
+    if(shift != 0) {
+      for(int d = l; d < sfrom; d++) docs.set(d, docs.get(d) - shift);
+      for(int d = sfrom; d < l; d++) docs.set(d, docs.get(d) + shift);
+    }
+    sfrom = l;
+    shift += diff;
   }
 
   /**
@@ -183,8 +318,14 @@ final class Docs {
   void rename(final int pre, final byte[] value) {
     final IntList docs = docs();
     final TokenList paths = paths();
-    paths.set(docs.sortedIndexOf(pre), normalize(value));
-    pathOrder = null;
+    time = 0;
+    final int i = docs.sortedIndexOf(pre);
+    final byte[] path = normalize(value);
+
+    final IntList po = pathOrder;
+    if(po != null) po.deleteAt(position(i));
+    paths.set(i, path);
+    if(po != null) po.insert(find(path, true), new int[] { i });
   }
 
   /**
@@ -224,13 +365,22 @@ final class Docs {
 
     // relevant paths: exact hits and prefixes
     final IntList il = new IntList();
-    /* could be optimized for future access by sorting the paths first
-     * and then accessing only the relevant paths. Sorting might slow down
-     * bulk operations like insert/delete/replace though. */
     final TokenList paths = paths();
-    for(int p = 0; p < paths.size(); p++) {
-      final byte[] b = paths.get(p);
-      if(eq(b, exct) || !exact && startsWith(b, pref)) il.add(docs.get(p));
+    final IntList po = order();
+    final int ps = po.size();
+    if(exct.length != 0) {
+      for(int p = find(exct, false); p < ps; p++) {
+        final int o = po.get(p);
+        if(!eq(paths.get(o), exct)) break;
+        il.add(docs.get(o));
+      }
+    }
+    if(!exact) {
+      for(int p = find(pref, false); p < ps; p++) {
+        final int o = po.get(p);
+        if(!startsWith(paths.get(o), pref)) break;
+        il.add(docs.get(o));
+      }
     }
     return il.sort();
   }
@@ -257,9 +407,9 @@ final class Docs {
     final int ts = paths.size();
 
     if(sort) {
-      final int[] order = order();
-      final int p = find(exct);
-      return p > -1 && p < ts && eq(paths.get(order[p]), exct) ? docs.get(order[p]) : -1;
+      final IntList po = order();
+      final int p = find(exct, false);
+      return p < ts && eq(paths.get(po.get(p)), exct) ? docs.get(po.get(p)) : -1;
     }
     for(int t = 0; t < ts; t++) {
       if(eq(paths.get(t), exct)) return docs.get(t);
@@ -274,8 +424,9 @@ final class Docs {
    */
   synchronized boolean isDir(final byte[] path) {
     final byte[] pa = concat(path, SLASH);
-    for(final byte[] b : paths()) if(startsWith(b, pa)) return true;
-    return false;
+    final IntList po = order();
+    final int p = find(pa, false);
+    return p < po.size() && startsWith(paths().get(po.get(p)), pa);
   }
 
   /**
@@ -309,30 +460,37 @@ final class Docs {
   }
 
   /**
-   * Returns the first position matching the specified path
-   * (might equal the array size).
-   * @param v value to be found
+   * Returns the first position in the path order with a path that is greater than
+   * or equal to the specified path (might equal the order size).
+   * @param v path to be found
+   * @param after return first position with a greater path
    * @return position
    */
-  private int find(final byte[] v) {
+  private int find(final byte[] v, final boolean after) {
     // binary search
     final TokenList paths = paths();
-    final int[] po = pathOrder;
-    int l = 0, h = po.length - 1;
+    final IntList po = pathOrder;
+    int l = 0, h = po.size() - 1;
     while(l <= h) {
-      int m = l + h >>> 1;
-      final int c = diff(paths.get(po[m]), v);
-      if(c == 0) {
-        // find first entry
-        while(m > 0 && eq(paths.get(po[m - 1]), v)) --m;
-        return m;
-      }
-      if(c < 0) l = m + 1;
+      final int m = l + h >>> 1;
+      final int c = diff(paths.get(po.get(m)), v);
+      if(c < 0 || after && c == 0) l = m + 1;
       else h = m - 1;
     }
     return l;
   }
 
+  /**
+   * Returns the position of the specified path index in the path order.
+   * @param i path index
+   * @return position
+   */
+  private int position(final int i) {
+    int p = find(pathList.get(i), false);
+    while(pathOrder.get(p) != i) p++;
+    return p;
+  }
+
   /**
    * Returns the normalized index path representation for the specified path.
    * @param path input path (without leading slash)
@@ -164,7 +164,9 @@ public final class Resources implements Index {
   // Inherited methods ========================================================
 
   @Override
-  public void close() { }
+  public void close() {
+    docs.close();
+  }
 
   @Override
   public IndexIterator iter(final IndexToken token) {
@@ -85,7 +85,7 @@ public class DiskValues implements Index {
       for(int m = 0; m < s; ++m) {
         final long pos = idxr.read5(m * 5L);
         final int oc = idxl.readNum(pos);
-        if(stats.adding(oc)) stats.add(data.text(pre(idxl.readNum()), text));
+        if(stats.adding(oc)) stats.add(key(m, idxl.readNum()));
       }
     }
 
@@ -105,8 +105,9 @@ public class DiskValues implements Index {
   public IndexIterator iter(final IndexToken it) {
     if(it instanceof StringRange) return idRange((StringRange) it);
     if(it instanceof NumericRange) return idRange((NumericRange) it);
-    final IndexEntry e = entry(it.get());
-    return iter(e.size, e.pointer);
+    final byte[] key = it.get();
+    final IndexEntry e = entry(key);
+    return iter(e.size, e.pointer, key);
   }
 
   /**
@@ -288,26 +289,52 @@ public class DiskValues implements Index {
     return cache.add(key, cnt, pos + Num.length(cnt));
   }
 
+  /**
+   * Returns the key of the index entry at the specified position.
+   * <p><em>Important:</em> This method is NOT thread-safe.</p>
+   * @param index key position
+   * @param id first id of the entry
+   * @return key
+   */
+  private byte[] key(final int index, final int id) {
+    final byte[] key = ctext.get(index);
+    return key != null ? key : data.text(pre(id), text);
+  }
+
   /**
    * Iterator method.
    * <p><em>Important:</em> This method is thread-safe.</p>
    * @param s number of values
    * @param ps offset
+   * @param key key of the entry
    * @return iterator
    */
-  private IndexIterator iter(final int s, final long ps) {
+  private IndexIterator iter(final int s, final long ps, final byte[] key) {
     final IntList pres = new IntList(s);
-    long p = ps;
     synchronized(monitor) {
-      for(int i = 0, id = 0; i < s; i++) {
-        id += idxl.readNum(p);
-        p = idxl.cursor();
-        pres.add(pre(id));
-      }
+      if(s > 0) add(pres, s, idxl.readNum(ps), deleted(key));
     }
     return iter(pres.sort());
   }
 
+  /**
+   * Adds the pre values of an index entry. The ids following the first id are
+   * read from the current cursor position.
+   * <p><em>Important:</em> This method is NOT thread-safe.</p>
+   * @param pres pre values
+   * @param s number of ids
+   * @param id first id
+   * @param del sorted ids to be skipped (can be {@code null})
+   */
+  private void add(final IntList pres, final int s, final int id, final IntList del) {
+    final int ds = del == null ? 0 : del.size();
+    for(int i = 0, d = 0, c = id; i < s; i++) {
+      if(i != 0) c += idxl.readNum();
+      while(d < ds && del.get(d) < c) d++;
+      if(d == ds || del.get(d) != c) pres.add(pre(c));
+    }
+  }
+
   /**
    * Performs a string-based range query.
    * <p><em>Important:</em> This method is thread-safe.</p>
@@ -322,17 +349,14 @@ public class DiskValues implements Index {
       final int s = size.get();
       for(int l = i < 0 ? -i - 1 : tok.mni ? i : i + 1; l < s; l++) {
         final int ps = idxl.readNum(idxr.read5(l * 5L));
-        int id = idxl.readNum();
-        final int pre = pre(id);
+        final int id = idxl.readNum();
+        final byte[] key = key(l, id);
 
         // value is too large: skip traversal
-        final int d = diff(data.text(pre, text), tok.max);
+        final int d = diff(key, tok.max);
         if(d > 0 || !tok.mxi && d == 0) break;
         // add pre values
-        for(int p = 0; p < ps; ++p) {
-          pres.add(pre(id));
-          id += idxl.readNum();
-        }
+        add(pres, ps, id, deleted(key));
       }
     }
     return iter(pres.sort());
@@ -358,17 +382,17 @@ public class DiskValues implements Index {
       final int s = size.get();
       for(int l = 0; l < s; ++l) {
         final int ds = idxl.readNum(idxr.read5(l * 5L));
-        int id = idxl.readNum();
-        final int pre = pre(id);
+        final int id = idxl.readNum();
+        // cached keys are used, as the first id may have been deleted
+        final byte[] key = ctext.get(l);
+        final int pre = key == null ? pre(id) : -1;
 
-        final double v = data.textDbl(pre, text);
+        final double v = key == null ? data.textDbl(pre, text) : toDouble(key);
         if(v >= min && v <= max) {
           // value is in range
-          for(int d = 0; d < ds; ++d) {
-            pres.add(pre(id));
-            id += idxl.readNum();
-          }
-        } else if(simple && v > max && data.textLen(pre, text) == len) {
+          add(pres, ds, id, key == null ? null : deleted(key));
+        } else if(simple && v > max &&
+            (key == null ? data.textLen(pre, text) : key.length) == len) {
           // if limits are integers, if min, max and current value have the same
           // string length, and if current value is larger than max, test can be
           // skipped, as all remaining values will be bigger
@@ -415,6 +439,18 @@ public class DiskValues implements Index {
     return id;
   }
 
+  /**
+   * Returns the sorted ids that have been deleted from the specified index entry,
+   * but are still referenced by the index structure.
+   * <p><em>Important:</em> This method is NOT thread-safe.</p>
+   * @param key key of the entry
+   * @return ids, or {@code null}
+   */
+  @SuppressWarnings("unused")
+  protected IntList deleted(final byte[] key) {
+    return null;
+  }
+
   /**
    * Binary search for key in the {@link #idxr}.
    * <p><em>Important:</em> This method is thread-safe.</p>
@@ -1,22 +1,56 @@
 package org.basex.index.value;
 
 import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
 
 import java.io.*;
 
 import org.basex.data.*;
+import org.basex.index.*;
+import org.basex.index.query.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.*;
+import org.basex.io.out.DataOutput;
 import org.basex.util.*;
 import org.basex.util.hash.*;
 import org.basex.util.list.*;
 
 /**
- * This class provides access to attribute values and text contents stored on
- * disk. The data structure is described in the {@link ValueIndexBuilder} class.
+ * <p>This class provides access to attribute values and text contents stored on
+ * disk. The data structure is described in the {@link ValueIndexBuilder} class.</p>
+ *
+ * <p>Updates are not written to the index structure in place. Instead, all added
+ * and deleted ids are collected in a delta, which is merged with the results of the
+ * index structure at query time. As soon as the delta exceeds {@link #MERGE} ids,
+ * it is merged into the index structure in a single pass. Until then, all changes
+ * are appended to the log file {@code DATATXT/ATV + 'd'}, which is replayed when
+ * the index is opened.</p>
+ *
+ * <p>Keys of the index structure are found by following the first id of their
+ * entries. As these ids may have been deleted, the keys of all entries with
+ * changes are cached.</p>
  *
  * @author BaseX Team 2005-12, BSD License
  * @author Christian Gruen
  */
 public final class UpdatableDiskValues extends DiskValues {
+  /** Maximum number of changed ids before the delta is merged. */
+  private static final int MERGE = 1 << 16;
+
+  /** Changed entries. */
+  private final TokenObjMap<Delta> deltas = new TokenObjMap<Delta>();
+  /** Changes that have not been written to the log file yet. */
+  private final ArrayOutput changes = new ArrayOutput();
+  /** Output stream for the changes. */
+  private final DataOutput log = new DataOutput(changes);
+  /** Log file. */
+  private final IOFile file;
+  /** Number of changed ids. */
+  private int ops;
+  /** Indicates if the delta has been merged since the last flush. */
+  private boolean merged;
+
   /**
    * Constructor, initializing the index structure.
    * @param d data reference
@@ -37,6 +71,28 @@ public final class UpdatableDiskValues extends DiskValues {
   private UpdatableDiskValues(final Data d, final boolean txt, final String pref)
       throws IOException {
     super(d, txt, pref);
+    file = d.meta.dbfile(pref + 'd');
+    if(file.exists()) read();
+  }
+
+  /**
+   * Replays the log file.
+   * @throws IOException I/O Exception
+   */
+  private void read() throws IOException {
+    final DataInput in = new DataInput(file);
+    try {
+      while(in.size() < in.length()) {
+        final boolean add = in.readBool();
+        final byte[] key = in.readToken();
+        final int pos = in.readNum() - 1;
+        Delta d = deltas.get(key);
+        if(d == null) d = delta(key, pos);
+        update(d, add, in.readNums());
+      }
+    } finally {
+      in.close();
+    }
   }
 
   @Override
@@ -45,238 +101,388 @@ public final class UpdatableDiskValues extends DiskValues {
   }
 
   @Override
-  public synchronized void flush() {
-    idxl.write4(0, size.get());
-    super.flush();
+  public int count(final IndexToken it) {
+    if(deltas.isEmpty()) return super.count(it);
+    if(it instanceof StringRange || it instanceof NumericRange) return iter(it).size();
+
+    final int c = super.count(it);
+    if(c == Integer.MAX_VALUE) return c;
+    synchronized(monitor) {
+      final Delta d = deltas.get(it.get());
+      return d == null ? c : c + d.adds().size() - d.dels().size();
+    }
   }
 
   @Override
-  public synchronized void index(final TokenObjMap<IntList> m) {
-    final int s = size.get();
-    final int last = s - 1;
-
-    // create a sorted list of all keys: allows faster binary search
-    final TokenList allkeys = new TokenList(m).sort(true);
-
-    // create a sorted list of the new keys and update the old keys
-    final TokenList nkeys = new TokenList(m.size());
-    int p = 0;
-    for(final byte[] key : allkeys) {
-      p = get(key, p, last);
-      if(p < 0) {
-        p = -(p + 1);
-        nkeys.add(key);
+  public IndexIterator iter(final IndexToken it) {
+    final IndexIterator ii = super.iter(it);
+    if(deltas.isEmpty()) return ii;
+
+    // add the ids of all matching keys of the delta
+    final IntList pres = new IntList(ii.size());
+    while(ii.more()) pres.add(ii.next());
+    synchronized(monitor) {
+      if(it instanceof StringRange || it instanceof NumericRange) {
+        for(final byte[] key : deltas) {
+          if(matches(it, key)) add(pres, deltas.get(key));
+        }
       } else {
-        appendIds(p, key, diffs(m.get(key)));
+        final Delta d = deltas.get(it.get());
+        if(d != null) add(pres, d);
       }
     }
+    return iter(pres.sort());
+  }
 
-    // insert new keys, starting from the biggest one
-    for(int j = nkeys.size() - 1, i = last, pos = s + j; j >= 0; --j) {
-      final byte[] key = nkeys.get(j);
+  /**
+   * Adds the pre values of the added ids of an entry.
+   * @param pres pre values
+   * @param d changed entry
+   */
+  private void add(final IntList pres, final Delta d) {
+    final IntList adds = d.adds();
+    final int as = adds.size();
+    for(int a = 0; a < as; a++) pres.add(pre(adds.get(a)));
+  }
 
-      final int ins = -(1 + get(key, 0, i));
-      if(ins < 0) throw new IllegalStateException("Key should not exist");
+  /**
+   * Checks if the specified key matches a range query.
+   * @param it index token
+   * @param key key
+   * @return result of check
+   */
+  private static boolean matches(final IndexToken it, final byte[] key) {
+    if(it instanceof StringRange) {
+      final StringRange sr = (StringRange) it;
+      final int mn = diff(key, sr.min), mx = diff(key, sr.max);
+      return (mn > 0 || sr.mni && mn == 0) && (mx < 0 || sr.mxi && mx == 0);
+    }
+    final NumericRange nr = (NumericRange) it;
+    final double v = toDouble(key);
+    return v >= nr.min && v <= nr.max;
+  }
 
-      // shift all bigger keys to the right
-      while(i >= ins) {
-        idxr.write5(pos * 5L, idxr.read5(i * 5L));
-        ctext.put(pos--, ctext.get(i--));
+  @Override
+  public EntryIterator entries(final IndexEntries input) {
+    if(deltas.isEmpty()) return super.entries(input);
+
+    final TokenList keys = new TokenList();
+    final IntList counts = new IntList();
+    synchronized(monitor) {
+      // sort the keys of the delta that do not exist in the index structure
+      final byte[] tok = input.get();
+      final TokenList nkeys = new TokenList();
+      for(final byte[] key : deltas) {
+        if(deltas.get(key).pos != -1) continue;
+        final int d = diff(key, tok);
+        if(tok.length == 0 || (input.prefix ? startsWith(key, tok) :
+          input.descending ? d < 0 : d >= 0)) nkeys.add(key);
+      }
+      nkeys.sort(true);
+      final int ns = nkeys.size();
+
+      // merge them with the adjusted entries of the index structure
+      final EntryIterator ei = super.entries(input);
+      int n = input.descending ? ns - 1 : 0;
+      for(byte[] key; (key = ei.next()) != null;) {
+        final int c = ei.count();
+        for(; n >= 0 && n < ns; n += input.descending ? -1 : 1) {
+          final int d = diff(nkeys.get(n), key);
+          if(input.descending ? d < 0 : d > 0) break;
+          add(keys, counts, nkeys.get(n));
+        }
+        final Delta dl = deltas.get(key);
+        if(dl == null) {
+          keys.add(key);
+          counts.add(c);
+        } else {
+          final int s = c + dl.adds().size() - dl.dels().size();
+          if(s > 0) {
+            keys.add(key);
+            counts.add(s);
+          }
+        }
+      }
+      for(; n >= 0 && n < ns; n += input.descending ? -1 : 1) {
+        add(keys, counts, nkeys.get(n));
       }
-
-      // add the new key and its ids
-      idxr.write5(pos * 5L, idxl.appendNums(diffs(m.get(key))));
-      ctext.put(pos--, key);
-      // [DP] should the entry be added to the cache?
     }
 
-    size.set(s + nkeys.size());
+    return new EntryIterator() {
+      final int s = keys.size();
+      int ix = -1;
+
+      @Override
+      public byte[] next() {
+        return ++ix < s ? keys.get(ix) : null;
+      }
+
+      @Override
+      public int count() {
+        return ix < s ? counts.get(ix) : -1;
+      }
+    };
   }
 
   /**
-   * Add record ids to an index entry.
-   * @param ix index of the key
+   * Adds a key of the delta and the number of its ids if it is not empty.
+   * @param keys keys
+   * @param counts number of ids
    * @param key key
-   * @param nids sorted list of record ids to add: the first value is the
-   * smallest id and all others are only difference to the previous one
    */
-  private void appendIds(final int ix, final byte[] key, final int[] nids) {
-    final long oldpos = idxr.read5(ix * 5L);
-    final int numold = idxl.readNum(oldpos);
-    final int[] ids = new int[numold + nids.length];
-
-    // read the old ids
-    for(int i = 0; i < numold; ++i) {
-      final int v = idxl.readNum();
-      nids[0] -= v; // adjust the first new id
-      ids[i] = v;
+  private void add(final TokenList keys, final IntList counts, final byte[] key) {
+    final int s = deltas.get(key).adds().size();
+    if(s > 0) {
+      keys.add(key);
+      counts.add(s);
     }
+  }
 
-    // append the new ids - they are bigger than the old ones
-    System.arraycopy(nids, 0, ids, numold, nids.length);
+  @Override
+  protected IntList deleted(final byte[] key) {
+    final Delta d = deltas.get(key);
+    return d == null ? null : d.dels();
+  }
 
-    final long newpos = idxl.appendNums(ids);
-    idxr.write5(ix * 5L, newpos);
+  @Override
+  public synchronized void flush() {
+    try {
+      if(merged) {
+        file.delete();
+        merged = false;
+      }
+      if(changes.size() != 0) {
+        final FileOutputStream fos = new FileOutputStream(file.file(), true);
+        try {
+          fos.write(changes.buffer(), 0, (int) changes.size());
+        } finally {
+          fos.close();
+        }
+        changes.reset();
+      }
+    } catch(final IOException ex) {
+      Util.stack(ex);
+    }
+    idxl.write4(0, size.get());
+    super.flush();
+  }
 
-    // update the cache entry
-    cache.add(key, ids.length, newpos + Num.length(ids.length));
+  @Override
+  public synchronized void index(final TokenObjMap<IntList> m) {
+    for(final byte[] key : m) update(true, key, m.get(key).toArray());
+    if(ops > MERGE) merge();
   }
 
   @Override
   public synchronized void delete(final TokenObjMap<IntList> m) {
-    // create a sorted list of all keys: allows faster binary search
-    final TokenList allkeys = new TokenList(m).sort(true);
-
-    // delete ids and create a list of the key positions which should be deleted
-    final IntList empty = new IntList(m.size());
-    int p = 0;
-    final int s = size.get() - 1;
-    for(final byte[] key : allkeys) {
-      p = get(key, p, s);
-      if(p < 0) p = -(p + 1); // should not occur, but anyway
-      else if(deleteIds(p, key, m.get(key).sort().toArray()) == 0) empty.add(p);
-    }
+    for(final byte[] key : m) update(false, key, m.get(key).toArray());
+    if(ops > MERGE) merge();
+  }
 
-    // empty should contain sorted keys, since allkeys was sorted, too
-    if(!empty.isEmpty()) deleteKeys(empty.toArray());
+  @Override
+  public synchronized void replace(final byte[] o, final byte[] n, final int id) {
+    final int[] ids = { id };
+    final int max = data.meta.maxlen;
+    if(o.length <= max) update(false, o, ids);
+    if(n.length <= max) update(true, n, ids);
+    if(ops > MERGE) merge();
   }
 
   /**
-   * Remove record ids from the index.
-   * @param ix index of the key
-   * @param key record key
-   * @param ids list of record ids to delete
-   * @return number of remaining records
+   * Adds or deletes ids of the specified key and logs the change.
+   * @param add add or delete ids
+   * @param key key
+   * @param ids ids
    */
-  private int deleteIds(final int ix, final byte[] key, final int[] ids) {
-    final long pos = idxr.read5(ix * 5L);
-    final int numold = idxl.readNum(pos);
-
-    if(numold == ids.length) {
-      // all ids should be detected: the key itself will be deleted, too
-      cache.delete(key);
-      return 0;
+  private void update(final boolean add, final byte[] key, final int[] ids) {
+    Delta d = deltas.get(key);
+    if(d == null) {
+      final int p = get(key);
+      d = delta(key, p < 0 ? -1 : p);
     }
-
-    // read each id from the list and skip the ones which should be deleted
-    // collect remaining values
-    final int[] nids = new int[numold - ids.length];
-    for(int i = 0, j = 0, cid = 0, pid = 0; i < nids.length;) {
-      cid += idxl.readNum();
-      if(j < ids.length && ids[j] == cid) ++j;
-      else {
-        nids[i++] = cid - pid;
-        pid = cid;
-      }
+    update(d, add, ids);
+    try {
+      log.writeBool(add);
+      log.writeToken(key);
+      log.writeNum(d.pos + 1);
+      log.writeNums(ids);
+    } catch(final IOException ex) {
+      throw Util.notexpected(ex);
     }
-
-    idxl.writeNums(pos, nids);
-
-    // update the cache entry
-    cache.add(key, nids.length, pos + Num.length(nids.length));
-
-    return nids.length;
   }
 
   /**
-   * Delete keys from the index.
-   * @param keys list of key positions to delete
+   * Creates a new entry of the delta. If the key exists in the index structure,
+   * it will be cached.
+   * @param key key
+   * @param pos position of the key in the index structure, or {@code -1}
+   * @return changed entry
    */
-  private void deleteKeys(final int[] keys) {
-    // shift all keys to the left, skipping the ones which have to be deleted
-    int j = 0;
-    final int s = size.get();
-    for(int pos = keys[j++], i = pos + 1; i < s; ++i) {
-      if(j < keys.length && i == keys[j]) ++j;
-      else {
-        idxr.write5(pos * 5L, idxr.read5(i * 5L));
-        ctext.put(pos++, ctext.get(i));
-      }
-    }
-    // reduce the size of the index
-    size.set(s - j);
+  private Delta delta(final byte[] key, final int pos) {
+    final Delta d = new Delta(pos);
+    if(pos != -1) ctext.put(pos, key);
+    deltas.put(key, d);
+    return d;
   }
 
-  @Override
-  public synchronized void replace(final byte[] o, final byte[] n, final int id) {
-    // delete the id from the old key
-    final int p = get(o);
-    if(p >= 0) {
-      final int[] tmp = new int[] { id};
-      if(deleteIds(p, o, tmp) == 0) {
-        // the old key remains empty: delete it
-        cache.delete(o);
-        tmp[0] = p;
-        deleteKeys(tmp);
-      }
-    }
-    // add the id to the new key
-    insertId(n, id);
+  /**
+   * Adds or deletes ids of the specified entry.
+   * @param d changed entry
+   * @param add add or delete ids
+   * @param ids ids
+   */
+  private void update(final Delta d, final boolean add, final int[] ids) {
+    final IntList list = add ? d.adds : d.dels;
+    for(final int id : ids) list.add(id);
+    d.normalized = false;
+    ops += ids.length;
   }
 
   /**
-   * Add a text entry to the index.
-   * @param key text to index
-   * @param id id value
+   * Merges the delta into the index structure. All changed id lists are appended
+   * to the id file, and the references are rewritten in a single pass.
    */
-  private void insertId(final byte[] key, final int id) {
-    int ix = get(key);
-    if(ix < 0) {
-      ix = -(ix + 1);
-
-      // shift all entries with bigger keys to the right
-      final int s = size.get();
-      for(int i = s; i > ix; --i)
-        idxr.write5(i * 5L, idxr.read5((i - 1) * 5L));
-
-      // add the key and the id
-      idxr.write5(ix * 5L, idxl.appendNums(new int[] { id}));
-      ctext.put(ix, key);
-      // [DP] should the entry be added to the cache?
-
-      size.set(s + 1);
-    } else {
-      // add id to the list of ids in the index node
-      final long pos = idxr.read5(ix * 5L);
-      final int num = idxl.readNum(pos);
-
-      final int[] ids = new int[num + 1];
-      boolean notadded = true;
-      int cid = 0;
-      for(int i = 0, j = -1; i < num; ++i) {
-        int v = idxl.readNum();
-
-        if(notadded && id < cid + v) {
-          // add the new id
-          ids[++j] = id - cid;
-          notadded = false;
-          // decrement the difference to the next id
-          v -= id - cid;
-          cid = id;
+  private void merge() {
+    final TokenList keys = new TokenList(deltas).sort(true);
+    final int ks = keys.size(), s = size.get();
+
+    // find the insertion points of new keys (all changed keys are still cached)
+    final int[] ps = new int[ks];
+    for(int k = 0; k < ks; k++) {
+      final int p = deltas.get(keys.get(k)).pos;
+      ps[k] = p != -1 ? p : -(get(keys.get(k)) + 1);
+    }
+    final long[] refs = new long[s];
+    for(int l = 0; l < s; l++) refs[l] = idxr.read5(l * 5L);
+
+    ctext.clear();
+    int o = 0;
+    for(int l = 0, k = 0; l < s || k < ks;) {
+      if((k < ks ? ps[k] : s) > l) {
+        // unchanged entry
+        idxr.write5(o++ * 5L, refs[l++]);
+      } else {
+        final byte[] key = keys.get(k++);
+        final Delta d = deltas.get(key);
+        final int[] ids = ids(d.pos != -1 ? refs[l++] : -1, d);
+        if(ids.length == 0) {
+          cache.delete(key);
+        } else {
+          final long ref = idxl.appendNums(diffs(ids));
+          idxr.write5(o * 5L, ref);
+          ctext.put(o++, key);
+          cache.add(key, ids.length, ref + Num.length(ids.length));
         }
-
-        ids[++j] = v;
-        cid += v;
       }
+    }
+    size.set(o);
 
-      if(notadded) ids[ids.length - 1] = id - cid;
-
-      final long newpos = idxl.appendNums(ids);
-      idxr.write5(ix * 5L, newpos);
+    deltas.clear();
+    changes.reset();
+    ops = 0;
+    merged = true;
+  }
 
-      // update the cache entry
-      cache.add(key, ids.length, newpos + Num.length(ids.length));
+  /**
+   * Returns the sorted ids of a changed entry.
+   * @param ref reference to the ids in the index structure, or {@code -1}
+   * @param d changed entry
+   * @return ids
+   */
+  private int[] ids(final long ref, final Delta d) {
+    final IntList adds = d.adds(), dels = d.dels();
+    final int as = adds.size(), ds = dels.size();
+    final int s = ref == -1 ? 0 : idxl.readNum(ref);
+    final IntList ids = new IntList(s + as);
+    int a = 0, dl = 0;
+    for(int i = 0, id = 0; i < s; i++) {
+      id += idxl.readNum();
+      while(a < as && adds.get(a) < id) ids.add(adds.get(a++));
+      while(dl < ds && dels.get(dl) < id) dl++;
+      if(dl < ds && dels.get(dl) == id) dl++;
+      else ids.add(id);
     }
+    while(a < as) ids.add(adds.get(a++));
+    return ids.toArray();
   }
 
   /**
-   * Sort and calculate the differences between a list of ids.
+   * Calculates the differences between a sorted list of ids.
    * @param ids id list
    * @return differences
    */
-  private static int[] diffs(final IntList ids) {
-    final int[] a = ids.sort().toArray();
+  private static int[] diffs(final int[] ids) {
+    final int[] a = ids.clone();
     for(int l = a.length - 1; l > 0; --l) a[l] -= a[l - 1];
     return a;
   }
+
+  /**
+   * Changes of a single index entry.
+   */
+  private static final class Delta {
+    /** Position of the key in the index structure, or {@code -1}. */
+    final int pos;
+    /** Added ids. */
+    final IntList adds = new IntList(1);
+    /** Deleted ids. */
+    final IntList dels = new IntList(1);
+    /** Indicates if the ids are sorted and if no id is both added and deleted. */
+    boolean normalized;
+
+    /**
+     * Constructor.
+     * @param p position of the key in the index structure, or {@code -1}
+     */
+    Delta(final int p) {
+      pos = p;
+    }
+
+    /**
+     * Returns the sorted added ids.
+     * @return ids
+     */
+    IntList adds() {
+      normalize();
+      return adds;
+    }
+
+    /**
+     * Returns the sorted deleted ids.
+     * @return ids
+     */
+    IntList dels() {
+      normalize();
+      return dels;
+    }
+
+    /**
+     * Sorts the ids and removes ids that have been both added and deleted.
+     */
+    private void normalize() {
+      if(normalized) return;
+      adds.sort();
+      dels.sort();
+      final int as = adds.size(), ds = dels.size();
+      int a = 0, d = 0, na = 0, nd = 0;
+      while(a < as && d < ds) {
+        final int ai = adds.get(a), di = dels.get(d);
+        if(ai == di) {
+          a++;
+          d++;
+        } else if(ai < di) {
+          adds.set(na++, ai);
+          a++;
+        } else {
+          dels.set(nd++, di);
+          d++;
+        }
+      }
+      while(a < as) adds.set(na++, adds.get(a++));
+      while(d < ds) dels.set(nd++, dels.get(d++));
+      adds.size(na);
+      dels.size(nd);
+      normalized = true;
+    }
+  }
 }
@@ -56,6 +56,11 @@ public final class NewlineInput extends TextInput {
     return '\n';
   }
 
+  @Override
+  int copy(final TokenBuilder tb, final boolean[] delim) {
+    return next == -2 ? super.copy(tb, delim) : 0;
+  }
+
   /**
    * Reads and returns a single line.
    * @return line, or {@code null}
@@ -123,6 +123,29 @@ public class TextInput extends BufferInput {
     return ch;
   }
 
+  /**
+   * Copies ASCII characters from the buffer to the specified token builder, until
+   * a delimiter or a non-ASCII character is found, or until the end of the buffer has
+   * been reached. Characters will only be copied if the input is UTF-8 encoded.
+   * @param tb token builder
+   * @param delim delimiters (table with 128 entries)
+   * @return number of copied characters
+   */
+  int copy(final TokenBuilder tb, final boolean[] delim) {
+    if(!(decoder instanceof TextDecoder.UTF8)) return 0;
+
+    final byte[] buf = buffer;
+    final int s = bpos, e = bsize;
+    int b = s;
+    // bytes larger than 0x7F are negative
+    for(int ch; b < e && (ch = buf[b]) >= 0 && !delim[ch]; b++);
+    if(b != s) {
+      tb.add(buf, s, b);
+      bpos = b;
+    }
+    return b - s;
+  }
+
   @Override
   public final byte[] content() throws IOException {
     return cache().finish();
@@ -72,6 +72,45 @@ public class XMLInput extends InputStream {
     return ch;
   }
 
+  /**
+   * Returns a table with characters that will not be copied by
+   * {@link #copy(TokenBuilder, boolean[])}. Apart from the specified characters,
+   * it contains all control characters except tabs and newlines, as carriage
+   * returns need to be normalized and all other characters need to be validated.
+   * @param chars delimiters
+   * @return table
+   */
+  public static boolean[] delimiters(final char... chars) {
+    final boolean[] delim = new boolean[0x80];
+    for(int c = 0; c < 0x20; c++) delim[c] = c != '\t' && c != '\n';
+    for(final char c : chars) delim[c] = true;
+    return delim;
+  }
+
+  /**
+   * Copies a run of ASCII characters to the specified token builder, until a
+   * delimiter or a non-ASCII character is found. This method can be called to
+   * speed up the parsing of UTF-8 input; it will do nothing if characters have been
+   * pushed back, if entities are being parsed, or if the input has another encoding.
+   * @param tb token builder
+   * @param delim delimiters, created by {@link #delimiters}
+   * @return number of copied characters
+   */
+  public int copy(final TokenBuilder tb, final boolean[] delim) {
+    if(pp != 0 || ip != 0) return 0;
+    final int n = inputs[0].copy(tb, delim);
+    if(n != 0) {
+      // count lines, and cache most recent characters
+      final int ts = tb.size();
+      for(int t = ts - n; t < ts; t++) if(tb.get(t) == '\n') ++line;
+      for(int t = Math.max(ts - n, ts - last.length); t < ts; t++) {
+        last[lp++] = tb.get(t);
+        lp &= 0x0F;
+      }
+    }
+    return n;
+  }
+
   /**
    * Inserts some bytes in the input stream.
    * @param val values to insert
@@ -32,7 +32,8 @@ public final class TableDiskAccess extends TableAccess {
   /** File lock. */
   private FileLock fl;
 
-  /** FirstPre values (sorted ascending; length: {@link #blocks}). */
+  /** FirstPre values (sorted ascending; length: {@link #blocks}).
+   * This array should always be accessed via {@link #fpre(int)}. */
   private int[] fpres;
   /** Page index (length: {@link #blocks}). */
   private int[] pages;
@@ -49,6 +50,11 @@ public final class TableDiskAccess extends TableAccess {
   /** Number of used blocks. */
   private int used;
 
+  /** Index of the first block with a pending shift of its firstPre value. */
+  private int sfrom;
+  /** Pending shift of the firstPre values of all blocks from {@link #sfrom} on. */
+  private int shift;
+
   /**
    * Constructor.
    * @param md meta data
@@ -115,6 +121,10 @@ public final class TableDiskAccess extends TableAccess {
     for(final Buffer b : bm.all()) if(b.dirty) writeBlock(b);
     if(!dirty) return;
 
+    // apply pending shifts
+    pending(used);
+    shift = 0;
+
     final DataOutput out = new DataOutput(meta.dbfile(DATATBL + 'i'));
     out.writeNum(blocks);
     out.writeNum(used);
@@ -291,8 +301,7 @@ public final class TableDiskAccess extends TableAccess {
         // mark the block as empty
         freePages.clear(pages[page]);
 
-        Array.move(fpres, page + 1, -1, used - page - 1);
-        Array.move(pages, page + 1, -1, used - page - 1);
+        move(page + 1, -1);
 
         --used;
         readPage(page);
@@ -330,14 +339,13 @@ public final class TableDiskAccess extends TableAccess {
 
     // now remove them from the index
     if(unused > 0) {
-      Array.move(fpres, page, -unused, used - page);
-      Array.move(pages, page, -unused, used - page);
+      move(page, -unused);
       used -= unused;
       page -= unused;
     }
 
     // update index entry for this block
-    fpres[page] = pre;
+    fpre(page, pre);
     fpre = pre;
     updatePre(nr);
   }
@@ -354,6 +362,9 @@ public final class TableDiskAccess extends TableAccess {
     int split = 0;
     if(used == 0) {
       // special case: insert new data into first block if database is empty
+      fpres[0] = 0;
+      sfrom = 0;
+      shift = 0;
       readPage(0);
       freePages.set(0);
       ++used;
@@ -379,7 +390,7 @@ public final class TableDiskAccess extends TableAccess {
       bf.dirty = true;
 
       // increment first pre-values of blocks after the last modified block
-      for(int i = page + 1; i < used; ++i) fpres[i] += nr;
+      shift(page + 1, nr);
       // update cached variables (fpre is not changed)
       npre += nr;
       meta.size += nr;
@@ -439,26 +450,24 @@ public final class TableDiskAccess extends TableAccess {
     }
 
     // make place for the blocks where the new entries will be written
-    Array.move(fpres, page + 1, needed, used - page - 1);
-    Array.move(pages, page + 1, needed, used - page - 1);
+    move(page + 1, needed);
 
     // write the all remaining entries
     while(needed-- > 0) {
       freeBlock();
       nrem += write(all, nrem);
-      fpres[page] = fpres[page - 1] + IO.ENTRIES;
+      fpre(page, fpre(page - 1) + IO.ENTRIES);
       pages[page] = (int) bm.current().pos;
     }
 
     // increment all fpre values after the last modified block
-    for(int i = page + 1; i < used; ++i) fpres[i] += nr;
+    shift(page + 1, nr);
 
     meta.size += nr;
 
     // update cached variables
-    fpre = fpres[page];
-    npre = page + 1 < used && fpres[page + 1] < meta.size ?
-        fpres[page + 1] : meta.size;
+    fpre = fpre(page);
+    npre = page + 1 < used && fpre(page + 1) < meta.size ? fpre(page + 1) : meta.size;
   }
 
   // PRIVATE METHODS ==========================================================
@@ -482,8 +491,8 @@ public final class TableDiskAccess extends TableAccess {
         else if(pre >= np) l = m + 1;
         else break;
         m = h + l >>> 1;
-        fp = fpres[m];
-        np = m == last ? meta.size : fpres[m + 1];
+        fp = fpre(m);
+        np = m == last ? meta.size : fpre(m + 1);
       }
       if(l > h) Util.notexpected(
           "Data Access out of bounds:" +
@@ -502,8 +511,8 @@ public final class TableDiskAccess extends TableAccess {
    */
   private void setPage(final int p) {
     page = p;
-    fpre = fpres[p];
-    npre = p + 1 >= used ? meta.size : fpres[p + 1];
+    fpre = fpre(p);
+    npre = p + 1 >= used ? meta.size : fpre(p + 1);
   }
 
   /**
@@ -565,10 +574,68 @@ public final class TableDiskAccess extends TableAccess {
    */
   private void updatePre(final int nr) {
     // update index entries for all following blocks and reduce counter
-    for(int i = page + 1; i < used; ++i) fpres[i] -= nr;
+    shift(page + 1, -nr);
     meta.size -= nr;
-    npre = page + 1 < used && fpres[page + 1] < meta.size ? fpres[page + 1] :
-      meta.size;
+    npre = page + 1 < used && fpre(page + 1) < meta.size ? fpre(page + 1) : meta.size;
+  }
+
+  /**
+   * Returns the firstPre value of the specified block.
+   * @param b index of the block
+   * @return firstPre value
+   */
+  private int fpre(final int b) {
+    return b >= sfrom ? fpres[b] + shift : fpres[b];
+  }
+
+  /**
+   * Assigns the firstPre value of the specified block.
+   * @param b index of the block
+   * @param v firstPre value
+   */
+  private void fpre(final int b, final int v) {
+    fpres[b] = b >= sfrom ? v - shift : v;
+  }
+
+  /**
+   * Adds a value to the firstPre values of all blocks starting from the specified
+   * block. The values are updated lazily: as updates are usually performed in
+   * descending order (see {@link org.basex.data.atomic.AtomicUpdateList}), only the
+   * blocks between the current and the last position need to be touched, and the
+   * total number of operations for all updates will not exceed the number of blocks.
+   * @param b index of the first block
+   * @param nr value to be added
+   */
+  private void shift(final int b, final int nr) {
+    pending(b);
+    shift += nr;
+  }
+
+  /**
+   * Moves the start of the pending shift to the specified block.
+   * All allocated directory entries are updated, as blocks beyond the used ones
+   * will be reassigned by subsequent operations.
+   * @param b index of the block
+   */
+  private void pending(final int b) {
+    if(shift != 0) {
+      final int l = fpres.length;
+      for(int i = b, e = Math.min(sfrom, l); i < e; i++) fpres[i] -= shift;
+      for(int i = sfrom, e = Math.min(b, l); i < e; i++) fpres[i] += shift;
+    }
+    sfrom = b;
+  }
+
+  /**
+   * Moves the directory entries of all blocks starting from the specified block.
+   * @param b index of the first block
+   * @param nr number of positions to move
+   */
+  private void move(final int b, final int nr) {
+    pending(b);
+    Array.move(fpres, b, nr, used - b);
+    Array.move(pages, b, nr, used - b);
+    sfrom = b + nr;
   }
 
   /**
@@ -607,6 +674,6 @@ public final class TableDiskAccess extends TableAccess {
    * @return occupied space in number of records
    */
   private int occSpace(final int i) {
-    return (i + 1 < used ? fpres[i + 1] : meta.size) - fpres[i];
+    return (i + 1 < used ? fpre(i + 1) : meta.size) - fpre(i);
   }
 }
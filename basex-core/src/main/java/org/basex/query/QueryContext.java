@@ -508,6 +508,8 @@ public final class QueryContext extends Proc {
     if(sessions != null) sessions.close();
     // close dynamically loaded JAR files
     modules.close();
+    // release memoized function results
+    funcs.close(this);
   }
 
   @Override
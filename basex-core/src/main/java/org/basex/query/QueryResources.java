@@ -39,6 +39,8 @@ public final class QueryResources {
   private String[] collName = new String[1];
   /** Number of collections. */
   private int colls;
+  /** Opened inputs, which will be closed together with the query. */
+  private final ArrayList<Closeable> inputs = new ArrayList<Closeable>();
 
   /**
    * Constructor.
@@ -76,6 +78,31 @@ public final class QueryResources {
   void close() {
     for(int d = 0; d < datas; d++) Close.close(data[d], ctx.context);
     datas = 0;
+    for(final Closeable in : inputs) {
+      try {
+        in.close();
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+    }
+    inputs.clear();
+  }
+
+  /**
+   * Registers an input that is lazily consumed by an iterator. The input will be
+   * closed when the query is closed, even if the iterator is not fully consumed.
+   * @param in input
+   */
+  public void addInput(final Closeable in) {
+    inputs.add(in);
+  }
+
+  /**
+   * Removes an input that has already been closed.
+   * @param in input
+   */
+  public void removeInput(final Closeable in) {
+    inputs.remove(in);
   }
 
   /**
@@ -171,6 +171,8 @@ public interface QueryText {
   /** Parser token. */
   String MAPSTR = "map";
   /** Parser token. */
+  String MEMO = "memo";
+  /** Parser token. */
   String MOD = "mod";
   /** Parser token. */
   String MODIFY = "modify";
@@ -689,6 +691,8 @@ public interface QueryText {
   /** Query Plan. */
   byte[] RET = token("Return");
   /** Query Plan. */
+  byte[] JOIN = token("Join");
+  /** Query Plan. */
   byte[] DIR = token("dir");
   /** Query Plan. */
   byte[] PRE = token("pre");
@@ -763,6 +767,8 @@ public interface QueryText {
   /** Optimization info. */
   String OPTINLINEFN = "inlining function %";
   /** Optimization info. */
+  String OPTMEMO = "memoizing results of function %";
+  /** Optimization info. */
   String OPTINLINE = "inlining %";
   /** Optimization info. */
   String OPTWHERE = "rewriting where clause to predicate(s)";
@@ -771,6 +777,8 @@ public interface QueryText {
   /** Optimization info. */
   String OPTPRED = "rewriting % to predicate(s)";
   /** Optimization info. */
+  String OPTJOIN = "rewriting % to hash join";
+  /** Optimization info. */
   String OPTCAST = "removing redundant % cast.";
   /** Optimization info. */
   String OPTVAR = "removing variable %";
@@ -795,6 +803,11 @@ public interface QueryText {
   /** Optimization info. */
   String OPTCHILD = "converting % to child steps";
 
+  /** Evaluation info. */
+  String EVALMEMO = "%: % of % calls answered from memo cache (% results cached)";
+  /** Evaluation info. */
+  String EVALJOIN = "evaluating % via structural join";
+
   /** Warning. */
   String WARNSELF = "Warning: '%' will never yield results.";
   /** Warning. */
@@ -3,8 +3,10 @@ package org.basex.query.expr;
 import static org.basex.query.QueryText.*;
 
 import org.basex.query.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.query.value.type.SeqType.Occ;
 import org.basex.query.var.*;
@@ -64,6 +66,118 @@ public final class Arith extends Arr {
     return calc.ev(info, a, b);
   }
 
+  /**
+   * Evaluates this expression for all items of a native integer or double sequence,
+   * bound to the context item. The operands must be context item references, numeric
+   * literals or arithmetic expressions of the same kind.
+   * @param val values
+   * @return resulting value, or {@code null} if the values cannot be processed in bulk
+   */
+  public Value map(final Value val) {
+    final Value a = operand(expr[0], val), b = operand(expr[1], val);
+    if(a == null || b == null) return null;
+
+    if(a.type != AtomType.DBL && b.type != AtomType.DBL) {
+      // integers: overflows and divisions by zero are reported by the generic evaluation
+      final long[] la = longs(a), lb = longs(b);
+      final int as = la.length, bs = lb.length, s = Math.max(as, bs);
+      final long[] res = new long[s];
+      for(int i = 0; i < s; i++) {
+        final long x = la[as == 1 ? 0 : i], y = lb[bs == 1 ? 0 : i];
+        switch(calc) {
+          case PLUS:
+            if(!range(x + (double) y)) return null;
+            res[i] = x + y;
+            break;
+          case MINUS:
+            if(!range(x - (double) y)) return null;
+            res[i] = x - y;
+            break;
+          case MULT:
+            if(!range(x * (double) y)) return null;
+            res[i] = x * y;
+            break;
+          case IDIV:
+            if(y == 0) return null;
+            res[i] = x / y;
+            break;
+          case MOD:
+            if(y == 0) return null;
+            res[i] = x % y;
+            break;
+          default:
+            return null;
+        }
+      }
+      return IntSeq.get(res, AtomType.ITR);
+    }
+
+    // doubles
+    if(calc == Calc.IDIV) return null;
+    final double[] da = doubles(a), db = doubles(b);
+    final int as = da.length, bs = db.length, s = Math.max(as, bs);
+    final double[] res = new double[s];
+    for(int i = 0; i < s; i++) {
+      final double x = da[as == 1 ? 0 : i], y = db[bs == 1 ? 0 : i];
+      switch(calc) {
+        case PLUS:  res[i] = x + y; break;
+        case MINUS: res[i] = x - y; break;
+        case MULT:  res[i] = x * y; break;
+        case DIV:   res[i] = x / y; break;
+        default:    res[i] = x % y; break;
+      }
+    }
+    return DblSeq.get(res);
+  }
+
+  /**
+   * Returns the value of an operand that can be processed in bulk.
+   * @param e operand
+   * @param val values bound to the context item
+   * @return value or {@code null}
+   */
+  private static Value operand(final Expr e, final Value val) {
+    if(e instanceof Int || e instanceof Dbl) return (Value) e;
+    if(e instanceof Arith) return ((Arith) e).map(val);
+    return e instanceof Context && (val instanceof IntSeq || val instanceof RangeSeq ||
+        val instanceof DblSeq) ? val : null;
+  }
+
+  /**
+   * Returns the integers of a bulk operand.
+   * @param v value
+   * @return integers
+   */
+  private static long[] longs(final Value v) {
+    if(v instanceof Int) return new long[] { ((Int) v).itr() };
+    if(v instanceof IntSeq) return ((IntSeq) v).values();
+    return (long[]) ((RangeSeq) v).toJava();
+  }
+
+  /**
+   * Returns the doubles of a bulk operand.
+   * @param v value
+   * @return doubles
+   */
+  private static double[] doubles(final Value v) {
+    if(v instanceof Dbl) return new double[] { ((Dbl) v).dbl() };
+    if(v instanceof DblSeq) return ((DblSeq) v).values();
+    final long[] l = longs(v);
+    final int ls = l.length;
+    final double[] d = new double[ls];
+    for(int i = 0; i < ls; i++) d[i] = l[i];
+    return d;
+  }
+
+  /**
+   * Checks if the specified value is in the range of the integer type.
+   * @param d value
+   * @return result of check
+   */
+  private static boolean range(final double d) {
+    return d >= Long.MIN_VALUE && d <= Long.MAX_VALUE;
+  }
+
   @Override
   public Arith copy(final QueryContext ctx, final VarScope scp, final IntObjMap<Var> vs) {
     return new Arith(info, expr[0].copy(ctx, scp, vs), expr[1].copy(ctx, scp, vs), calc);
@@ -130,6 +130,14 @@ public final class CmpG extends Cmp {
     type = SeqType.BLN;
   }
 
+  /**
+   * Returns the comparison operator.
+   * @return operator
+   */
+  public OpG op() {
+    return op;
+  }
+
   @Override
   public Expr compile(final QueryContext ctx, final VarScope scp) throws QueryException {
     super.compile(ctx, scp);
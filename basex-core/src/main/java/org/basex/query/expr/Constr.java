@@ -36,6 +36,8 @@ public final class Constr {
   private final QueryContext ctx;
   /** Input information. */
   private final InputInfo info;
+  /** Copy database nodes. */
+  private final boolean copy;
   /** Text cache. */
   private final TokenBuilder text = new TokenBuilder();
   /** Space separator flag. */
@@ -47,8 +49,21 @@ public final class Constr {
    * @param qc query context
    */
   public Constr(final InputInfo ii, final QueryContext qc) {
+    this(ii, qc, true);
+  }
+
+  /**
+   * Creates the children of the constructor.
+   * @param ii input info
+   * @param qc query context
+   * @param cp copy database nodes. Can be set to {@code false} if the nodes will
+   *   only be read (as done by update expressions, which copy the nodes
+   *   before they are inserted)
+   */
+  public Constr(final InputInfo ii, final QueryContext qc, final boolean cp) {
     info = ii;
     ctx = qc;
+    copy = cp;
   }
 
   /**
@@ -156,7 +171,7 @@ public final class Constr {
         }
 
         // [CG] XQuery, element construction: avoid full copy of sub tree if not needed
-        node = node.deepCopy();
+        if(copy || !(node instanceof DBNode)) node = node.deepCopy();
         children.add(node);
       }
       more = false;
@@ -73,6 +73,21 @@ public final class Except extends Set {
     return nc;
   }
 
+  @Override
+  protected BitArray pres(final NodeSeqBuilder[] nodes) {
+    final BitArray pres = new BitArray();
+    final NodeSeqBuilder first = nodes[0];
+    final int fs = (int) first.size();
+    for(int n = 0; n < fs; n++) pres.set(((DBNode) first.get(n)).pre);
+
+    for(int e = 1; e != nodes.length; ++e) {
+      final NodeSeqBuilder nb = nodes[e];
+      final int ns = (int) nb.size();
+      for(int n = 0; n < ns; n++) pres.clear(((DBNode) nb.get(n)).pre);
+    }
+    return pres;
+  }
+
   @Override
   protected NodeIter iter(final Iter[] iter) {
     return new SetIter(iter) {
@@ -50,6 +50,26 @@ public final class InterSect extends Set {
     return nc;
   }
 
+  @Override
+  protected BitArray pres(final NodeSeqBuilder[] nodes) {
+    BitArray pres = new BitArray();
+    final NodeSeqBuilder first = nodes[0];
+    final int fs = (int) first.size();
+    for(int n = 0; n < fs; n++) pres.set(((DBNode) first.get(n)).pre);
+
+    for(int e = 1; e != nodes.length; ++e) {
+      final BitArray ba = new BitArray();
+      final NodeSeqBuilder nb = nodes[e];
+      final int ns = (int) nb.size();
+      for(int n = 0; n < ns; n++) {
+        final int p = ((DBNode) nb.get(n)).pre;
+        if(pres.get(p)) ba.set(p);
+      }
+      pres = ba;
+    }
+    return pres;
+  }
+
   @Override
   public Expr copy(final QueryContext ctx, final VarScope scp, final IntObjMap<Var> vs) {
     final InterSect is = new InterSect(info, copyAll(ctx, scp, vs, expr));
@@ -33,12 +33,12 @@ public final class LitMap extends Arr {
 
   @Override
   public Item item(final QueryContext ctx, final InputInfo ii) throws QueryException {
-    Map map = Map.EMPTY;
+    final MapBuilder mb = new MapBuilder();
     final int es = expr.length;
     for(int i = 0; i < es; i++) {
-      map = map.insert(checkItem(expr[i], ctx), ctx.value(expr[++i]), ii);
+      mb.put(checkItem(expr[i], ctx), ctx.value(expr[++i]), ii);
     }
-    return map;
+    return mb.map(ii);
   }
 
   @Override
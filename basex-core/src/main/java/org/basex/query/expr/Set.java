@@ -4,6 +4,7 @@ import static org.basex.query.QueryText.*;
 
 import java.util.*;
 
+import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.iter.*;
 import org.basex.query.value.item.*;
@@ -47,9 +48,58 @@ abstract class Set extends Arr {
   public final NodeIter iter(final QueryContext ctx) throws QueryException {
     final Iter[] iter = new Iter[expr.length];
     for(int e = 0; e != expr.length; ++e) iter[e] = ctx.iter(expr[e]);
-    return iterable ? iter(iter) : eval(iter).sort();
+    if(iterable) return iter(iter);
+
+    // cache all nodes; evaluate pre values if all nodes stem from the same database
+    final NodeSeqBuilder[] nodes = new NodeSeqBuilder[iter.length];
+    for(int e = 0; e != iter.length; ++e) {
+      final NodeSeqBuilder nb = new NodeSeqBuilder();
+      for(Item it; (it = iter[e].next()) != null;) nb.add(checkNode(it));
+      nodes[e] = nb;
+    }
+    final Data data = data(nodes);
+    if(data == null) return eval(nodes).sort();
+
+    final BitArray pres = pres(nodes);
+    final NodeSeqBuilder nb = new NodeSeqBuilder();
+    for(int p = pres.nextSet(0); p != -1; p = pres.nextSet(p + 1)) {
+      nb.add(new DBNode(data, p));
+    }
+    return nb;
+  }
+
+  /**
+   * Returns the database of the specified nodes if all nodes are database nodes
+   * without scores that refer to the same database, and if the range of their
+   * pre values is dense enough to be represented by a bit array.
+   * @param nodes cached nodes
+   * @return database or {@code null}
+   */
+  private static Data data(final NodeSeqBuilder[] nodes) {
+    Data data = null;
+    long size = 0;
+    int max = 0;
+    for(final NodeSeqBuilder nb : nodes) {
+      final int ns = (int) nb.size();
+      for(int n = 0; n < ns; n++) {
+        final ANode node = nb.get(n);
+        if(node.getClass() != DBNode.class || node.score() != 0) return null;
+        if(data == null) data = node.data();
+        else if(data != node.data()) return null;
+        max = Math.max(max, ((DBNode) node).pre);
+      }
+      size += ns;
+    }
+    return max >>> 6 > size ? null : data;
   }
 
+  /**
+   * Evaluates the pre values of the specified database nodes.
+   * @param nodes cached database nodes
+   * @return resulting pre values
+   */
+  protected abstract BitArray pres(final NodeSeqBuilder[] nodes);
+
   /**
    * Evaluates the specified iterators.
    * @param iter iterators
@@ -67,6 +67,16 @@ public final class Union extends Set {
     return nc;
   }
 
+  @Override
+  protected BitArray pres(final NodeSeqBuilder[] nodes) {
+    final BitArray pres = new BitArray();
+    for(final NodeSeqBuilder nb : nodes) {
+      final int ns = (int) nb.size();
+      for(int n = 0; n < ns; n++) pres.set(((DBNode) nb.get(n)).pre);
+    }
+    return pres;
+  }
+
   @Override
   protected NodeIter iter(final Iter[] iter) {
     return new SetIter(iter) {
@@ -84,12 +84,11 @@ public final class FTAnd extends FTExpr {
               it[i] = ir[i].next();
               i = -1;
             }
-          } else {
-            if(d != 0) {
-              if(d < 0) i = 0;
-              it[i] = ir[i].next();
-              i = -1;
-            }
+          } else if(d != 0) {
+            // skip all nodes that precede the current node of the other iterator
+            if(d < 0) it[0] = ir[0].skip(it[i].pre);
+            else it[i] = ir[i].skip(it[0].pre);
+            i = -1;
           }
         }
 
@@ -122,6 +122,18 @@ public final class FTWildcard {
     return tb.finish();
   }
 
+  /**
+   * Returns the wildcard suffix, which is the same for all matches.
+   * @return suffix
+   */
+  public byte[] suffix() {
+    int s = size;
+    while(s > 0 && wc[s - 1] != DOT) s--;
+    final TokenBuilder tb = new TokenBuilder();
+    for(; s < size; s++) tb.add(wc[s]);
+    return tb.finish();
+  }
+
   /**
    * Checks if the wildcard can match a sub-string in a string.
    * @param t token to search for match
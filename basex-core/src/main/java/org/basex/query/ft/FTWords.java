@@ -175,8 +175,25 @@ public final class FTWords extends FTExpr {
           }
         }
         // [CG] XQuery, Full-Text: check scoring in index-based model
-        return iat == null || !iat.more() ? null : new FTNode(iat.matches(),
-            data, iat.next(), len, iat.size(), -1);
+        return iat == null || !iat.more() ? null : node();
+      }
+
+      @Override
+      public FTNode skip(final int pre) throws QueryException {
+        // the index iterator will be initialized by the first call
+        if(iat == null) {
+          final FTNode node = next();
+          if(node == null || node.pre >= pre) return node;
+        }
+        return iat.skip(pre) ? node() : null;
+      }
+
+      /**
+       * Returns a node for the current index result.
+       * @return node
+       */
+      private FTNode node() {
+        return new FTNode(iat.matches(), data, iat.next(), len, iat.size(), -1);
       }
     };
   }
@@ -369,14 +386,16 @@ public final class FTWords extends FTExpr {
         if(fto.sw != null && fto.sw.contains(tok)) continue;
 
         if(fto.is(WC)) {
-          // don't use index if one of the terms starts with a wildcard
-          t = ft.get();
-          if(t[0] == '.') return false;
           // don't use index if certain characters or more than 1 dot are found
+          t = ft.get();
           int d = 0;
           for(final byte w : t) {
             if(w == '{' || w == '\\' || w == '.' && ++d > 1) return false;
           }
+          // terms starting with a wildcard must end with a suffix, which will be
+          // looked up in the reversed dictionary
+          if(t[0] == '.' && (t.length == wcLength(t) ||
+              !md.dbfile(DataText.DATAFTX + 'r').exists())) return false;
         }
         // reduce number of expected results to favor full-text index requests
         ic.addCosts(Math.max(1, dt.count(ft) >> 10));
@@ -385,6 +404,15 @@ public final class FTWords extends FTExpr {
     return true;
   }
 
+  /**
+   * Returns the length of the leading wildcard of the specified term.
+   * @param t term
+   * @return length
+   */
+  private static int wcLength(final byte[] t) {
+    return t.length > 1 && (t[1] == '?' || t[1] == '*' || t[1] == '+') ? 2 : 1;
+  }
+
   @Override
   public FTExpr indexEquivalent(final IndexCosts ic) {
     ictx = ic.ictx;
@@ -3,12 +3,16 @@ package org.basex.query.func;
 import static org.basex.query.util.Err.*;
 import static org.basex.query.value.type.AtomType.*;
 
+import java.math.*;
+
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.CmpV.OpV;
 import org.basex.query.iter.*;
 import org.basex.query.util.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
@@ -32,6 +36,16 @@ public final class FNAggr extends StandardFunc {
 
   @Override
   public Item item(final QueryContext ctx, final InputInfo ii) throws QueryException {
+    // aggregate primitive values of native sequences
+    if(oneOf(sig, Function.SUM, Function.AVG) ||
+        oneOf(sig, Function.MIN, Function.MAX) && expr.length == 1) {
+      final Value v = cached(0, ctx);
+      final Item it = v instanceof RangeSeq ? aggregate((RangeSeq) v) :
+        v instanceof IntSeq ? aggregate((IntSeq) v) :
+        v instanceof DblSeq ? aggregate((DblSeq) v) : null;
+      if(it != null) return it;
+    }
+
     final Iter iter = ctx.iter(expr[0]);
     switch(sig) {
       case COUNT:
@@ -105,6 +119,79 @@ public final class FNAggr extends StandardFunc {
     return avg ? Calc.DIV.ev(info, rs, Int.get(c)) : rs;
   }
 
+  /**
+   * Aggregates the values of a range sequence.
+   * @param rs range sequence
+   * @return resulting item, or {@code null} if the sum exceeds the integer range
+   * @throws QueryException query exception
+   */
+  private Item aggregate(final RangeSeq rs) throws QueryException {
+    final long s = rs.size();
+    final long e = rs.start + (rs.asc ? s - 1 : 1 - s);
+    final long min = Math.min(rs.start, e), max = Math.max(rs.start, e);
+    if(sig == Function.MIN) return Int.get(min);
+    if(sig == Function.MAX) return Int.get(max);
+
+    final BigInteger sum = BigInteger.valueOf(min).add(BigInteger.valueOf(max)).
+        multiply(BigInteger.valueOf(s)).shiftRight(1);
+    if(sum.bitLength() > 63) return null;
+    final Int it = Int.get(sum.longValue());
+    return sig == Function.SUM ? it : Calc.DIV.ev(info, it, Int.get(s));
+  }
+
+  /**
+   * Aggregates the values of an integer sequence.
+   * @param is integer sequence
+   * @return resulting item, or {@code null} if the sum exceeds the integer range
+   * @throws QueryException query exception
+   */
+  private Item aggregate(final IntSeq is) throws QueryException {
+    final long[] vals = is.values();
+    long rs = vals[0];
+    if(sig == Function.MIN) {
+      for(final long l : vals) if(rs > l) rs = l;
+      return Int.get(rs, is.type);
+    }
+    if(sig == Function.MAX) {
+      for(final long l : vals) if(rs < l) rs = l;
+      return Int.get(rs, is.type);
+    }
+
+    final int vl = vals.length;
+    for(int v = 1; v < vl; v++) {
+      final long l = vals[v], r = rs + l;
+      // check for overflow
+      if(((rs ^ r) & (l ^ r)) < 0) return null;
+      rs = r;
+    }
+    final Int it = Int.get(rs);
+    return sig == Function.SUM ? it : Calc.DIV.ev(info, it, Int.get(vl));
+  }
+
+  /**
+   * Aggregates the values of a double sequence.
+   * @param ds double sequence
+   * @return resulting item
+   * @throws QueryException query exception
+   */
+  private Item aggregate(final DblSeq ds) throws QueryException {
+    final double[] vals = ds.values();
+    double rs = vals[0];
+    if(sig == Function.MIN) {
+      for(final double d : vals) if(rs > d || Double.isNaN(d)) rs = d;
+      return Dbl.get(rs);
+    }
+    if(sig == Function.MAX) {
+      for(final double d : vals) if(rs < d || Double.isNaN(d)) rs = d;
+      return Dbl.get(rs);
+    }
+
+    final int vl = vals.length;
+    for(int v = 1; v < vl; v++) rs += vals[v];
+    final Dbl it = Dbl.get(rs);
+    return sig == Function.SUM ? it : Calc.DIV.ev(info, it, Int.get(vl));
+  }
+
   /**
    * Returns a minimum or maximum item.
    * @param iter values to be compared
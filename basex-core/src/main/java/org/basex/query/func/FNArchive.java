@@ -456,16 +456,20 @@ public final class FNArchive extends StandardFunc {
       }
     }
 
-    // data to be compressed
-    byte[] val = checkStrBin(cont);
-    if(cont instanceof AStr && en != null && en != UTF8) val = encode(val, en, ctx);
+    // data to be compressed (binaries will be compressed chunk-wise)
+    byte[] val = null;
+    if(!(cont instanceof Bin)) {
+      val = checkStrBin(cont);
+      if(en != null && en != UTF8) val = encode(val, en, ctx);
+    }
 
     try {
       out.level(lvl == null ? level : toInt(lvl));
     } catch(final IllegalArgumentException ex) {
       ARCH_LEVEL.thrw(info, lvl);
     }
-    out.write(ze, val);
+    if(val != null) out.write(ze, val);
+    else out.write(ze, (Bin) cont, info);
   }
 
   /**
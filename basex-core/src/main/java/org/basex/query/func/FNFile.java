@@ -10,6 +10,7 @@ import java.util.regex.*;
 
 import org.basex.core.*;
 import org.basex.io.*;
+import org.basex.io.in.*;
 import org.basex.io.out.*;
 import org.basex.io.serial.*;
 import org.basex.query.*;
@@ -394,13 +395,61 @@ public final class FNFile extends StandardFunc {
   }
 
   /**
-   * Returns the contents of a file line by line.
+   * Returns the contents of a file line by line. Lines are lazily read, so the
+   * memory consumption does not depend on the size of the file.
    * @param ctx query context
    * @return string
    * @throws QueryException query exception
    */
   private Iter readTextLines(final QueryContext ctx) throws QueryException {
-    return FNGen.textIter(readText(ctx).string(info));
+    final File path = checkFile(0, ctx);
+    final String enc = encoding(1, FILE_ENCODING, ctx);
+    if(!path.exists()) FILE_WHICH.thrw(info, path.getAbsolutePath());
+    if(path.isDirectory()) FILE_DIR.thrw(info, path.getAbsolutePath());
+
+    final NewlineInput nli;
+    try {
+      nli = new NewlineInput(new IOFile(path));
+      boolean ok = false;
+      try {
+        nli.encoding(enc).validate(ctx.context.prop.is(Prop.CHECKSTRINGS));
+        ok = true;
+      } finally {
+        if(!ok) nli.close();
+      }
+    } catch(final IOException ex) {
+      throw FILE_IO.thrw(info, ex);
+    }
+    // input will be closed after the last line, or when the query is closed
+    ctx.resource.addInput(nli);
+    return new Iter() {
+      final TokenBuilder tb = new TokenBuilder();
+      boolean more = true;
+
+      @Override
+      public Item next() throws QueryException {
+        if(!more) return null;
+        try {
+          if(nli.readLine(tb)) return Str.get(tb.finish());
+          close();
+          return null;
+        } catch(final IOException ex) {
+          close();
+          throw FILE_IO.thrw(info, ex);
+        }
+      }
+
+      /** Closes the input. */
+      private void close() {
+        more = false;
+        ctx.resource.removeInput(nli);
+        try {
+          nli.close();
+        } catch(final IOException ex) {
+          Util.debug(ex);
+        }
+      }
+    };
   }
 
   /**
@@ -504,12 +553,7 @@ public final class FNFile extends StandardFunc {
     try {
       for(Item it; (it = ir.next()) != null;) {
         if(!(it instanceof Bin)) BINARYTYPE.thrw(info, it.type);
-        final InputStream is = it.input(info);
-        try {
-          for(int i; (i = is.read()) != -1;)  out.write(i);
-        } finally {
-          is.close();
-        }
+        ((Bin) it).write(out, info);
       }
     } finally {
       out.close();
@@ -9,6 +9,7 @@ import java.util.*;
 
 import org.basex.data.*;
 import org.basex.index.*;
+import org.basex.index.ft.*;
 import org.basex.index.query.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
@@ -17,6 +18,7 @@ import org.basex.query.iter.*;
 import org.basex.query.util.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
 import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.util.*;
@@ -64,6 +66,7 @@ public final class FNFt extends StandardFunc {
   public Iter iter(final QueryContext ctx) throws QueryException {
     switch(sig) {
       case _FT_SEARCH:   return search(ctx);
+      case _FT_TOP:      return top(ctx);
       case _FT_SCORE:    return score(ctx);
       case _FT_MARK:     return mark(ctx, false);
       case _FT_EXTRACT:  return mark(ctx, true);
@@ -224,6 +227,46 @@ public final class FNFt extends StandardFunc {
     return new FTIndexAccess(info, words, ic).iter(ctx);
   }
 
+  /**
+   * Performs the top function.
+   * @param ctx query context
+   * @return iterator
+   * @throws QueryException query exception
+   */
+  private Iter top(final QueryContext ctx) throws QueryException {
+    final Data data = checkData(ctx);
+    if(!data.meta.ftxtindex) BXDB_INDEX.thrw(info, data.meta.name,
+        IndexType.FULLTEXT.toString().toLowerCase(Locale.ENGLISH));
+    final long k = checkItr(expr[2], ctx);
+
+    // tokenize query terms
+    final FTLexer lex = new FTLexer(new FTOpt().copy(data.meta));
+    final TokenSet tokens = new TokenSet();
+    final Iter ir = ctx.iter(expr[1]);
+    for(Item it; (it = ir.next()) != null;) {
+      lex.init(it.string(info));
+      while(lex.hasNext()) tokens.add(lex.nextToken());
+    }
+
+    final FTTopK top = ((FTIndex) data.ftxindex).top(tokens,
+        (int) Math.min(k, Integer.MAX_VALUE), ++ctx.ftoknum);
+    return new Iter() {
+      int c;
+
+      @Override
+      public ANode next() {
+        if(c == top.pres.length) return null;
+        final FTNode node = new FTNode(top.matches[c], data, top.pres[c], 0, 0,
+            top.scores[c]);
+        // cache entry for visualizations or ft:mark/ft:extract
+        if(ctx.ftpos != null) ctx.ftpos.add(data, node.pre, node.all);
+        node.all = null;
+        c++;
+        return node;
+      }
+    };
+  }
+
   /**
    * Performs the tokens function.
    * @param ctx query context
@@ -266,7 +309,7 @@ public final class FNFt extends StandardFunc {
 
   @Override
   public boolean accept(final ASTVisitor visitor) {
-    if(oneOf(sig, _FT_SEARCH, _FT_TOKENS) && !dataLock(visitor)) return false;
+    if(oneOf(sig, _FT_SEARCH, _FT_TOP, _FT_TOKENS) && !dataLock(visitor)) return false;
     return super.accept(visitor);
   }
 }
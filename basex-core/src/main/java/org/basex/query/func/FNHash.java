@@ -2,8 +2,10 @@ package org.basex.query.func;
 
 import static org.basex.query.util.Err.*;
 
+import java.io.*;
 import java.security.*;
 
+import org.basex.io.out.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.value.item.*;
@@ -55,21 +57,23 @@ public final class FNHash extends StandardFunc {
    * @throws QueryException exception
    */
   private B64 hash(final String algo, final QueryContext ctx) throws QueryException {
-    return hashBinary(checkStrBin(checkItem(expr[0], ctx)), algo);
-  }
-
-  /**
-   * Creates the hash of the given xs:string, using the algorithm {@code algo}.
-   * @param val value to be hashed
-   * @param algo hashing algorithm
-   * @return xs:hexBinary instance containing the hash
-   * @throws QueryException exception
-   */
-  private B64 hashBinary(final byte[] val, final String algo) throws QueryException {
+    final Item it = checkItem(expr[0], ctx);
+    final MessageDigest md;
     try {
-      return new B64(MessageDigest.getInstance(algo).digest(val));
+      md = MessageDigest.getInstance(algo);
     } catch(final NoSuchAlgorithmException ex) {
       throw HASH_ALG.thrw(info, algo);
     }
+    if(it instanceof Bin) {
+      // binaries are digested chunk-wise, as they may be streamed
+      try {
+        ((Bin) it).write(new DigestOutputStream(new NullOutput(), md), info);
+      } catch(final IOException ex) {
+        throw Util.notexpected(ex);
+      }
+    } else {
+      md.update(checkStrBin(it));
+    }
+    return new B64(md.digest());
   }
 }
@@ -90,11 +90,16 @@ public final class FNMap extends StandardFunc {
     // collations are ignored here as they may disappear in a future version
     checkColl(expr.length == 2 ? expr[1] : null, ctx);
 
+    // single entries are collected and merged in bulk
+    final MapBuilder mb = new MapBuilder();
     Map map = Map.EMPTY;
     final Iter maps = expr[0].iter(ctx);
-    for(Item m; (m = maps.next()) != null;)
-      map = map.addAll(checkMap(m), ii);
-    return map;
+    for(Item m; (m = maps.next()) != null;) {
+      final Map mp = checkMap(m);
+      if(mb.put(mp)) continue;
+      map = map.addAll(mb.map(ii), ii).addAll(mp, ii);
+    }
+    return map.addAll(mb.map(ii), ii);
   }
 
   /**
@@ -11,12 +11,15 @@ import org.basex.query.expr.*;
 import org.basex.query.iter.*;
 import org.basex.query.path.*;
 import org.basex.query.util.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.query.value.type.SeqType.Occ;
 import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
 
 /**
  * Sequence functions.
@@ -231,8 +234,25 @@ public final class FNSeq extends StandardFunc {
     final Item it = checkItem(expr[1], ctx);
     final Collation coll = checkColl(expr.length == 3 ? expr[2] : null, ctx);
 
+    // compare primitive values of native sequences
+    final Value v = cached(0, ctx);
+    if(v instanceof IntSeq && it instanceof Int) {
+      final long[] vals = ((IntSeq) v).values();
+      final long l = it.itr(info);
+      final IntList pos = new IntList();
+      for(int i = 0; i < vals.length; i++) if(vals[i] == l) pos.add(i + 1);
+      return positions(pos);
+    }
+    if(v instanceof StrSeq && coll == null && string(it)) {
+      final byte[][] vals = ((StrSeq) v).values();
+      final byte[] s = it.string(info);
+      final IntList pos = new IntList();
+      for(int i = 0; i < vals.length; i++) if(Token.eq(vals[i], s)) pos.add(i + 1);
+      return positions(pos);
+    }
+
     return new Iter() {
-      final Iter ir = expr[0].iter(ctx);
+      final Iter ir = v != null ? v.iter() : expr[0].iter(ctx);
       int c;
 
       @Override
@@ -247,6 +267,27 @@ public final class FNSeq extends StandardFunc {
     };
   }
 
+  /**
+   * Returns an iterator for the specified positions.
+   * @param pos positions
+   * @return iterator
+   */
+  private static Iter positions(final IntList pos) {
+    final int ps = pos.size();
+    final long[] tmp = new long[ps];
+    for(int p = 0; p < ps; p++) tmp[p] = pos.get(p);
+    return IntSeq.get(tmp, AtomType.ITR).iter();
+  }
+
+  /**
+   * Checks if the specified item is compared as string.
+   * @param it item
+   * @return result of check
+   */
+  private static boolean string(final Item it) {
+    return it instanceof Atm || it instanceof Str && !(it instanceof Uri);
+  }
+
   /**
    * Returns all distinct values of a sequence.
    * @param ctx query context
@@ -257,9 +298,25 @@ public final class FNSeq extends StandardFunc {
     final Collation coll = checkColl(expr.length == 2 ? expr[1] : null, ctx);
     if(expr[0] instanceof RangeSeq) return expr[0].iter(ctx);
 
+    // remove duplicates from the primitive values of native sequences
+    final Value v = cached(0, ctx);
+    if(v instanceof IntSeq) {
+      final long[] vals = ((IntSeq) v).values();
+      final LongSet set = new LongSet();
+      final long[] tmp = new long[vals.length];
+      int s = 0;
+      for(final long l : vals) if(set.add(l)) tmp[s++] = l;
+      return IntSeq.get(Arrays.copyOf(tmp, s), v.type).iter();
+    }
+    if(v instanceof StrSeq && coll == null) {
+      final TokenSet set = new TokenSet();
+      for(final byte[] s : ((StrSeq) v).values()) set.add(s);
+      return StrSeq.get(new TokenList(set)).iter();
+    }
+
     return new Iter() {
-      final ItemSet set = coll == null ? new HashItemSet() : new CollationItemSet(coll);
-      final Iter ir = expr[0].iter(ctx);
+      final ItemSet set = coll == null ? new TypedItemSet() : new CollationItemSet(coll);
+      final Iter ir = v != null ? v.iter() : expr[0].iter(ctx);
 
       @Override
       public Item next() throws QueryException {
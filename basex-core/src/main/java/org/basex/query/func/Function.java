@@ -778,6 +778,9 @@ public enum Function {
   _FT_SEARCH(FNFt.class, "search(database,terms[,options])",
       arg(STR, ITEM_ZM, ITEM), NOD_ZM, flag(NDT)),
   /** XQuery function. */
+  _FT_TOP(FNFt.class, "top(database,terms,number)",
+      arg(STR, ITEM_ZM, ITR), NOD_ZM, flag(NDT)),
+  /** XQuery function. */
   _FT_COUNT(FNFt.class, "count(nodes)", arg(NOD_ZM), ITR),
   /** XQuery function. */
   _FT_MARK(FNFt.class, "mark(nodes[,tag])", arg(NOD_ZM, STR), NOD_ZM),
@@ -4,6 +4,7 @@ import static org.basex.query.QueryText.*;
 import static org.basex.query.util.Err.*;
 
 import java.lang.reflect.*;
+import java.util.*;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
@@ -26,6 +27,12 @@ public final class JavaFunc extends JavaMapping {
   private final Class<?> cls;
   /** Java method. */
   private final String mth;
+  /** Field with the name of the method (resolved on first call, can be {@code null}). */
+  private Field field;
+  /** Constructors or methods with the specified name (resolved on first call). */
+  private volatile Candidate[] candidates;
+  /** Candidate that was chosen for the argument types of the last call. */
+  private volatile Binding binding;
 
   /**
    * Constructor.
@@ -45,6 +52,7 @@ public final class JavaFunc extends JavaMapping {
       throws QueryException {
 
     try {
+      if(candidates == null) resolve();
       return mth.equals(NEW) ? constructor(args) : method(args, ctx);
     } catch(final InvocationTargetException ex) {
       final Throwable cause = ex.getCause();
@@ -63,6 +71,31 @@ public final class JavaFunc extends JavaMapping {
     return new JavaFunc(info, cls, mth, copyAll(ctx, scp, vs, expr));
   }
 
+  /**
+   * Resolves the field, constructors and methods that may be called by this function.
+   */
+  private synchronized void resolve() {
+    if(candidates != null) return;
+    final ArrayList<Candidate> list = new ArrayList<Candidate>();
+    if(mth.equals(NEW)) {
+      for(final Constructor<?> con : cls.getConstructors()) {
+        list.add(new Candidate(con, null, con.getParameterTypes(), true));
+      }
+    } else {
+      // check if a field with the specified name exists
+      try {
+        field = cls.getField(mth);
+      } catch(final NoSuchFieldException ex) { /* ignored */ }
+
+      for(final Method meth : cls.getMethods()) {
+        if(!meth.getName().equals(mth)) continue;
+        final boolean st = Modifier.isStatic(meth.getModifiers());
+        list.add(new Candidate(null, meth, meth.getParameterTypes(), st));
+      }
+    }
+    candidates = list.toArray(new Candidate[list.size()]);
+  }
+
   /**
    * Calls a constructor.
    * @param ar arguments
@@ -70,10 +103,8 @@ public final class JavaFunc extends JavaMapping {
    * @throws Exception exception
    */
   private Object constructor(final Value[] ar) throws Exception {
-    for(final Constructor<?> con : cls.getConstructors()) {
-      final Object[] arg = args(con.getParameterTypes(), ar, true);
-      if(arg != null) return con.newInstance(arg);
-    }
+    final Candidate cand = candidate(ar);
+    if(cand != null) return cand.cons.newInstance(cand.args(ar));
     throw JAVACON.thrw(info, name(), foundArgs(ar));
   }
 
@@ -86,30 +117,47 @@ public final class JavaFunc extends JavaMapping {
    */
   private Object method(final Value[] ar, final QueryContext ctx) throws Exception {
     // check if a field with the specified name exists
-    try {
-      final Field f = cls.getField(mth);
+    final Field f = field;
+    if(f != null) {
       final boolean st = Modifier.isStatic(f.getModifiers());
       if(ar.length == (st ? 0 : 1)) {
         return f.get(st ? null : instObj(ar[0]));
       }
-    } catch(final NoSuchFieldException ex) { /* ignored */ }
-
-    for(final Method meth : cls.getMethods()) {
-      if(!meth.getName().equals(mth)) continue;
-      final boolean st = Modifier.isStatic(meth.getModifiers());
-      final Object[] arg = args(meth.getParameterTypes(), ar, st);
-      if(arg != null) {
-        Object inst = null;
-        if(!st) {
-          inst = instObj(ar[0]);
-          if(inst instanceof QueryModule) ((QueryModule) inst).context = ctx;
-        }
-        return meth.invoke(inst, arg);
+    }
+
+    final Candidate cand = candidate(ar);
+    if(cand != null) {
+      Object inst = null;
+      if(!cand.stat) {
+        inst = instObj(ar[0]);
+        if(inst instanceof QueryModule) ((QueryModule) inst).context = ctx;
       }
+      return cand.meth.invoke(inst, cand.args(ar));
     }
     throw JAVAMTH.thrw(info, name(), foundArgs(ar));
   }
 
+  /**
+   * Returns the first candidate that accepts the specified arguments.
+   * The candidate that has been chosen for the last call will be reused if
+   * the arguments have the same types.
+   * @param ar arguments
+   * @return candidate, or {@code null}
+   * @throws QueryException query exception
+   */
+  private Candidate candidate(final Value[] ar) throws QueryException {
+    final Binding b = binding;
+    if(b != null && b.matches(ar)) return b.cand;
+
+    for(final Candidate cand : candidates) {
+      if(cand.args(ar) != null) {
+        binding = new Binding(cand, ar);
+        return cand;
+      }
+    }
+    return null;
+  }
+
   /**
    * Creates the instance on which a non-static field getter or method is
    * invoked.
@@ -121,15 +169,28 @@ public final class JavaFunc extends JavaMapping {
     return cls.isInstance(v) ? v : v.toJava();
   }
 
+  /**
+   * Returns the XQuery types of the specified parameters.
+   * @param params parameters
+   * @return types (single entries may be {@code null})
+   */
+  static Type[] types(final Class<?>[] params) {
+    final int pl = params.length;
+    final Type[] types = new Type[pl];
+    for(int p = 0; p < pl; p++) types[p] = type(params[p]);
+    return types;
+  }
+
   /**
    * Checks if the arguments conform with the specified parameters.
    * @param params parameters
+   * @param types XQuery types of the parameters (see {@link #types})
    * @param args arguments
    * @param stat static flag
    * @return argument array or {@code null}
    * @throws QueryException query exception
    */
-  static Object[] args(final Class<?>[] params, final Value[] args,
+  static Object[] args(final Class<?>[] params, final Type[] types, final Value[] args,
       final boolean stat) throws QueryException {
 
     final int s = stat ? 0 : 1;
@@ -143,6 +204,7 @@ public final class JavaFunc extends JavaMapping {
     for(final Class<?> par : params) {
       // check original type
       final Value arg = args[s + a];
+      final Type jtype = types[a];
       if(par.isInstance(arg)) {
         val[a++] = arg;
         continue;
@@ -156,7 +218,6 @@ public final class JavaFunc extends JavaMapping {
         }
       }
       // check XQuery type
-      final Type jtype = type(par);
       if(jtype == null || !arg.type.instanceOf(jtype) && !jtype.instanceOf(arg.type))
         return null;
       val[a++] = arg.toJava();
@@ -189,4 +250,95 @@ public final class JavaFunc extends JavaMapping {
   public String toString() {
     return cls + "." + mth + PAR1 + toString(SEP) + PAR2;
   }
+
+  /**
+   * Constructor or method that may be called by a Java function.
+   */
+  private static final class Candidate {
+    /** Constructor (can be {@code null}). */
+    final Constructor<?> cons;
+    /** Method (can be {@code null}). */
+    final Method meth;
+    /** Parameters. */
+    final Class<?>[] params;
+    /** XQuery types of the parameters. */
+    final Type[] types;
+    /** Static flag. */
+    final boolean stat;
+
+    /**
+     * Constructor.
+     * @param c constructor
+     * @param m method
+     * @param p parameters
+     * @param s static flag
+     */
+    Candidate(final Constructor<?> c, final Method m, final Class<?>[] p,
+        final boolean s) {
+      cons = c;
+      meth = m;
+      params = p;
+      types = types(p);
+      stat = s;
+    }
+
+    /**
+     * Converts the specified arguments.
+     * @param ar arguments
+     * @return argument array or {@code null}
+     * @throws QueryException query exception
+     */
+    Object[] args(final Value[] ar) throws QueryException {
+      return JavaFunc.args(params, types, ar, stat);
+    }
+  }
+
+  /**
+   * Binding of argument types to a candidate.
+   */
+  private static final class Binding {
+    /** Candidate. */
+    final Candidate cand;
+    /** Classes and types of the arguments. */
+    final Object[] key;
+
+    /**
+     * Constructor.
+     * @param c candidate
+     * @param ar arguments
+     */
+    Binding(final Candidate c, final Value[] ar) {
+      cand = c;
+      final int al = ar.length;
+      key = new Object[al << 1];
+      for(int a = 0; a < al; a++) {
+        key[a << 1] = ar[a].getClass();
+        key[(a << 1) + 1] = type(ar[a]);
+      }
+    }
+
+    /**
+     * Checks if the specified arguments have the same types as the bound arguments.
+     * @param ar arguments
+     * @return result of check
+     */
+    boolean matches(final Value[] ar) {
+      final int al = ar.length;
+      if(key.length != al << 1) return false;
+      for(int a = 0; a < al; a++) {
+        if(key[a << 1] != ar[a].getClass() || key[(a << 1) + 1] != type(ar[a]))
+          return false;
+      }
+      return true;
+    }
+
+    /**
+     * Returns the type of an argument: the class of the Java object, or the XQuery type.
+     * @param arg argument
+     * @return type
+     */
+    private static Object type(final Value arg) {
+      return arg instanceof Jav ? ((Jav) arg).toJava().getClass() : arg.type;
+    }
+  }
 }
@@ -11,6 +11,7 @@ import org.basex.query.QueryModule.FocusDependent;
 import org.basex.query.expr.*;
 import org.basex.query.value.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.type.Type;
 import org.basex.query.var.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
@@ -26,6 +27,10 @@ public final class JavaModuleFunc extends JavaMapping {
   private final Object module;
   /** Method to be called. */
   private final Method mth;
+  /** Parameters of the method. */
+  private final Class<?>[] params;
+  /** XQuery types of the parameters. */
+  private final Type[] types;
 
   /**
    * Constructor.
@@ -38,6 +43,8 @@ public final class JavaModuleFunc extends JavaMapping {
     super(ii, a);
     module = jm;
     mth = m;
+    params = m.getParameterTypes();
+    types = JavaFunc.types(params);
   }
 
   @Override
@@ -47,7 +54,7 @@ public final class JavaModuleFunc extends JavaMapping {
     // assign context if module is inheriting {@link QueryModule}
     if(module instanceof QueryModule) ((QueryModule) module).context = ctx;
 
-    final Object[] args = JavaFunc.args(mth.getParameterTypes(), vals, true);
+    final Object[] args = JavaFunc.args(params, types, vals, true);
     if(args != null) {
       try {
         return mth.invoke(module, args);
@@ -64,7 +71,7 @@ public final class JavaModuleFunc extends JavaMapping {
 
     // compose error message: expected arguments
     final TokenBuilder expect = new TokenBuilder();
-    for(final Class<?> c : mth.getParameterTypes()) {
+    for(final Class<?> c : params) {
       if(!expect.isEmpty()) expect.add(", ");
       expect.add(c.getSimpleName());
     }
@@ -251,6 +251,21 @@ public abstract class StandardFunc extends Arr {
     }
   }
 
+  /**
+   * Returns the value of the specified argument if it can be retrieved without
+   * evaluating single items, or {@code null}.
+   * @param i argument index
+   * @param ctx query context
+   * @return value or {@code null}
+   * @throws QueryException query exception
+   */
+  protected final Value cached(final int i, final QueryContext ctx)
+      throws QueryException {
+    final Expr e = expr[i];
+    return e instanceof Value || e instanceof VarRef || e instanceof Range ?
+        ctx.value(e) : null;
+  }
+
   /**
    * Compares several signatures for equality.
    * @param sig signature to be found
@@ -17,6 +17,7 @@ import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
+import org.basex.util.hash.*;
 
 /**
  * A static user-defined function.
@@ -25,6 +26,11 @@ import org.basex.util.*;
  * @author Leo Woerteler
  */
 public final class StaticFunc extends StaticDecl implements XQFunction {
+  /** Annotation for memoizing function results. */
+  private static final QNm MEMO = new QNm(QueryText.MEMO, QueryText.BASEXURI);
+  /** Default maximum number of memoized results. */
+  private static final long MAXMEMO = 100000;
+
   /** Arguments. */
   public final Var[] args;
   /** Updating flag. */
@@ -36,6 +42,14 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
   private final EnumMap<Flag, Boolean> map = new EnumMap<Flag, Boolean>(Flag.class);
   /** Flag that is turned on during compilation and prevents premature inlining. */
   private boolean compiling;
+  /** Maximum number of memoized results ({@code 0} if results are not memoized). */
+  private long memo;
+  /** Memoized results, indexed by their argument keys (lazily instantiated). */
+  private TokenObjMap<Value> results;
+  /** Number of calls with memoizable arguments. */
+  private long calls;
+  /** Number of calls answered from the memo cache. */
+  private long hits;
 
   /**
    * Function constructor.
@@ -64,6 +78,7 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
   public void compile(final QueryContext ctx) throws QueryException {
     if(compiled) return;
     compiling = compiled = true;
+    memo = memo();
 
     final Value cv = ctx.value;
     final StaticContext cs = ctx.sc;
@@ -95,16 +110,41 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
         cast = false;
       }
     }
+    // results of non-deterministic or updating functions are not memoized
+    if(memo != 0) {
+      if(updating || has(Flag.NDT)) memo = 0;
+      else ctx.compInfo(OPTMEMO, name);
+    }
     compiling = false;
   }
 
+  /**
+   * Returns the maximum number of results to be memoized, as specified by the
+   * {@code %basex:memo} annotation.
+   * @return maximum number of results ({@code 0} if the annotation is not specified)
+   * @throws QueryException query exception
+   */
+  private long memo() throws QueryException {
+    for(int a = 0; a < ann.size(); a++) {
+      if(!ann.names[a].eq(MEMO)) continue;
+      final Value v = ann.values[a];
+      if(v.isEmpty()) return MAXMEMO;
+      final Item it = v.size() == 1 ? v.itemAt(0) : null;
+      final long m = it instanceof Int ? it.itr(info) : 0;
+      if(m <= 0) BASX_ANNOTARGS.thrw(ann.infos[a], '%', MEMO.string());
+      return m;
+    }
+    return 0;
+  }
+
   /**
    * Checks if this function can be inlined.
    * @param ctx query context
    * @return result of check
    */
   boolean inline(final QueryContext ctx) {
-    return expr.isValue() || expr.exprSize() < ctx.context.prop.num(Prop.INLINELIMIT) &&
+    return expr.isValue() || memo == 0 &&
+        expr.exprSize() < ctx.context.prop.num(Prop.INLINELIMIT) &&
         !(compiling || has(Flag.NDT) || has(Flag.CTX) || selfRecursive());
   }
 
@@ -166,6 +206,8 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
   public Item invItem(final QueryContext ctx, final InputInfo ii, final Value... arg)
       throws QueryException {
 
+    if(memo != 0) return invValue(ctx, ii, arg).item(ctx, ii);
+
     // reset context and evaluate function
     final Value cv = ctx.value;
     final StaticContext cs = ctx.sc;
@@ -188,6 +230,32 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
   @Override
   public Value invValue(final QueryContext ctx, final InputInfo ii, final Value... arg)
       throws QueryException {
+
+    final byte[] key = memo == 0 ? null : key(arg, ii);
+    if(key == null) return invoke(ctx, ii, arg);
+
+    calls++;
+    if(results == null) results = new TokenObjMap<Value>();
+    Value v = results.get(key);
+    if(v != null) {
+      hits++;
+    } else {
+      v = invoke(ctx, ii, arg);
+      if(results.size() < memo && memoizable(v)) results.put(key, v);
+    }
+    return v;
+  }
+
+  /**
+   * Evaluates the function body with the given arguments.
+   * @param ctx query context
+   * @param ii input info
+   * @param arg arguments
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  private Value invoke(final QueryContext ctx, final InputInfo ii, final Value[] arg)
+      throws QueryException {
     // reset context and evaluate function
     final Value cv = ctx.value;
     final StaticContext cs = ctx.sc;
@@ -206,6 +274,56 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
     }
   }
 
+  /**
+   * Returns a key for the given arguments. A key can only be created if all arguments
+   * are empty or single numbers, booleans, strings or untyped atomics.
+   * @param vals arguments
+   * @param ii input info
+   * @return key, or {@code null} if the arguments cannot be memoized
+   * @throws QueryException query exception
+   */
+  private static byte[] key(final Value[] vals, final InputInfo ii)
+      throws QueryException {
+    final TokenBuilder tb = new TokenBuilder();
+    for(final Value v : vals) {
+      if(v.isEmpty()) {
+        tb.add(0);
+        continue;
+      }
+      if(v.size() != 1) return null;
+      final Item it = v.itemAt(0);
+      if(!(it instanceof ANum || it instanceof Bln || it instanceof Atm ||
+          it instanceof Str)) return null;
+      // doubles and floats are represented by their exact values
+      final byte[] val = it instanceof Dbl || it instanceof Flt ?
+        Token.token(Double.toString(it.dbl(ii))) : it.string(ii);
+      tb.add(it.type.string()).add(0).add(val).add(0);
+    }
+    return tb.finish();
+  }
+
+  /**
+   * Checks if the specified result can be memoized. Results with constructed nodes
+   * are not memoized, as each invocation must return new nodes. The same applies to
+   * function items and maps, which may contain or enclose constructed nodes.
+   * @param v result
+   * @return result of check
+   */
+  private static boolean memoizable(final Value v) {
+    for(final Item it : v) if(it instanceof FNode || it instanceof FItem) return false;
+    return true;
+  }
+
+  /**
+   * Adds evaluation info on memoized results and releases them.
+   * @param ctx query context
+   */
+  void close(final QueryContext ctx) {
+    if(results == null) return;
+    ctx.evalInfo(Util.info(EVALMEMO, name, hits, calls, results.size()));
+    results = null;
+  }
+
   /**
    * Adds the given arguments to the variable stack.
    * @param ctx query context
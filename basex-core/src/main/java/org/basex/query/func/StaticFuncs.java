@@ -204,6 +204,14 @@ public final class StaticFuncs extends ExprInfo {
     if(!funcs.isEmpty()) addPlan(plan, planElem(), funcs());
   }
 
+  /**
+   * Adds evaluation info on memoized functions and releases their results.
+   * @param ctx query context
+   */
+  public void close(final QueryContext ctx) {
+    for(final FuncCache fc : funcs.values()) if(fc.func != null) fc.func.close(ctx);
+  }
+
   /**
    * Returns all user-defined functions.
    * @return functions
@@ -4,14 +4,17 @@ import static org.basex.query.QueryText.*;
 
 import java.util.List;
 
+import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.CmpG.OpG;
 import org.basex.query.func.*;
 import org.basex.query.gflwor.GFLWOR.Clause;
 import org.basex.query.gflwor.GFLWOR.Eval;
 import org.basex.query.iter.*;
 import org.basex.query.path.*;
 import org.basex.query.util.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.seq.*;
@@ -20,6 +23,7 @@ import org.basex.query.value.type.SeqType.Occ;
 import org.basex.query.var.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
+import org.basex.util.list.*;
 
 /**
  * FLWOR {@code for} clause, iterating over a sequence.
@@ -38,6 +42,10 @@ public final class For extends GFLWOR.Clause {
   Expr expr;
   /** {@code allowing empty} flag. */
   final boolean empty;
+  /** Join key, evaluated for the bound items ({@code null} if no join is performed). */
+  Expr key;
+  /** Join probe, evaluated for the incoming tuples. */
+  Expr probe;
 
   /**
    * Constructor.
@@ -60,6 +68,7 @@ public final class For extends GFLWOR.Clause {
 
   @Override
   Eval eval(final Eval sub) {
+    if(probe != null) return join(sub);
     return new Eval() {
       /** Expression iterator. */
       private Iter iter;
@@ -96,6 +105,129 @@ public final class For extends GFLWOR.Clause {
     };
   }
 
+  /**
+   * Returns an evaluator for a hash join. The bound items are evaluated once and indexed
+   * by the string values of their join keys.
+   * @param sub wrapped evaluator
+   * @return evaluator
+   */
+  private Eval join(final Eval sub) {
+    return new Eval() {
+      /** Bound items. */
+      private Value items;
+      /** Positions of the bound items, indexed by their keys ({@code null}: no index). */
+      private TokenObjMap<IntList> index;
+      /** Matching items. */
+      private Iter iter = Empty.ITER;
+      @Override
+      public boolean next(final QueryContext ctx) throws QueryException {
+        while(true) {
+          final Item it = iter.next();
+          if(it != null) {
+            ctx.set(var, it, info);
+            return true;
+          }
+          if(!sub.next(ctx)) return false;
+          if(items == null) {
+            items = ctx.value(expr);
+            index = index(items, ctx);
+          }
+          iter = matches(items, index, ctx);
+        }
+      }
+    };
+  }
+
+  /**
+   * Indexes the bound items by the string values of their join keys.
+   * @param items bound items
+   * @param ctx query context
+   * @return index, or {@code null} if keys may not be compared as strings
+   * @throws QueryException query exception
+   */
+  private TokenObjMap<IntList> index(final Value items, final QueryContext ctx)
+      throws QueryException {
+
+    if(ctx.sc.collation != null) return null;
+    final TokenObjMap<IntList> index = new TokenObjMap<IntList>();
+    final Value cv = ctx.value;
+    try {
+      final int is = (int) items.size();
+      for(int i = 0; i < is; i++) {
+        ctx.checkStop();
+        ctx.value = items.itemAt(i);
+        final Iter ir = ctx.iter(key);
+        for(Item it; (it = ir.next()) != null;) {
+          if(!string(it)) return null;
+          final byte[] k = it.string(info);
+          IntList il = index.get(k);
+          if(il == null) {
+            il = new IntList(1);
+            index.put(k, il);
+          }
+          if(il.isEmpty() || il.get(il.size() - 1) != i) il.add(i);
+        }
+      }
+    } finally {
+      ctx.value = cv;
+    }
+    return index;
+  }
+
+  /**
+   * Returns the bound items whose keys match the probe of the current tuple.
+   * @param items bound items
+   * @param index index of the bound items (may be {@code null})
+   * @param ctx query context
+   * @return matching items
+   * @throws QueryException query exception
+   */
+  private Iter matches(final Value items, final TokenObjMap<IntList> index,
+      final QueryContext ctx) throws QueryException {
+
+    final Value pr = ctx.value(probe);
+    final ValueBuilder vb = new ValueBuilder();
+    boolean hash = index != null;
+    for(final Item it : pr) hash &= string(it);
+
+    if(hash) {
+      // look up items with matching keys
+      final IntList pos = new IntList();
+      for(final Item it : pr) {
+        final IntList il = index.get(it.string(info));
+        if(il == null) continue;
+        final int is = il.size();
+        for(int i = 0; i < is; i++) pos.add(il.get(i));
+      }
+      if(pr.size() > 1) pos.sort().unique();
+      final int ps = pos.size();
+      for(int p = 0; p < ps; p++) vb.add(items.itemAt(pos.get(p)));
+    } else {
+      // compare keys of all items with the probe
+      final CmpG cmp = new CmpG(key, pr, OpG.EQ, info);
+      final Value cv = ctx.value;
+      try {
+        for(final Item it : items) {
+          ctx.checkStop();
+          ctx.value = it;
+          if(cmp.item(ctx, info).bool(info)) vb.add(it);
+        }
+      } finally {
+        ctx.value = cv;
+      }
+    }
+    return vb;
+  }
+
+  /**
+   * Checks if the specified join key can be compared by its string value.
+   * @param it item
+   * @return result of check
+   */
+  private static boolean string(final Item it) {
+    return it instanceof ANode || it instanceof AStr || it instanceof Atm;
+  }
+
   @Override
   public void plan(final FElem plan) {
     final FElem e = planElem();
@@ -114,6 +246,12 @@ public final class For extends GFLWOR.Clause {
     }
 
     expr.plan(e);
+    if(probe != null) {
+      final FElem e2 = new FElem(QueryText.JOIN);
+      key.plan(e2);
+      probe.plan(e2);
+      e.add(e2);
+    }
     plan.add(e);
   }
 
@@ -123,12 +261,16 @@ public final class For extends GFLWOR.Clause {
     if(empty) sb.append(' ').append(ALLOWING).append(' ').append(EMPTYORD);
     if(pos != null) sb.append(' ').append(AT).append(' ').append(pos);
     if(score != null) sb.append(' ').append(SCORE).append(' ').append(score);
-    return sb.append(' ').append(IN).append(' ').append(expr).toString();
+    sb.append(' ').append(IN).append(' ').append(expr);
+    if(probe != null) sb.append('[').append(key).append(" = ").append(probe).append(']');
+    return sb.toString();
   }
 
   @Override
   public boolean has(final Flag flag) {
-    return expr.has(flag);
+    // the context of the join key is bound to the items of the bound expression
+    return expr.has(flag) || probe != null && (probe.has(flag) ||
+        flag != Flag.CTX && flag != Flag.FCS && key.has(flag));
   }
 
   @Override
@@ -151,21 +293,29 @@ public final class For extends GFLWOR.Clause {
 
   @Override
   public boolean removable(final Var v) {
-    return expr.removable(v);
+    return expr.removable(v) && (probe == null || probe.removable(v) && !key.uses(v));
   }
 
   @Override
   public VarUsage count(final Var v) {
-    return expr.count(v);
+    if(probe == null) return expr.count(v);
+    // the join key is evaluated for each bound item
+    return key.uses(v) ? VarUsage.MORE_THAN_ONCE : VarUsage.sum(v, expr, probe);
   }
 
   @Override
   public Clause inline(final QueryContext ctx, final VarScope scp,
       final Var v, final Expr e) throws QueryException {
     final Expr sub = expr.inline(ctx, scp, v, e);
-    if(sub == null) return null;
-    expr = sub;
-    return optimize(ctx, scp);
+    boolean change = sub != null;
+    if(change) expr = sub;
+    if(probe != null) {
+      final Expr k = key.inline(ctx, scp, v, e), p = probe.inline(ctx, scp, v, e);
+      if(k != null) key = k;
+      if(p != null) probe = p;
+      change |= k != null || p != null;
+    }
+    return change ? optimize(ctx, scp) : null;
   }
 
   @Override
@@ -176,12 +326,19 @@ public final class For extends GFLWOR.Clause {
     if(p != null) vs.put(pos.id, p);
     final Var s = score == null ? null : scp.newCopyOf(ctx, score);
     if(s != null) vs.put(score.id, s);
-    return new For(v, p, s, expr.copy(ctx, scp, vs), empty, info);
+    final For f = new For(v, p, s, expr.copy(ctx, scp, vs), empty, info);
+    if(probe != null) {
+      f.key = key.copy(ctx, scp, vs);
+      f.probe = probe.copy(ctx, scp, vs);
+    }
+    return f;
   }
 
   @Override
   public boolean accept(final ASTVisitor visitor) {
-    return expr.accept(visitor) && visitor.declared(var)
+    return expr.accept(visitor) &&
+        (probe == null || key.accept(visitor) && probe.accept(visitor)) &&
+        visitor.declared(var)
         && (pos == null || visitor.declared(pos))
         && (score == null || visitor.declared(score));
   }
@@ -200,7 +357,7 @@ public final class For extends GFLWOR.Clause {
 
   @Override
   public void checkUp() throws QueryException {
-    checkNoUp(expr);
+    checkNoneUp(expr, key, probe);
   }
 
   /**
@@ -210,7 +367,7 @@ public final class For extends GFLWOR.Clause {
    * @return {@code true} if the clause was converted, {@code false} otherwise
    */
   boolean asLet(final List<GFLWOR.Clause> clauses, final int p) {
-    if(expr.size() != 1 && !expr.type().one()) return false;
+    if(probe != null || expr.size() != 1 && !expr.type().one()) return false;
     clauses.set(p, Let.fromFor(this));
     if(score != null) clauses.add(p + 1, Let.fromForScore(this));
     if(pos != null) clauses.add(p + 1, new Let(pos, Int.get(1), false, info));
@@ -227,7 +384,7 @@ public final class For extends GFLWOR.Clause {
    */
   boolean toPred(final QueryContext ctx, final VarScope scp, final Expr p)
       throws QueryException {
-    if(empty || vars.length > 1 || !p.removable(var)) return false;
+    if(probe != null || empty || vars.length > 1 || !p.removable(var)) return false;
     final Expr r = p.inline(ctx, scp, var, new Context(info)), e = r == null ? p : r;
 
     // attach predicates to axis path or filter, or create a new filter
@@ -245,14 +402,71 @@ public final class For extends GFLWOR.Clause {
     return true;
   }
 
+  /**
+   * Tries to rewrite the given equality comparison to a hash join. One operand must
+   * be a key of the bound items, the other one must not depend on this loop, and
+   * the bound expression must not depend on the preceding clauses.
+   * @param ctx query context
+   * @param scp variable scope
+   * @param p comparison
+   * @param decl variables declared by the preceding clauses
+   * @return success
+   * @throws QueryException query exception
+   */
+  boolean toJoin(final QueryContext ctx, final VarScope scp, final Expr p,
+      final List<Var> decl) throws QueryException {
+
+    if(probe != null || empty || vars.length > 1 || !(p instanceof CmpG) ||
+        ((CmpG) p).op() != OpG.EQ || expr.has(Flag.NDT) || indexed(ctx)) return false;
+
+    final Expr[] ops = ((CmpG) p).expr;
+    final int k = ops[0].uses(var) ? 0 : 1;
+    final Expr ky = ops[k], pr = ops[1 - k];
+    if(!ky.uses(var) || pr.uses(var) || !string(ky.type()) || !string(pr.type()) ||
+        ky.has(Flag.CTX) || ky.has(Flag.FCS) || ky.has(Flag.NDT) || !ky.removable(var))
+      return false;
+    for(final Var v : decl) if(expr.uses(v) || ky.uses(v)) return false;
+
+    ctx.compInfo(OPTJOIN, p);
+    final Expr r = ky.inline(ctx, scp, var, new Context(info));
+    key = r == null ? ky : r;
+    probe = pr;
+    return true;
+  }
+
+  /**
+   * Checks if the specified join type may be compared by string values.
+   * @param st sequence type
+   * @return result of check
+   */
+  private static boolean string(final SeqType st) {
+    final Type t = st.type;
+    return t.isStringOrUntyped() || t.isNode() || t == AtomType.ITEM;
+  }
+
+  /**
+   * Checks if the bound expression is a path on a database with value indexes.
+   * Such paths will be rewritten for index access instead.
+   * @param ctx query context
+   * @return result of check
+   */
+  private boolean indexed(final QueryContext ctx) {
+    if(!(expr instanceof AxisPath)) return false;
+    final Expr r = ((AxisPath) expr).root;
+    final Data data = r == null ? ctx.data() :
+      r instanceof Value ? ((Value) r).data() : null;
+    return data != null && (data.meta.textindex || data.meta.attrindex);
+  }
+
   @Override
   long calcSize(final long count) {
+    if(probe != null) return -1;
     final long sz = expr.size();
     return sz < 0 ? -1 : sz > 0 ? sz * count : empty ? 1 : 0;
   }
 
   @Override
   public int exprSize() {
-    return expr.exprSize();
+    return expr.exprSize() + (probe == null ? 0 : key.exprSize() + probe.exprSize());
   }
 }
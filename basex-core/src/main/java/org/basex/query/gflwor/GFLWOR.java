@@ -141,7 +141,8 @@ public final class GFLWOR extends ParseExpr {
       if(clauses.getLast() instanceof For && ret instanceof VarRef) {
         final For last = (For) clauses.getLast();
         // for $x in E return $x  ==>  return E
-        if(!last.var.checksType() && last.var.is(((VarRef) ret).var)) {
+        if(!last.var.checksType() && last.probe == null &&
+            last.var.is(((VarRef) ret).var)) {
           clauses.removeLast();
           ret = last.expr;
           changed = true;
@@ -150,7 +151,7 @@ public final class GFLWOR extends ParseExpr {
 
       if(!clauses.isEmpty() && clauses.getFirst() instanceof For) {
         final For fst = (For) clauses.getFirst();
-        if(!fst.empty && fst.expr instanceof GFLWOR) {
+        if(!fst.empty && fst.probe == null && fst.expr instanceof GFLWOR) {
           ctx.compInfo(QueryText.OPTFLAT, fst);
           final GFLWOR sub = (GFLWOR) fst.expr;
           clauses.set(0, new For(fst.var, null, fst.score, sub.ret, false, fst.info));
@@ -454,7 +455,9 @@ public final class GFLWOR extends ParseExpr {
         final int newPos = insert < 0 ? i : insert;
         for(int b4 = newPos; --b4 >= 0;) {
           final Clause before = clauses.get(b4);
-          if(before instanceof For && ((For) before).toPred(ctx, scp, wh.pred)) {
+          final For f = before instanceof For ? (For) before : null;
+          if(f != null && (f.toJoin(ctx, scp, wh.pred, vars(b4)) ||
+              f.toPred(ctx, scp, wh.pred))) {
             clauses.remove(newPos);
             i--;
             change = true;
@@ -469,6 +472,21 @@ public final class GFLWOR extends ParseExpr {
     return change;
   }
 
+  /**
+   * Returns the variables declared by the specified number of leading clauses whose
+   * values may change while this expression is evaluated. Leading let clauses are
+   * skipped, as they are evaluated only once.
+   * @param n number of clauses
+   * @return variables
+   */
+  private ArrayList<Var> vars(final int n) {
+    final ArrayList<Var> list = new ArrayList<Var>();
+    int c = 0;
+    while(c < n && clauses.get(c) instanceof Let) c++;
+    for(; c < n; c++) for(final Var v : clauses.get(c).vars) list.add(v);
+    return list;
+  }
+
   /** Merges consecutive {@code where} clauses. */
   private void mergeWheres() {
     Where before = null;
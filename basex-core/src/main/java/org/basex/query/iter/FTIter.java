@@ -12,4 +12,18 @@ import org.basex.query.value.node.*;
 public abstract class FTIter extends Iter {
   @Override
   public abstract FTNode next() throws QueryException;
+
+  /**
+   * Returns the next node with a pre value that is equal to or larger than the
+   * specified value. The value must be larger than the pre value of the last node.
+   * @param pre pre value
+   * @return node or {@code null}
+   * @throws QueryException query exception
+   */
+  public FTNode skip(final int pre) throws QueryException {
+    while(true) {
+      final FTNode node = next();
+      if(node == null || node.pre >= pre) return node;
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package org.basex.query.path;
 
+import static org.basex.query.QueryText.*;
 import static org.basex.query.util.Err.*;
 
 import org.basex.query.*;
@@ -21,8 +22,14 @@ import org.basex.util.hash.*;
 final class CachedPath extends AxisPath {
   /** Flag for result caching. */
   private boolean cache;
+  /** Flag for evaluating the steps via a structural join. */
+  private boolean join;
   /** Cached result. */
   private NodeSeqBuilder citer;
+  /** Cached result of a structural join. */
+  private Value cjoin;
+  /** Indicates if the evaluation via the structural join has been reported. */
+  private boolean joined;
   /** Last visited item. */
   private Value lvalue;
 
@@ -43,6 +50,7 @@ final class CachedPath extends AxisPath {
 
     // analyze if result set can be cached - no predicates/variables...
     cache = root != null && !hasFreeVars();
+    join = StaircaseJoin.supports(steps);
     return this;
   }
 
@@ -59,9 +67,19 @@ final class CachedPath extends AxisPath {
        * - the code is called for the first time
        * - the value has changed and the underlying node is not the same
        */
-      if(!cache || citer == null || lvalue != r && !(r instanceof ANode &&
-          lvalue instanceof ANode && ((ANode) lvalue).is((ANode) r))) {
+      if(!cache || citer == null && cjoin == null || lvalue != r && !(r instanceof ANode
+          && lvalue instanceof ANode && ((ANode) lvalue).is((ANode) r))) {
         lvalue = r;
+        // evaluate steps on pre values of database nodes
+        cjoin = join && r != null ? StaircaseJoin.eval(r, steps, type.type, ctx) : null;
+        if(cjoin != null) {
+          if(!joined) {
+            ctx.evalInfo(Util.info(EVALJOIN, this));
+            joined = true;
+          }
+          citer = null;
+          return cjoin.iter();
+        }
         citer = new NodeSeqBuilder().check();
         if(r != null) {
           final Iter ir = ctx.iter(r);
@@ -76,6 +94,8 @@ final class CachedPath extends AxisPath {
           iter(0, citer, ctx);
         }
         citer.sort();
+      } else if(cjoin != null) {
+        return cjoin.iter();
       } else {
         citer.reset();
       }
@@ -119,7 +139,9 @@ final class CachedPath extends AxisPath {
     final CachedPath ap = copyType(
         new CachedPath(info, root == null ? null : root.copy(ctx, scp, vs), stps));
     ap.cache = cache;
+    ap.join = join;
     if(citer != null) ap.citer = citer.copy();
+    ap.cjoin = cjoin;
     if(lvalue != null) ap.lvalue = lvalue;
     return ap;
   }
@@ -71,6 +71,14 @@ public final class MixedPath extends Path {
       final int sl = steps.length;
       for(int s = 0; s < sl; s++) {
         final Expr e = steps[s];
+        // map operator with arithmetic expression: process native sequences in bulk
+        if(e instanceof Bang && ((Bang) e).expr instanceof Arith) {
+          final Value val = res.value();
+          final Value mv = ((Arith) ((Bang) e).expr).map(val);
+          res = (mv != null ? mv : val).iter();
+          if(mv != null) continue;
+        }
+
         final ValueBuilder vb = new ValueBuilder();
 
         // map operator: don't remove duplicates and check for nodes
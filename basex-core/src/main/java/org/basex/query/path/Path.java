@@ -310,8 +310,15 @@ public abstract class Path extends ParseExpr {
       if(curr == null || curr.axis != DESC || curr.has(Flag.FCS)) continue;
 
       // check if child steps can be retrieved for current step
-      ArrayList<PathNode> pn = pathNodes(data, s);
-      if(pn == null) continue;
+      ArrayList<PathNode> pn = pathNodes(data, s, true);
+      if(pn == null) {
+        // otherwise, skip subtrees that contain no results
+        final Expr[] stps = subtree(data, s);
+        if(stps == null) continue;
+        ctx.compInfo(OPTCHILD, steps[s]);
+        path = get(info, root, stps);
+        break;
+      }
 
       // cache child steps
       final ArrayList<QNm> qnm = new ArrayList<QNm>();
@@ -375,6 +382,63 @@ public abstract class Path extends ParseExpr {
     return steps[i] instanceof Step ? (Step) steps[i] : null;
   }
 
+  /**
+   * Rewrites the steps up to the specified descendant step to child steps, which lead
+   * to the deepest ancestor of all results, and the descendant step. By that, all
+   * other subtrees will be skipped at evaluation time.
+   * @param data data reference
+   * @param l descendant step
+   * @return new steps, or {@code null} if the path cannot be rewritten
+   */
+  private Expr[] subtree(final Data data, final int l) {
+    final ArrayList<PathNode> pn = pathNodes(data, l, false);
+    if(pn == null) return null;
+
+    // find deepest common ancestor
+    PathNode anc = pn.get(0).par;
+    for(final PathNode p : pn) {
+      while(!ancestor(anc, p)) anc = anc.par;
+    }
+    // skip rewriting if no subtrees can be skipped, or if the preceding steps
+    // already are child steps that lead to the ancestor
+    boolean child = true;
+    for(int s = 0; s < l; s++) child &= axisStep(s).axis == CHILD;
+    if(anc.par == null || child && anc.level() == l) return null;
+
+    // all nodes below the ancestor with the same name must be results
+    final PathNode node = pn.get(0);
+    int c = 0;
+    final ArrayList<PathNode> al = new ArrayList<PathNode>();
+    al.add(anc);
+    for(final PathNode p : PathSummary.desc(al, true)) {
+      if(p.kind == node.kind && p.name == node.name) c++;
+    }
+    if(c != pn.size()) return null;
+
+    // create child steps, followed by the descendant step and the remaining steps
+    final int ts = anc.level();
+    final Expr[] stps = new Expr[ts + steps.length - l];
+    for(PathNode p = anc; p.par != null; p = p.par) {
+      final QNm nm = new QNm(data.tagindex.key(p.name));
+      // skip children with prefixes
+      if(nm.hasPrefix()) return null;
+      stps[p.level() - 1] = Step.get(info, CHILD, new NameTest(nm, Mode.NAME, false));
+    }
+    System.arraycopy(steps, l, stps, ts, steps.length - l);
+    return stps;
+  }
+
+  /**
+   * Checks if a path node is an ancestor of another node.
+   * @param anc ancestor
+   * @param node node
+   * @return result of check
+   */
+  private static boolean ancestor(final PathNode anc, final PathNode node) {
+    for(PathNode p = node.par; p != null; p = p.par) if(p == anc) return true;
+    return false;
+  }
+
   /**
    * Returns all summary path nodes for the specified location step or
    * {@code null} if nodes cannot be retrieved or are found on different levels.
@@ -383,6 +447,19 @@ public abstract class Path extends ParseExpr {
    * @return path nodes
    */
   ArrayList<PathNode> pathNodes(final Data data, final int l) {
+    return pathNodes(data, l, true);
+  }
+
+  /**
+   * Returns all summary path nodes for the specified location step or
+   * {@code null} if nodes cannot be retrieved.
+   * @param data data reference
+   * @param l last step to be checked
+   * @param level return {@code null} if nodes are found on different levels
+   * @return path nodes
+   */
+  private ArrayList<PathNode> pathNodes(final Data data, final int l,
+      final boolean level) {
     // skip request if no path index exists or might be out-of-date
     if(!data.meta.uptodate) return null;
 
@@ -400,7 +477,7 @@ public abstract class Path extends ParseExpr {
       for(final PathNode pn : PathSummary.desc(in, desc)) {
         if(pn.kind == Data.ELEM && name == pn.name) {
           // skip test if a tag is found on different levels
-          if(!al.isEmpty() && al.get(0).level() != pn.level()) return null;
+          if(level && !al.isEmpty() && al.get(0).level() != pn.level()) return null;
           al.add(pn);
         }
       }
@@ -0,0 +1,177 @@
+package org.basex.query.path;
+
+import org.basex.data.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.path.Test.Mode;
+import org.basex.query.value.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.list.*;
+
+/**
+ * Structural join for location paths on database nodes.
+ *
+ * All steps are evaluated on sorted pre values: nested context nodes are skipped
+ * with the help of the size of their ancestors (staircase pruning), and subtrees
+ * are skipped by the child axis. Node instances will only be created when the
+ * resulting sequence is consumed.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+final class StaircaseJoin {
+  /** Private constructor. */
+  private StaircaseJoin() { }
+
+  /**
+   * Checks if the specified steps can be evaluated by the join.
+   * @param steps steps
+   * @return result of check
+   */
+  static boolean supports(final Expr[] steps) {
+    for(final Expr expr : steps) {
+      if(!(expr instanceof Step)) return false;
+      final Step step = (Step) expr;
+      if(step.preds.length != 0) return false;
+
+      switch(step.axis) {
+        case CHILD: case DESC: case DESCORSELF: case SELF: case ATTR: break;
+        default: return false;
+      }
+      final Test test = step.test;
+      if(test instanceof NameTest) {
+        if(test.mode != Mode.ALL && test.mode != Mode.NAME) return false;
+      } else if(!(test instanceof KindTest) || test.type == NodeType.NSP) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Evaluates the steps for the specified value.
+   * @param value context value
+   * @param steps steps (must be supported by {@link #supports})
+   * @param type type of resulting nodes
+   * @param ctx query context
+   * @return resulting sequence, or {@code null} if the value cannot be processed
+   * @throws QueryException query exception
+   */
+  static Value eval(final Value value, final Expr[] steps, final Type type,
+      final QueryContext ctx) throws QueryException {
+
+    // full-text nodes are skipped, as their scores must be passed on
+    final Data data;
+    int[] pres;
+    if(value instanceof DBNodeSeq) {
+      // pre values must be sorted and duplicate-free (reversed sequences are not)
+      pres = ((DBNodeSeq) value).pres;
+      for(int p = 1; p < pres.length; p++) if(pres[p - 1] >= pres[p]) return null;
+    } else if(value instanceof DBNode && !(value instanceof FTNode)) {
+      pres = new int[] { ((DBNode) value).pre };
+    } else {
+      return null;
+    }
+    data = value.data();
+    // names can only be compared by their ids if no namespaces are defined
+    if(data.nspaces.size() != 0) {
+      for(final Expr step : steps) {
+        if(((Step) step).test.mode == Mode.NAME) return null;
+      }
+    }
+
+    for(final Expr step : steps) {
+      if(pres.length == 0) break;
+      pres = step((Step) step, pres, data, ctx);
+    }
+    return DBNodeSeq.get(pres, data, type, false);
+  }
+
+  /**
+   * Evaluates a single step.
+   * @param step step
+   * @param input sorted and duplicate-free pre values of the context nodes
+   * @param data data reference
+   * @param ctx query context
+   * @return sorted and duplicate-free pre values of the resulting nodes
+   * @throws QueryException query exception
+   */
+  private static int[] step(final Step step, final int[] input, final Data data,
+      final QueryContext ctx) throws QueryException {
+
+    // node kind and name id to be matched (-1/0: ignore kind and name)
+    final Test test = step.test;
+    final int kind = test.type == NodeType.NOD ? -1 : ANode.kind(test.type);
+    int name = 0;
+    if(test.mode == Mode.NAME) {
+      final byte[] ln = ((NameTest) test).ln;
+      name = (kind == Data.ATTR ? data.atnindex : data.tagindex).id(ln);
+      if(name == 0) return new int[0];
+    }
+
+    final IntList out = new IntList();
+    // end of the last context node whose descendants have been scanned
+    int end = 0;
+    boolean sort = false;
+    for(final int pre : input) {
+      ctx.checkStop();
+      final int k = data.kind(pre);
+      switch(step.axis) {
+        case SELF:
+          if(matches(pre, k, kind, name, data)) out.add(pre);
+          break;
+        case ATTR:
+          final int as = pre + data.attSize(pre, k);
+          for(int p = pre + 1; p < as; p++) {
+            if(matches(p, Data.ATTR, kind, name, data)) out.add(p);
+          }
+          break;
+        case CHILD:
+          // children of nested context nodes may precede the remaining ones
+          final int ce = pre + data.size(pre, k);
+          sort |= pre < end;
+          for(int p = pre + data.attSize(pre, k); p < ce;) {
+            final int pk = data.kind(p);
+            if(matches(p, pk, kind, name, data)) out.add(p);
+            p += data.size(p, pk);
+          }
+          end = Math.max(end, ce);
+          break;
+        default:
+          // descendant axes: skip nested context nodes, as their descendants
+          // have already been visited. attributes are not visited by the scan
+          final boolean self = step.axis == Axis.DESCORSELF;
+          if(pre < end) {
+            if(self && k == Data.ATTR && matches(pre, k, kind, name, data)) {
+              out.add(pre);
+              sort = true;
+            }
+            break;
+          }
+          end = pre + data.size(pre, k);
+          for(int p = self ? pre : pre + data.attSize(pre, k); p < end;) {
+            final int pk = data.kind(p);
+            if(matches(p, pk, kind, name, data)) out.add(p);
+            p += data.attSize(p, pk);
+          }
+      }
+    }
+    return sort ? out.sort().toArray() : out.toArray();
+  }
+
+  /**
+   * Checks if the specified node matches the kind and name.
+   * @param pre pre value
+   * @param k kind of the node
+   * @param kind kind to be matched ({@code -1}: all kinds)
+   * @param name name id to be matched ({@code 0}: all names)
+   * @param data data reference
+   * @return result of check
+   */
+  private static boolean matches(final int pre, final int k, final int kind,
+      final int name, final Data data) {
+    return (kind == -1 || k == kind) && (name == 0 || data.name(pre) == name);
+  }
+}
@@ -89,7 +89,7 @@ public abstract class ContextModifier {
       }
     }
 
-    for(final DatabaseUpdates c : updates) c.check(tmp);
+    for(final DatabaseUpdates c : updates) c.check(tmp, pendingUpdates.keySet());
     for(final DBCreate c : creates) c.prepare(null);
 
     int i = 0;
@@ -5,6 +5,7 @@ import static org.basex.query.util.Err.*;
 import java.io.*;
 import java.util.*;
 import java.util.List;
+import java.util.Set;
 
 import org.basex.core.*;
 import org.basex.core.cmd.*;
@@ -102,9 +103,10 @@ final class DatabaseUpdates {
    * Checks updates for violations. If a violation is found the complete update
    * process is aborted.
    * @param tmp temporary mem data
+   * @param updated data instances that will be updated
    * @throws QueryException query exception
    */
-  void check(final MemData tmp) throws QueryException {
+  void check(final MemData tmp, final Set<Data> updated) throws QueryException {
     // Prepare/check database operations
     for(final BasicOperation d : dbops)
       d.prepare(tmp);
@@ -119,7 +121,7 @@ final class DatabaseUpdates {
     for(int i = 0; i < s; ++i) {
       final NodeUpdates ups = updatePrimitives.get(nodes.get(i));
       for(final UpdatePrimitive p : ups.prim) {
-        if(p instanceof NodeCopy) ((NodeCopy) p).prepare(tmp);
+        if(p instanceof NodeCopy) ((NodeCopy) p).prepare(tmp, updated);
       }
     }
 
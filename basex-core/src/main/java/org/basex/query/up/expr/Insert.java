@@ -52,7 +52,7 @@ public final class Insert extends Update {
 
   @Override
   public Item item(final QueryContext ctx, final InputInfo ii) throws QueryException {
-    final Constr c = new Constr(ii, ctx).add(expr[1]);
+    final Constr c = new Constr(ii, ctx, false).add(expr[1]);
     final ANodeList cList = c.children;
     final ANodeList aList = c.atts;
     if(c.errAtt) UPNOATTRPER.thrw(info);
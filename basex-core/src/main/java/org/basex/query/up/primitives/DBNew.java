@@ -27,7 +27,8 @@ public abstract class DBNew extends BasicOperation {
     Prop.INDEXSPLITSIZE, Prop.FTINDEXSPLITSIZE };
   /** Boolean index options. */
   protected static final Object[][] B_OPT = { Prop.TEXTINDEX, Prop.ATTRINDEX,
-    Prop.FTINDEX, Prop.STEMMING, Prop.CASESENS, Prop.DIACRITICS,  Prop.UPDINDEX };
+    Prop.FTINDEX, Prop.STEMMING, Prop.CASESENS, Prop.DIACRITICS, Prop.FUZZYINDEX,
+    Prop.UPDINDEX };
   /** String index options. */
   protected static final Object[][] S_OPT = { Prop.LANGUAGE, Prop.STOPWORDS };
   /** Keys of numeric index options. */
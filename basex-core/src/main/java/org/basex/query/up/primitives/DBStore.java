@@ -7,6 +7,7 @@ import java.io.*;
 
 import org.basex.data.*;
 import org.basex.io.*;
+import org.basex.io.out.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
 import org.basex.query.value.item.*;
@@ -51,8 +52,19 @@ public final class DBStore extends BasicOperation {
         if(file == null) UPDBPUTERR.thrw(info, path);
         file.dir().md();
         final Object item = map.get(path);
-        file.write(item instanceof Item ? ((Item) item).input(info) :
-          ((QueryInput) item).input.inputStream());
+        if(item instanceof Bin) {
+          // binaries are copied chunk-wise, as they may be streamed
+          final BufferOutput out = new BufferOutput(file.path());
+          try {
+            ((Bin) item).write(out, info);
+          } finally {
+            out.close();
+          }
+        } else if(item instanceof Item) {
+          file.write(((Item) item).string(info));
+        } else {
+          file.write(((QueryInput) item).input.inputStream());
+        }
       } catch(final IOException ex) {
         Util.debug(ex);
         UPDBPUTERR.thrw(info, path);
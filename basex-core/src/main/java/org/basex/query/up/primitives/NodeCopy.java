@@ -1,5 +1,7 @@
 package org.basex.query.up.primitives;
 
+import java.util.*;
+
 import org.basex.data.*;
 import org.basex.data.atomic.*;
 import org.basex.query.up.*;
@@ -39,12 +41,17 @@ public abstract class NodeCopy extends UpdatePrimitive {
    * Prepares this update primitive before execution. This includes e.g. the
    * preparation of insertion sequences.
    * @param tmp temporary database
+   * @param updated data instances that will be updated
    */
-  public final void prepare(final MemData tmp) {
+  public final void prepare(final MemData tmp, final Set<Data> updated) {
     // merge texts. after that, text nodes still need to be merged,
     // as two adjacent iterators may lead to two adjacent text nodes
     final ANodeList list = mergeNodeCacheText(insert);
     insert = null;
+    // reference database nodes in their original data instance
+    insseq = clip(list, updated);
+    if(insseq != null) return;
+
     // build main memory representation of nodes to be copied
     final int start = tmp.meta.size;
     new DataBuilder(tmp).build(list);
@@ -52,6 +59,36 @@ public abstract class NodeCopy extends UpdatePrimitive {
     insseq.fragments = list.size();
   }
 
+  /**
+   * Returns a data clip for the specified nodes if they can be directly copied
+   * from their original data instance. This is the case if all nodes are elements,
+   * which are stored in a contiguous range of the same database. The database must
+   * not be updated, and it must contain no namespaces, which might have been declared
+   * outside the copied range.
+   * @param list nodes to be copied
+   * @param updated data instances that will be updated
+   * @return data clip, or {@code null}
+   */
+  private static DataClip clip(final ANodeList list, final Set<Data> updated) {
+    final int ls = list.size();
+    if(ls == 0 || !(list.get(0) instanceof DBNode)) return null;
+    final Data data = ((DBNode) list.get(0)).data;
+    if(updated.contains(data) || data.nspaces.size() != 0) return null;
+
+    final int start = ((DBNode) list.get(0)).pre;
+    int end = start;
+    for(int l = 0; l < ls; l++) {
+      final ANode node = list.get(l);
+      if(node.type != NodeType.ELM || !(node instanceof DBNode)) return null;
+      final DBNode dbnode = (DBNode) node;
+      if(dbnode.data != data || dbnode.pre != end) return null;
+      end += data.size(end, Data.ELEM);
+    }
+    final DataClip clip = new DataClip(data, start, end);
+    clip.fragments = ls;
+    return clip;
+  }
+
   /**
    * Adds top entries from the temporary data instance to the name pool,
    * which is used for finding duplicate attributes and namespace conflicts.
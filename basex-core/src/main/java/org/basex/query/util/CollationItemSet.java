@@ -13,7 +13,7 @@ import org.basex.util.*;
  * @author BaseX Team 2005-13, BSD License
  * @author Christian Gruen
  */
-public final class CollationItemSet implements ItemSet {
+public final class CollationItemSet implements ItemSet, Iterable<Item> {
   /** Items. */
   private final ValueBuilder items = new ValueBuilder();
   /** Collation. */
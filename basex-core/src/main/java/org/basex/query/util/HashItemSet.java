@@ -14,7 +14,7 @@ import org.basex.util.hash.*;
  * @author BaseX Team 2005-12, BSD License
  * @author Christian Gruen
  */
-public class HashItemSet extends ASet implements ItemSet {
+public class HashItemSet extends ASet implements ItemSet, Iterable<Item> {
   /** Hash values. */
   private int[] hash;
   /** Hashed items. */
@@ -10,7 +10,7 @@ import org.basex.util.*;
  * @author BaseX Team 2005-13, BSD License
  * @author Christian Gruen
  */
-public interface ItemSet extends Iterable<Item> {
+public interface ItemSet {
   /**
    * Stores the specified key if it has not been stored before.
    * @param key key to be added
@@ -0,0 +1,44 @@
+package org.basex.query.util;
+
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+
+/**
+ * This set stores items without collation. Integers are stored as primitive longs,
+ * and strings and untyped atomics are stored as tokens. As soon as an item of
+ * another type is added, all values are moved to a {@link HashItemSet}.
+ *
+ * @author BaseX Team 2005-13, BSD License
+ * @author Christian Gruen
+ */
+public final class TypedItemSet implements ItemSet {
+  /** Integers. */
+  private LongSet ints;
+  /** Strings and untyped atomics. */
+  private TokenSet strings;
+  /** Items of other types (if not {@code null}, all values are stored here). */
+  private HashItemSet items;
+
+  @Override
+  public boolean add(final Item key, final InputInfo ii) throws QueryException {
+    if(items == null) {
+      if(key instanceof Int) {
+        if(ints == null) ints = new LongSet();
+        return ints.add(key.itr(ii));
+      }
+      if(key instanceof Atm || key instanceof Str && !(key instanceof Uri)) {
+        if(strings == null) strings = new TokenSet();
+        return strings.add(key.string(ii));
+      }
+      // items of other types may be equal to integers or strings
+      items = new HashItemSet();
+      if(ints != null) for(final long l : ints.toArray()) items.add(Int.get(l), ii);
+      if(strings != null) for(final byte[] s : strings) items.add(Str.get(s), ii);
+      ints = null;
+      strings = null;
+    }
+    return items.add(key, ii);
+  }
+}
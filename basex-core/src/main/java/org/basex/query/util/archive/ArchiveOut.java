@@ -8,6 +8,7 @@ import java.util.zip.*;
 import org.basex.io.*;
 import org.basex.io.out.*;
 import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 
 /**
@@ -62,6 +63,17 @@ public abstract class ArchiveOut {
    */
   public abstract void write(final ZipEntry entry, final byte[] val) throws IOException;
 
+  /**
+   * Writes the specified entry. Streamable binaries will not be materialized.
+   * @param entry zip entry
+   * @param bin binary item to be written
+   * @param info input info
+   * @throws QueryException query exception
+   * @throws IOException I/O exception
+   */
+  public abstract void write(final ZipEntry entry, final Bin bin, final InputInfo info)
+      throws QueryException, IOException;
+
   /**
    * Closes the stream.
    */
@@ -3,6 +3,8 @@ package org.basex.query.util.archive;
 import java.io.*;
 import java.util.zip.*;
 
+import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 
 /**
@@ -38,6 +40,12 @@ public final class GZIPOut extends ArchiveOut {
     zos.write(val);
   }
 
+  @Override
+  public void write(final ZipEntry entry, final Bin bin, final InputInfo info)
+      throws QueryException, IOException {
+    bin.write(zos, info);
+  }
+
   @Override
   public void close() {
     try { zos.close(); } catch(final IOException ex) { Util.debug(ex); }
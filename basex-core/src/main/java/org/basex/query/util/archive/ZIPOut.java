@@ -3,6 +3,8 @@ package org.basex.query.util.archive;
 import java.io.*;
 import java.util.zip.*;
 
+import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 
 /**
@@ -45,6 +47,14 @@ public final class ZIPOut extends ArchiveOut {
     zos.closeEntry();
   }
 
+  @Override
+  public void write(final ZipEntry entry, final Bin bin, final InputInfo info)
+      throws QueryException, IOException {
+    zos.putNextEntry(entry);
+    bin.write(zos, info);
+    zos.closeEntry();
+  }
+
   @Override
   public void close() {
     try { zos.close(); } catch(final IOException ex) { Util.debug(ex); }
@@ -49,6 +49,33 @@ public final class B64Stream extends B64 {
     }
   }
 
+  @Override
+  public void write(final OutputStream os, final InputInfo ii)
+      throws QueryException, IOException {
+
+    final InputStream is;
+    try {
+      is = input.inputStream();
+    } catch(final IOException ex) {
+      throw error.thrw(ii, ex);
+    }
+    try {
+      final byte[] buffer = new byte[IO.BLOCKSIZE];
+      while(true) {
+        final int l;
+        try {
+          l = is.read(buffer);
+        } catch(final IOException ex) {
+          throw error.thrw(ii, ex);
+        }
+        if(l == -1) break;
+        os.write(buffer, 0, l);
+      }
+    } finally {
+      try { is.close(); } catch(final IOException ignored) { }
+    }
+  }
+
   @Override
   public Item materialize(final InputInfo ii) throws QueryException {
     return new B64(binary(ii));
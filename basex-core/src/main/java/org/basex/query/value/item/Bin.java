@@ -1,5 +1,7 @@
 package org.basex.query.value.item;
 
+import java.io.*;
+
 import org.basex.io.in.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
@@ -42,6 +44,19 @@ public abstract class Bin extends Item {
     return new ArrayInput(data);
   }
 
+  /**
+   * Writes the binary content to the specified output stream.
+   * Streamable items will be copied without being materialized.
+   * @param os output stream
+   * @param ii input info
+   * @throws QueryException query exception (raised if the input cannot be read)
+   * @throws IOException I/O exception (raised if the output cannot be written)
+   */
+  public void write(final OutputStream os, final InputInfo ii)
+      throws QueryException, IOException {
+    os.write(binary(ii));
+  }
+
   @Override
   public final byte[] toJava() throws QueryException {
     return binary(null);
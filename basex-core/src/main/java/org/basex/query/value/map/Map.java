@@ -28,7 +28,7 @@ public final class Map extends FItem {
   static final int BITS = 5;
 
   /** Wrapped immutable map. */
-  private final TrieNode root;
+  final TrieNode root;
   /** Key sequence. */
   private Value keys;
   /** Size. */
@@ -38,7 +38,7 @@ public final class Map extends FItem {
    * Constructor.
    * @param m map
    */
-  private Map(final TrieNode m) {
+  Map(final TrieNode m) {
     super(SeqType.ANY_MAP);
     root = m;
   }
@@ -71,9 +71,9 @@ public final class Map extends FItem {
    * @return possibly atomized item if non {@code NaN}, {@code null} otherwise
    * @throws QueryException query exception
    */
-  private Item key(final Item it, final InputInfo ii) throws QueryException {
+  static Item key(final Item it, final InputInfo ii) throws QueryException {
     // no empty sequence allowed
-    if(it == null) throw INVEMPTY.thrw(ii, description());
+    if(it == null) throw INVEMPTY.thrw(ii, EMPTY.description());
 
     // function items can't be keys
     if(it instanceof FItem) throw FIATOM.thrw(ii, it.description());
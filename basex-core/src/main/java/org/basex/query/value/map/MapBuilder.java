@@ -0,0 +1,167 @@
+package org.basex.query.value.map;
+
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * Builder for creating a {@link Map} from a large number of bindings.
+ * All bindings are buffered and distributed to the trie in a single pass when
+ * {@link #map(InputInfo)} is called. In contrast to successive insertions,
+ * no intermediate trie nodes are created. If a key is added more than once,
+ * the last value wins.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class MapBuilder {
+  /** Hash codes of the keys. */
+  private int[] hashes = new int[Array.CAPACITY];
+  /** Keys. */
+  private Item[] keys = new Item[Array.CAPACITY];
+  /** Values. */
+  private Value[] values = new Value[Array.CAPACITY];
+  /** Number of bindings. */
+  private int size;
+
+  /** Indexes of the bindings, ordered by the hash codes of the current level. */
+  private int[] order;
+  /** Temporary array for reordering the indexes. */
+  private int[] tmp;
+
+  /**
+   * Adds a binding.
+   * @param key key
+   * @param value value
+   * @param ii input info
+   * @throws QueryException query exception
+   */
+  public void put(final Item key, final Value value, final InputInfo ii)
+      throws QueryException {
+    final Item k = Map.key(key, ii);
+    if(k != null) add(k.hash(ii), k, value);
+  }
+
+  /**
+   * Adds the binding of the specified map if it contains a single entry.
+   * @param map map
+   * @return {@code true} if the binding was added
+   */
+  public boolean put(final Map map) {
+    if(!(map.root instanceof Leaf)) return false;
+    final Leaf leaf = (Leaf) map.root;
+    add(leaf.hash, leaf.key, leaf.value);
+    return true;
+  }
+
+  /**
+   * Creates a map from all added bindings and resets the builder.
+   * @param ii input info
+   * @return map
+   * @throws QueryException query exception
+   */
+  public Map map(final InputInfo ii) throws QueryException {
+    if(size == 0) return Map.EMPTY;
+    order = new int[size];
+    tmp = new int[size];
+    for(int i = 0; i < size; i++) order[i] = i;
+    final TrieNode root = node(0, size, 0, ii);
+
+    order = null;
+    tmp = null;
+    hashes = new int[Array.CAPACITY];
+    keys = new Item[Array.CAPACITY];
+    values = new Value[Array.CAPACITY];
+    size = 0;
+    return new Map(root);
+  }
+
+  /**
+   * Adds a binding with a checked key.
+   * @param hash hash code of the key
+   * @param key key
+   * @param value value
+   */
+  private void add(final int hash, final Item key, final Value value) {
+    if(size == hashes.length) {
+      final int s = Array.newSize(size);
+      hashes = Arrays.copyOf(hashes, s);
+      keys = Arrays.copyOf(keys, s);
+      values = Arrays.copyOf(values, s);
+    }
+    hashes[size] = hash;
+    keys[size] = key;
+    values[size++] = value;
+  }
+
+  /**
+   * Creates a trie node for the specified range of ordered bindings.
+   * @param s start of the range
+   * @param e end of the range
+   * @param l level
+   * @param ii input info
+   * @return trie node
+   * @throws QueryException query exception
+   */
+  private TrieNode node(final int s, final int e, final int l, final InputInfo ii)
+      throws QueryException {
+
+    final int h = hashes[order[s]];
+    if(e - s == 1) return new Leaf(h, keys[order[s]], values[order[s]]);
+
+    int i = s + 1;
+    while(i < e && hashes[order[i]] == h) i++;
+    if(i == e) return collisions(s, e, h, ii);
+
+    // distribute bindings to the buckets of the current level (stable)
+    final int[] pos = new int[TrieNode.KIDS + 1];
+    for(i = s; i < e; i++) pos[TrieNode.key(hashes[order[i]], l) + 1]++;
+    for(i = 0; i < TrieNode.KIDS; i++) pos[i + 1] += pos[i];
+    final int[] start = pos.clone();
+    for(i = s; i < e; i++) tmp[s + pos[TrieNode.key(hashes[order[i]], l)]++] = order[i];
+    System.arraycopy(tmp, s, order, s, e - s);
+
+    final TrieNode[] kids = new TrieNode[TrieNode.KIDS];
+    int used = 0, sz = 0;
+    for(int k = 0; k < TrieNode.KIDS; k++) {
+      final int ks = s + start[k], ke = s + start[k + 1];
+      if(ks == ke) continue;
+      kids[k] = node(ks, ke, l + 1, ii);
+      used |= 1 << k;
+      sz += kids[k].size;
+    }
+    return new Branch(kids, used, sz);
+  }
+
+  /**
+   * Creates a trie node for bindings with the same hash code. Duplicate keys are
+   * resolved in the same way as by {@link TrieNode#insert}.
+   * @param s start of the range
+   * @param e end of the range
+   * @param h hash code
+   * @param ii input info
+   * @return trie node
+   * @throws QueryException query exception
+   */
+  private TrieNode collisions(final int s, final int e, final int h, final InputInfo ii)
+      throws QueryException {
+
+    final Item[] ks = new Item[e - s];
+    final Value[] vs = new Value[e - s];
+    int c = 0;
+    for(int i = s; i < e; i++) {
+      final Item k = keys[order[i]];
+      int j = 0;
+      while(j < c && !TrieNode.eq(k, ks[j], ii)) j++;
+      // a leaf adopts the new key, a collision list keeps the old one
+      if(j == c || c == 1) ks[j] = k;
+      vs[j] = values[order[i]];
+      if(j == c) c++;
+    }
+    return c == 1 ? new Leaf(h, ks[0], vs[0]) :
+      new List(h, Arrays.copyOf(ks, c), Arrays.copyOf(vs, c));
+  }
+}
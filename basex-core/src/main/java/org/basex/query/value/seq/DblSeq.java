@@ -27,6 +27,14 @@ public final class DblSeq extends NativeSeq {
     values = vals;
   }
 
+  /**
+   * Returns the internal values.
+   * @return values
+   */
+  public double[] values() {
+    return values;
+  }
+
   @Override
   public Dbl itemAt(final long pos) {
     return Dbl.get(values[(int) pos]);
@@ -28,6 +28,14 @@ public final class IntSeq extends NativeSeq {
     values = vals;
   }
 
+  /**
+   * Returns the internal values.
+   * @return values
+   */
+  public long[] values() {
+    return values;
+  }
+
   @Override
   public Int itemAt(final long pos) {
     return Int.get(values[(int) pos], type);
@@ -41,11 +41,27 @@ public abstract class Seq extends Value {
 
   /**
    * Returns a value representation of the specified items.
+   * Integers and doubles of the same type are stored as primitive values.
    * @param v value
    * @param s size
    * @return resulting item or sequence
    */
   public static Value get(final Item[] v, final int s) {
+    if(s > 1 && (v[0] instanceof Int || v[0] instanceof Dbl)) {
+      final Type t = v[0].type;
+      int i = 1;
+      while(i < s && v[i].type == t) i++;
+      if(i == s) {
+        if(t == AtomType.DBL) {
+          final double[] vals = new double[s];
+          for(int d = 0; d < s; d++) vals[d] = ((Dbl) v[d]).dbl();
+          return DblSeq.get(vals);
+        }
+        final long[] vals = new long[s];
+        for(int l = 0; l < s; l++) vals[l] = ((Int) v[l]).itr();
+        return IntSeq.get(vals, t);
+      }
+    }
     return get(v, s, null);
   }
 
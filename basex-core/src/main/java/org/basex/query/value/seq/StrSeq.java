@@ -29,6 +29,14 @@ public final class StrSeq extends NativeSeq {
     values = vals;
   }
 
+  /**
+   * Returns the internal values.
+   * @return values
+   */
+  public byte[][] values() {
+    return values;
+  }
+
   @Override
   public Str itemAt(final long pos) {
     return Str.get(values[(int) pos]);
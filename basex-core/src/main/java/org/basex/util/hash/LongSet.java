@@ -0,0 +1,78 @@
+package org.basex.util.hash;
+
+import java.util.*;
+
+import org.basex.util.*;
+
+/**
+ * This is an efficient and memory-saving hash set for storing primitive longs.
+ * It is related to the {@link IntSet} class.
+ *
+ * @author BaseX Team 2005-13, BSD License
+ * @author Christian Gruen
+ */
+public final class LongSet extends ASet {
+  /** Hashed keys. */
+  private long[] keys;
+
+  /**
+   * Default constructor.
+   */
+  public LongSet() {
+    super(Array.CAPACITY);
+    keys = new long[bucket.length];
+  }
+
+  /**
+   * Stores the specified key if it has not been stored before.
+   * @param key key to be added
+   * @return {@code true} if the key did not exist yet and was stored
+   */
+  public boolean add(final long key) {
+    checkSize();
+    final int b = hash(key) & bucket.length - 1;
+    for(int r = bucket[b]; r != 0; r = next[r]) if(key == keys[r]) return false;
+    next[size] = bucket[b];
+    keys[size] = key;
+    bucket[b] = size++;
+    return true;
+  }
+
+  /**
+   * Checks if the set contains the specified key.
+   * @param key key to be looked up
+   * @return result of check
+   */
+  public boolean contains(final long key) {
+    final int b = hash(key) & bucket.length - 1;
+    for(int r = bucket[b]; r != 0; r = next[r]) if(key == keys[r]) return true;
+    return false;
+  }
+
+  /**
+   * Returns an array with all elements.
+   * @return array
+   */
+  public long[] toArray() {
+    return Arrays.copyOfRange(keys, 1, size);
+  }
+
+  @Override
+  protected int hash(final int id) {
+    return hash(keys[id]);
+  }
+
+  @Override
+  protected void rehash(final int newSize) {
+    keys = Arrays.copyOf(keys, newSize);
+  }
+
+  /**
+   * Returns the hash value of the specified key.
+   * @param key key
+   * @return hash value
+   */
+  private static int hash(final long key) {
+    return (int) (key ^ key >>> 32);
+  }
+}
@@ -0,0 +1,104 @@
+package org.basex.test.build;
+
+import static org.junit.Assert.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.test.*;
+import org.junit.*;
+
+/**
+ * Tests the internal XML scanner, which copies runs of ASCII characters in bulk
+ * if the input is UTF-8 encoded.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class XMLScannerTest extends SandboxTest {
+  /**
+   * Prepares the tests.
+   */
+  @Before
+  public void before() {
+    context.prop.set(Prop.MAINMEM, true);
+    context.prop.set(Prop.CHOP, false);
+    context.prop.set(Prop.INTPARSE, true);
+  }
+
+  /**
+   * Finishes the tests.
+   */
+  @After
+  public void after() {
+    context.prop.set(Prop.MAINMEM, false);
+    context.prop.set(Prop.CHOP, true);
+  }
+
+  /**
+   * Texts and attribute values, which are partially copied in bulk.
+   * @throws BaseXException database exception
+   */
+  @Test
+  public void content() throws BaseXException {
+    parse("<x>abc</x>", "<x>abc</x>");
+    parse("<x a='b c'>d e</x>", "<x a=\"b c\">d e</x>");
+    parse("<x a='b\nc'/>", "<x a=\"b c\"/>");
+    parse("<x a='&quot;\"'/>", "<x a=\"&quot;&quot;\"/>");
+    parse("<x a=\"'\"/>", "<x a=\"'\"/>");
+    parse("<x>a&amp;b&lt;c</x>", "<x>a&amp;b&lt;c</x>");
+    parse("<x>a]b]]c</x>", "<x>a]b]]c</x>");
+    parse("<x>a\r\nb\rc</x>", "<x>a\nb\nc</x>");
+    parse("<x>aäb€c</x>", "<x>aäb€c</x>");
+    parse("<x>a<![CDATA[<b>]]>c</x>", "<x>a&lt;b&gt;c</x>");
+    parse("<!DOCTYPE x [<!ENTITY e 'abc'>]><x>a&e;b</x>", "<x>aabcb</x>");
+    parse("<?xml version='1.0' encoding='ISO-8859-1'?><x>abc</x>", "<x>abc</x>");
+  }
+
+  /**
+   * Invalid input.
+   */
+  @Test
+  public void error() {
+    error("<x>a]]>b</x>");
+    error("<x a='b<c'/>");
+    error("<x>abc");
+  }
+
+  /**
+   * Line numbers in error messages.
+   */
+  @Test
+  public void line() {
+    try {
+      new CreateDB(NAME, "<x>\nabc\ndef\n<y a='\n\n'>\n</x>").execute(context);
+      fail("Error expected.");
+    } catch(final BaseXException ex) {
+      assertTrue(ex.getMessage(), ex.getMessage().contains("(Line 7)"));
+    }
+  }
+
+  /**
+   * Parses the specified document and compares the serialized result.
+   * @param doc document
+   * @param expected expected result
+   * @throws BaseXException database exception
+   */
+  private static void parse(final String doc, final String expected)
+      throws BaseXException {
+    new CreateDB(NAME, doc).execute(context);
+    assertEquals(expected, new XQuery(".").execute(context));
+  }
+
+  /**
+   * Checks if the specified document is rejected by the parser.
+   * @param doc document
+   */
+  private static void error(final String doc) {
+    try {
+      new CreateDB(NAME, doc).execute(context);
+      fail("Error expected: " + doc);
+    } catch(final BaseXException ex) {
+      /* expected */
+    }
+  }
+}
@@ -6,10 +6,12 @@ import static org.junit.Assert.*;
 import java.io.*;
 
 import org.basex.core.*;
+import org.basex.core.Job.State;
 import org.basex.core.cmd.*;
 import org.basex.core.parse.Commands.*;
 import org.basex.data.*;
 import org.basex.io.*;
+import org.basex.io.out.*;
 import org.basex.server.*;
 import org.basex.test.*;
 import org.basex.util.*;
@@ -376,6 +378,76 @@ public class CommandTest extends SandboxTest {
     ok(new OptimizeAll());
   }
 
+  /** Command test. */
+  @Test
+  public final void jobs() {
+    final String id = ok(new JobsSubmit("(1 to 3)[. > 1]"));
+    ok(new JobsList());
+    // wait until the job has been completed
+    while(true) {
+      try {
+        assertEquals("2 3", session.execute(new JobsResult(id)));
+        break;
+      } catch(final IOException ex) {
+        assertTrue(ex.getMessage(), ex.getMessage().contains(id));
+        Performance.sleep(10);
+      }
+    }
+    // result has been removed
+    no(new JobsResult(id));
+    no(new JobsStop(id));
+
+    // stop a running job
+    final String id2 = ok(new JobsSubmit("(1 to 100000000000)[. = 0]"));
+    ok(new JobsStop(id2));
+    while(ok(new JobsList()).contains(State.RUNNING.toString())) Performance.sleep(10);
+    no(new JobsResult(id2));
+    no(new JobsResult(id2));
+    // failing job
+    final String id3 = ok(new JobsSubmit("error()"));
+    while(!ok(new JobsList()).contains(State.FAILED.toString())) Performance.sleep(10);
+    no(new JobsResult(id3));
+  }
+
+  /**
+   * Command test: results that exceed the cache size are written to disk.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public final void jobsSpill() throws IOException {
+    context.mprop.set(MainProp.JOBCACHE, 16);
+    try {
+      final Job job = context.jobs.submit("1 to 10000", context);
+      while(!job.done()) Performance.sleep(10);
+      final ArrayOutput ao = new ArrayOutput();
+      job.result(ao);
+      assertEquals(new XQuery("1 to 10000").execute(context), ao.toString());
+      context.jobs.remove(job);
+    } finally {
+      context.mprop.set(MainProp.JOBCACHE, (Integer) MainProp.JOBCACHE[1]);
+    }
+  }
+
+  /** Command test: evicts the oldest finished jobs. */
+  @Test
+  public final void jobsKeep() {
+    context.mprop.set(MainProp.JOBKEEP, 2);
+    try {
+      final Job[] jobs = new Job[4];
+      for(int j = 0; j < jobs.length; j++) {
+        jobs[j] = context.jobs.submit(Integer.toString(j), context);
+        while(!jobs[j].done()) Performance.sleep(10);
+      }
+      assertNotNull(context.jobs.get(jobs[3].id, context.user));
+      assertNotNull(context.jobs.get(jobs[2].id, context.user));
+      assertNull(context.jobs.get(jobs[1].id, context.user));
+      assertNull(context.jobs.get(jobs[0].id, context.user));
+      for(final Job job : jobs) context.jobs.remove(job);
+    } finally {
+      context.mprop.set(MainProp.JOBKEEP, (Integer) MainProp.JOBKEEP[1]);
+    }
+  }
+
   /** Command test. */
   @Test
   public final void password() {
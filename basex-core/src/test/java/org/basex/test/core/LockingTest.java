@@ -180,6 +180,82 @@ public final class LockingTest extends SandboxTest {
     }
   }
 
+  /**
+   * Test separate limit for parallel writers.
+   * @throws InterruptedException Got interrupted.
+   */
+  @Test
+  public void parallelWriterLimitTest() throws InterruptedException {
+    mprop.set(MainProp.PARALLELWRITE, 1);
+    try {
+      final CountDownLatch sync = new CountDownLatch(1), test = new CountDownLatch(1),
+          read = new CountDownLatch(1);
+      final LockTester th1 = new LockTester(null, NONE, new String[] { "1" }, sync);
+      final LockTester th2 = new LockTester(sync, NONE, new String[] { "2" }, test);
+      final LockTester th3 = new LockTester(sync, new String[] { "3" }, NONE, read);
+
+      th1.start();
+      th2.start();
+      th3.start();
+      assertFalse("Thread 2 shouldn't be able to acquire lock yet.",
+          test.await(WAIT, TimeUnit.MILLISECONDS));
+      assertTrue("Thread 3 should be able to acquire lock.",
+          read.await(WAIT, TimeUnit.MILLISECONDS));
+      th1.release();
+      assertTrue("Thread 2 should be able to acquire lock now.",
+          test.await(WAIT, TimeUnit.MILLISECONDS));
+      th2.release();
+      th3.release();
+    } finally {
+      mprop.set(MainProp.PARALLELWRITE, 0);
+    }
+  }
+
+  /**
+   * Test admission of queued transactions by priority.
+   * @throws InterruptedException Got interrupted.
+   */
+  @Test
+  public void priorityTest() throws InterruptedException {
+    final Map<Long, Integer> prios = new ConcurrentHashMap<Long, Integer>();
+    locks = new DBLocking(mprop, new Scheduler(mprop) {
+      @Override
+      protected long priority(final Ticket t) {
+        final Integer p = prios.get(t.thread);
+        return p == null ? 0 : p;
+      }
+    });
+    mprop.set(MainProp.PARALLEL, 1);
+    try {
+      final CountDownLatch sync = new CountDownLatch(1), low = new CountDownLatch(1),
+          high = new CountDownLatch(1);
+      final LockTester th1 = new LockTester(null, objects, NONE, sync);
+      final LockTester th2 = new LockTester(null, objects, NONE, low);
+      final LockTester th3 = new LockTester(null, objects, NONE, high);
+      prios.put(th2.getId(), -1);
+      prios.put(th3.getId(), 1);
+
+      th1.start();
+      assertTrue("Thread 1 should be able to acquire lock.",
+          sync.await(WAIT, TimeUnit.MILLISECONDS));
+      th2.start();
+      Thread.sleep(WAIT);
+      th3.start();
+      Thread.sleep(WAIT);
+      th1.release();
+      assertTrue("Thread 3 should be admitted first.",
+          high.await(WAIT, TimeUnit.MILLISECONDS));
+      assertFalse("Thread 2 shouldn't be able to acquire lock yet.",
+          low.await(WAIT, TimeUnit.MILLISECONDS));
+      th3.release();
+      assertTrue("Thread 2 should be able to acquire lock now.",
+          low.await(WAIT, TimeUnit.MILLISECONDS));
+      th2.release();
+    } finally {
+      mprop.set(MainProp.PARALLEL, (Integer) MainProp.PARALLEL[1]);
+    }
+  }
+
   /**
    * Global locking test.
    * @throws InterruptedException Got interrupted.
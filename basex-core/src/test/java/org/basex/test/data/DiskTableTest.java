@@ -4,6 +4,7 @@ import static org.junit.Assert.*;
 
 import java.io.*;
 import java.lang.reflect.*;
+import java.util.*;
 
 import org.basex.build.*;
 import org.basex.core.*;
@@ -328,6 +329,64 @@ public final class DiskTableTest extends SandboxTest {
     assertEntrysEqual(nodes, 2 * nodes, size - nodes);
   }
 
+  /**
+   * Deletes all entries in descending order and inserts new ones.
+   */
+  @Test
+  public void deleteAllAndInsert() {
+    final int third = size / 3;
+    tda.delete(2 * third, size - 2 * third);
+    tda.delete(third, third);
+    tda.delete(0, third);
+    assertEquals(0, tdaSize());
+    tda.insert(0, getTestEntries(3));
+    assertEquals(3, tdaSize());
+    assertAreInserted(0, 3);
+    closeAndReload();
+    assertEquals(3, tdaSize());
+    assertAreInserted(0, 3);
+  }
+
+  /**
+   * Performs random inserts and deletes, most of which are performed in descending
+   * order, and compares the entries with the expected ones.
+   */
+  @Test
+  public void updates() {
+    final ArrayList<byte[]> entries = new ArrayList<byte[]>();
+    for(int i = 0; i < size; i++) {
+      entries.add(Arrays.copyOfRange(storage, i << IO.NODEPOWER, i + 1 << IO.NODEPOWER));
+    }
+    final Random rnd = new Random(0);
+    int pre = size;
+    for(int u = 0; u < 2000; u++) {
+      final int es = entries.size();
+      pre = rnd.nextInt(10) == 0 || pre < 2 ? 1 + rnd.nextInt(es - 1) :
+        pre - 1 - rnd.nextInt(Math.min(pre - 1, nodes));
+      final int n = 1 + rnd.nextInt(rnd.nextBoolean() ? 3 : nodes << 1);
+      if(rnd.nextBoolean() || es - pre < n) {
+        final byte[] ins = new byte[n << IO.NODEPOWER];
+        Arrays.fill(ins, (byte) u);
+        tda.insert(pre, ins);
+        for(int i = 0; i < n; i++) {
+          entries.add(pre, Arrays.copyOfRange(ins, 0, 1 << IO.NODEPOWER));
+        }
+      } else {
+        tda.delete(pre, n);
+        entries.subList(pre, pre + n).clear();
+      }
+      final int r = rnd.nextInt(entries.size());
+      assertEquals(entries.get(r)[0], (byte) tda.read1(r, 0));
+      if(u % 500 == 0) closeAndReload();
+    }
+    assertEquals(entries.size(), tdaSize());
+    for(int i = 0; i < entries.size(); i++) {
+      for(int j = 0; j < 1 << IO.NODEPOWER; j++) {
+        assertEquals(entries.get(i)[j], (byte) tda.read1(i, j));
+      }
+    }
+  }
+
   /**
    * Asserts that the chosen entries are inserted by a test case.
    * @param startNum first entry
@@ -0,0 +1,95 @@
+package org.basex.test.index;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.test.query.ast.*;
+import org.junit.*;
+
+/**
+ * Abstract test class for index structures, which are created for a generated corpus.
+ * The results of index-based queries are compared with the results of a database
+ * without index structures.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public abstract class CorpusTest extends QueryPlanTest {
+  /** Database without index structures. */
+  protected static final String SCAN = NAME + "scan";
+
+  /**
+   * Returns a document with text nodes, which contain randomly chosen words.
+   * The same document will be returned for the same arguments.
+   * @param words words
+   * @param texts number of text nodes
+   * @param length maximum number of words per text node
+   * @param skewed skewed distribution (if {@code true}, the first words will be
+   *   chosen more often than the last ones)
+   * @return document
+   */
+  protected static String corpus(final String[] words, final int texts, final int length,
+      final boolean skewed) {
+
+    final Random rnd = new Random(0);
+    final StringBuilder sb = new StringBuilder("<xml>");
+    for(int t = 0; t < texts; t++) {
+      sb.append("<t>");
+      final int n = 1 + rnd.nextInt(length);
+      for(int w = 0; w < n; w++) {
+        final int r = rnd.nextInt(words.length);
+        sb.append(words[skewed ? rnd.nextInt(r + 1) : r]).append(' ');
+      }
+      sb.append("</t>");
+    }
+    return sb.append("</xml>").toString();
+  }
+
+  /**
+   * Creates the test database with full-text index, and a database without
+   * index structures.
+   * @param doc document
+   * @param fuzzy create n-gram index for fuzzy queries
+   * @throws BaseXException database exception
+   */
+  protected static void create(final String doc, final boolean fuzzy)
+      throws BaseXException {
+
+    final Prop prop = context.prop;
+    prop.set(Prop.TEXTINDEX, false);
+    prop.set(Prop.ATTRINDEX, false);
+    new CreateDB(SCAN, doc).execute(context);
+    prop.set(Prop.TEXTINDEX, true);
+    prop.set(Prop.ATTRINDEX, true);
+
+    prop.set(Prop.FTINDEX, true);
+    prop.set(Prop.FUZZYINDEX, fuzzy);
+    new CreateDB(NAME, doc).execute(context);
+    prop.set(Prop.FUZZYINDEX, false);
+    prop.set(Prop.FTINDEX, false);
+  }
+
+  /**
+   * Drops the test databases.
+   * @throws BaseXException database exception
+   */
+  @AfterClass
+  public static void drop() throws BaseXException {
+    new DropDB(NAME).execute(context);
+    new DropDB(SCAN).execute(context);
+  }
+
+  /**
+   * Compares the results of a path on the test database with the results
+   * of the same path on the database without index structures.
+   * @param path path, which will be appended to the opened database
+   */
+  protected static void compare(final String path) {
+    assertEquals(path, query(_DB_OPEN.args(SCAN) + path),
+        query(_DB_OPEN.args(NAME) + path));
+  }
+}
@@ -0,0 +1,121 @@
+package org.basex.test.index;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.test.query.*;
+import org.junit.*;
+
+/**
+ * Tests the incremental update of the sorted document paths.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class DocsTest extends AdvancedQueryTest {
+  /** Number of directories. */
+  private static final int DIRS = 4;
+  /** Number of files per directory. */
+  private static final int FILES = 20;
+  /** Document paths. */
+  private final ArrayList<String> paths = new ArrayList<String>();
+
+  /**
+   * Creates the test database.
+   * @throws BaseXException database exception
+   */
+  @Before
+  public void start() throws BaseXException {
+    new CreateDB(NAME).execute(context);
+  }
+
+  /**
+   * Drops the test database.
+   * @throws BaseXException database exception
+   */
+  @After
+  public void finish() throws BaseXException {
+    new DropDB(NAME).execute(context);
+  }
+
+  /**
+   * Performs random updates and compares the results of path lookups.
+   * @throws BaseXException database exception
+   */
+  @Test
+  public void updates() throws BaseXException {
+    final Random rnd = new Random(0);
+    for(int i = 0; i < 100; i++) {
+      final String path = path(rnd);
+      final int op = paths.isEmpty() ? 0 : rnd.nextInt(5);
+      if(op == 4) {
+        // update nodes of several documents
+        final String nodes = "(" + _DB_OPEN.args(NAME) + "/a)[position() mod " +
+            (1 + rnd.nextInt(3)) + " = 0]";
+        query(rnd.nextBoolean() ?
+          "for $a in " + nodes + " return insert node <b/> into $a" :
+          "delete node " + nodes + "/b[1]");
+      } else if(op < 2) {
+        query(_DB_ADD.args(NAME, "<a/>", path));
+        paths.add(path);
+      } else {
+        final String old = paths.get(rnd.nextInt(paths.size()));
+        int n = 0;
+        while(paths.remove(old)) n++;
+        if(op == 2) {
+          query(_DB_DELETE.args(NAME, old));
+        } else {
+          query(_DB_RENAME.args(NAME, old, path));
+          for(; n > 0; n--) paths.add(path);
+        }
+      }
+      check(rnd);
+    }
+
+    // check persisted paths, and paths that are updated after reopening the database
+    new Close().execute(context);
+    new Open(NAME).execute(context);
+    for(int i = 0; i < 20; i++) check(rnd);
+    query(_DB_ADD.args(NAME, "<a/>", "d0/new.xml"));
+    paths.add("d0/new.xml");
+    check(rnd);
+
+    // check paths that have been rebuilt from scratch
+    new OptimizeAll().execute(context);
+    for(int i = 0; i < 20; i++) check(rnd);
+  }
+
+  /**
+   * Compares the results of path lookups with the expected results.
+   * @param rnd random generator
+   */
+  private void check(final Random rnd) {
+    final String path = path(rnd);
+    int c = 0;
+    for(final String p : paths) if(p.equals(path)) c++;
+    assertEquals(path, Integer.toString(c),
+        query(COUNT.args(_DB_OPEN.args(NAME, path))));
+    assertEquals(path, Boolean.toString(c != 0), query(_DB_IS_XML.args(NAME, path)));
+
+    final String dir = path.substring(0, path.indexOf('/') + 1);
+    c = 0;
+    for(final String p : paths) if(p.startsWith(dir)) c++;
+    assertEquals(dir, Integer.toString(c), query(COUNT.args(_DB_OPEN.args(NAME, dir))));
+    assertEquals(Integer.toString(paths.size()), query(COUNT.args(_DB_OPEN.args(NAME))));
+    assertEquals("true", query("every $d in " + _DB_OPEN.args(NAME) +
+        " satisfies $d instance of document-node()"));
+  }
+
+  /**
+   * Returns a random path.
+   * @param rnd random generator
+   * @return path
+   */
+  private static String path(final Random rnd) {
+    return "d" + rnd.nextInt(DIRS) + "/f" + rnd.nextInt(FILES) + ".xml";
+  }
+}
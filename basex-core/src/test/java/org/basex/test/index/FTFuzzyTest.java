@@ -0,0 +1,79 @@
+package org.basex.test.index;
+
+import static org.basex.query.func.Function.*;
+
+import org.basex.core.*;
+import org.basex.query.ft.*;
+import org.junit.*;
+
+/**
+ * Compares the results of fuzzy full-text queries on a database with n-gram index
+ * (option {@link Prop#FUZZYINDEX}) with the results of a sequential scan.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class FTFuzzyTest extends CorpusTest {
+  /** Words. */
+  private static final String[] WORDS = { "assignment", "assignments", "assingment",
+    "ssignment", "consignment", "design", "designer", "resign", "exercise", "exercize",
+    "excercise", "Exercises", "übung", "uebung", "Übungen", "ab", "ba", "abc", "acb",
+    "bac", "abcd", "abdc", "badc", "abcde", "abcdef", "abdcef", "xyz", "naïve", "naive",
+    "ffffffffffff", "fffffffffff", "fffffff" };
+  /** Misspelled words. */
+  private static final String[] TYPOS = { "asignment", "dseign", "exrecise", "ubung",
+    "unknown" };
+
+  /**
+   * Creates the test databases.
+   * @throws BaseXException database exception
+   */
+  @BeforeClass
+  public static void start() throws BaseXException {
+    create(corpus(WORDS, 500, 5, false), true);
+  }
+
+  /**
+   * Compares the results of fuzzy queries.
+   */
+  @Test
+  public void fuzzy() {
+    try {
+      for(final int err : new int[] { 0, 1, 2, 3 }) {
+        context.prop.set(Prop.LSERROR, err);
+        for(final String word : WORDS) compare(fuzzy(word));
+        for(final String word : TYPOS) compare(fuzzy(word));
+      }
+    } finally {
+      context.prop.set(Prop.LSERROR, 0);
+    }
+  }
+
+  /**
+   * Checks if the index is used for fuzzy queries.
+   */
+  @Test
+  public void index() {
+    final String ia = "exists(//" + FTIndexAccess.class.getSimpleName() + ')';
+    for(final String word : TYPOS) {
+      check("count(" + _DB_OPEN.args(NAME) + fuzzy(word) + ')', null, ia);
+    }
+  }
+
+  /**
+   * Compares the positions of fuzzy matches.
+   */
+  @Test
+  public void positions() {
+    for(final String word : TYPOS) compare("/ft:mark(" + fuzzy(word) + ')');
+  }
+
+  /**
+   * Returns a fuzzy query for the specified word.
+   * @param word query term
+   * @return query
+   */
+  private static String fuzzy(final String word) {
+    return "//t[text() contains text '" + word + "' using fuzzy]";
+  }
+}
@@ -0,0 +1,102 @@
+package org.basex.test.index;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.data.*;
+import org.junit.*;
+
+/**
+ * Compares the results of conjunctive full-text queries, which use the skip lists of
+ * frequent tokens, with the results of a database without index structures and of
+ * an index without skip lists.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class FTSkipTest extends CorpusTest {
+  /** Database with full-text index, but without skip lists. */
+  private static final String MERGE = NAME + "merge";
+  /** Words, sorted by descending frequency. */
+  private static final String[] WORDS = { "common", "frequent", "alpha", "beta", "gamma",
+    "delta", "epsilon", "zeta", "eta", "rare" };
+  /** Queries. */
+  private static final String[] QUERIES = {
+    "'common' ftand 'rare'", "'rare' ftand 'common'", "'common rare'",
+    "'rare common'", "'common frequent'", "'common' ftand 'frequent' ftand 'rare'",
+    "{ 'common', 'rare' } all words", "{ 'rare', 'frequent' } all",
+    "'common' ftand 'frequent' ftand ftnot 'rare'", "'common' ftand 'unknown'",
+    "'common' ftand ('rare' ftor 'frequent')", "'common common'" };
+
+  /**
+   * Creates the test databases.
+   * @throws BaseXException database exception
+   */
+  @BeforeClass
+  public static void start() throws BaseXException {
+    final String doc = corpus(WORDS, 5000, 6, true);
+    create(doc, false);
+    context.prop.set(Prop.FTINDEX, true);
+    new CreateDB(MERGE, doc).execute(context);
+    context.prop.set(Prop.FTINDEX, false);
+    new Close().execute(context);
+    assertTrue(new MetaData(MERGE, context).dbfile(DataText.DATAFTX + 'k').delete());
+  }
+
+  /**
+   * Drops the database without skip lists.
+   * @throws BaseXException database exception
+   */
+  @AfterClass
+  public static void finish() throws BaseXException {
+    new DropDB(MERGE).execute(context);
+  }
+
+  /**
+   * Compares the results of conjunctive queries with a sequential scan.
+   */
+  @Test
+  public void scan() {
+    for(final String query : QUERIES) {
+      compare("/xml/t[text() contains text " + query + "] ! " +
+          "(db:node-pre(.), ft:mark(.))");
+    }
+  }
+
+  /**
+   * Compares the results and scores of conjunctive queries with the results
+   * of an index without skip lists.
+   */
+  @Test
+  public void merge() {
+    for(final String query : QUERIES) {
+      merge("/xml/t[text() contains text " + query + "] ! " +
+          "(db:node-pre(.), ft:mark(.), ft:score(.))");
+    }
+  }
+
+  /**
+   * Compares the results of top-k queries with the results of an index without
+   * skip lists.
+   */
+  @Test
+  public void top() {
+    for(final int k : new int[] { 1, 10, 100 }) {
+      final String top = "('common', 'rare', 'frequent'), " + k;
+      assertEquals(query(_FT_SCORE.args(_FT_TOP.args(MERGE, " " + top))),
+          query(_FT_SCORE.args(_FT_TOP.args(NAME, " " + top))));
+    }
+  }
+
+  /**
+   * Compares the results of a path on the test database with the results
+   * of the same path on the database without skip lists.
+   * @param path path, which will be appended to the opened database
+   */
+  private static void merge(final String path) {
+    assertEquals(path, query(_DB_OPEN.args(MERGE) + path),
+        query(_DB_OPEN.args(NAME) + path));
+  }
+}
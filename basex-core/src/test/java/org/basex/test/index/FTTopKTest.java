@@ -0,0 +1,104 @@
+package org.basex.test.index;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import org.basex.core.*;
+import org.junit.*;
+
+/**
+ * Compares the results of top-k full-text queries with the results of
+ * full-text queries that are sorted by their scores.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class FTTopKTest extends CorpusTest {
+  /** Words. */
+  private static final String[] WORDS = { "alpha", "beta", "gamma", "delta", "epsilon",
+    "zeta", "eta", "theta", "iota", "kappa", "lambda", "mu", "nu", "xi", "omicron" };
+
+  /**
+   * Creates the test databases.
+   * @throws BaseXException database exception
+   */
+  @BeforeClass
+  public static void start() throws BaseXException {
+    create(corpus(WORDS, 2000, 12, true), false);
+  }
+
+  /**
+   * Compares the scores of single tokens with the scores of the full-text search.
+   */
+  @Test
+  public void single() {
+    for(final String word : WORDS) {
+      for(final int k : new int[] { 1, 5, 20 }) compare(k, word);
+    }
+  }
+
+  /**
+   * Compares the scores of multiple tokens with the scores of the full-text search.
+   */
+  @Test
+  public void multiple() {
+    final String[][] terms = { { "alpha", "omicron" }, { "xi", "nu", "mu" },
+      { "alpha", "beta", "gamma", "delta" }, { "omicron", "unknown" },
+      { "kappa lambda" } };
+    for(final String[] term : terms) {
+      for(final int k : new int[] { 1, 10, 50 }) compare(k, term);
+    }
+  }
+
+  /**
+   * Checks if the results contain the searched tokens, and if the number of results
+   * is limited by the number of all text nodes that contain one of the tokens.
+   */
+  @Test
+  public void results() {
+    for(final int k : new int[] { 1, 10, 100000 }) {
+      final String top = _FT_TOP.args(NAME, " ('iota', 'xi')", k);
+      assertEquals("true", query("every $t in " + top +
+          " satisfies $t contains text { 'iota', 'xi' } any"));
+      assertEquals(query("min((" + k + ", count(" + _DB_OPEN.args(SCAN) +
+          "//text()[. contains text { 'iota', 'xi' } any])))"), query(COUNT.args(top)));
+    }
+  }
+
+  /**
+   * Compares the top scores of the specified terms with the scores of the full-text
+   * search. The expected scores are computed by searching each token separately,
+   * combining the scores of each text node, and sorting the results.
+   * @param k number of results
+   * @param terms query terms
+   */
+  private static void compare(final int k, final String... terms) {
+    final StringBuilder search = new StringBuilder();
+    final StringBuilder top = new StringBuilder();
+    for(final String term : terms) {
+      for(final String token : term.split(" ")) {
+        if(search.length() != 0) search.append(", ");
+        search.append(_FT_SEARCH.args(NAME, token));
+      }
+      if(top.length() != 0) top.append(", ");
+      top.append('\'').append(term).append('\'');
+    }
+    final String exp = "subsequence(for $n in (" + search + ") " +
+        "group by $pre := db:node-pre($n) " +
+        "let $s := fold-left($n ! ft:score(.), 0, " +
+        "function($a, $b) { 1 - (1 - $a) * (1 - $b) }) " +
+        "order by $s descending return $s, 1, " + k + ')';
+    final String res = _FT_SCORE.args(_FT_TOP.args(NAME, " (" + top + ')', k));
+    assertEquals(top.toString(), query(round(exp)), query(round(res)));
+  }
+
+  /**
+   * Rounds the scores returned by the specified query, as the scores may be
+   * combined in a different order.
+   * @param scores query returning scores
+   * @return query
+   */
+  private static String round(final String scores) {
+    return "(" + scores + ") ! round-half-to-even(., 12)";
+  }
+}
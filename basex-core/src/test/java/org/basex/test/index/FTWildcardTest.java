@@ -0,0 +1,127 @@
+package org.basex.test.index;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.query.ft.*;
+import org.basex.server.*;
+import org.junit.*;
+
+/**
+ * Compares the results of wildcard full-text queries with and without
+ * full-text index. Queries with suffixes are answered by the reversed dictionary.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class FTWildcardTest extends CorpusTest {
+  /** Words. */
+  private static final String[] WORDS = { "assignment", "assignments", "consignment",
+    "design", "designer", "resign", "exercise", "exercises", "übung", "übungen",
+    "nation", "station", "information", "football", "fireball", "ball", "a", "ab",
+    "ba", "abc", "cba", "naïve", "bäume", "träume" };
+  /** Wildcard patterns. */
+  private static final String[] PATTERNS = { ".*ment", ".*ments", "a.*ment",
+    ".*sign.*", ".*ign", "ex.*e", ".*e", ".+e", ".?ation", ".*ation", "f.*ball",
+    "f.+ball", ".{1,4}ball", ".*ung.*", ".*äume", ".*ve", "a.*", ".*a", ".*b.",
+    ".*", ".+", "ab", ".*unknown", "a.*unknown" };
+
+  /**
+   * Creates the test databases.
+   * @throws BaseXException database exception
+   */
+  @BeforeClass
+  public static void start() throws BaseXException {
+    create(corpus(WORDS, 500, 5, false), false);
+  }
+
+  /**
+   * Compares the results of wildcard queries.
+   */
+  @Test
+  public void wildcards() {
+    for(final String pattern : PATTERNS) compare(wildcards(pattern));
+  }
+
+  /**
+   * Runs wildcard and fuzzy queries on the same index in parallel.
+   * @throws Exception exception
+   */
+  @Test
+  public void concurrent() throws Exception {
+    final String[] queries = new String[PATTERNS.length + WORDS.length];
+    int q = 0;
+    for(final String pattern : PATTERNS) queries[q++] = wildcards(pattern);
+    for(final String word : WORDS) {
+      queries[q++] = "//t[text() contains text '" + word + "' using fuzzy]";
+    }
+    final String[] expected = new String[queries.length];
+    for(int i = 0; i < queries.length; i++) {
+      queries[i] = "db:open('" + NAME + "')" + queries[i];
+      expected[i] = new XQuery(queries[i]).execute(context);
+    }
+
+    final String[] errors = new String[8];
+    final Thread[] threads = new Thread[errors.length];
+    for(int t = 0; t < threads.length; t++) {
+      final int tn = t;
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          final LocalSession session = new LocalSession(context);
+          try {
+            for(int r = 0; r < 10; r++) {
+              for(int i = 0; i < queries.length; i++) {
+                final int n = (i + tn * 7) % queries.length;
+                if(!expected[n].equals(session.execute(new XQuery(queries[n])))) {
+                  errors[tn] = queries[n];
+                }
+              }
+            }
+            session.close();
+          } catch(final IOException ex) {
+            errors[tn] = ex.toString();
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for(final Thread thread : threads) thread.join();
+    for(final String error : errors) assertNull(error, error);
+  }
+
+  /**
+   * Checks if the index is used for terms with leading wildcards.
+   */
+  @Test
+  public void index() {
+    final String ia = "exists(//" + FTIndexAccess.class.getSimpleName() + ')';
+    final String query = "count(db:open('" + NAME + "')//t[text() contains text '";
+    check(query + ".*ation' using wildcards])", null, ia);
+    check(query + "f.*ball' using wildcards])", null, ia);
+    // no suffix
+    check(query + ".*' using wildcards])", null, "not(" + ia + ')');
+    // infix
+    check(query + ".*ign.*' using wildcards])", null, "not(" + ia + ')');
+  }
+
+  /**
+   * Compares the positions of wildcard matches.
+   */
+  @Test
+  public void positions() {
+    for(final String pattern : PATTERNS) compare("/ft:mark(" + wildcards(pattern) + ')');
+  }
+
+  /**
+   * Returns a wildcard query for the specified pattern.
+   * @param pattern wildcard pattern
+   * @return query
+   */
+  private static String wildcards(final String pattern) {
+    return "//t[text() contains text '" + pattern + "' using wildcards]";
+  }
+}
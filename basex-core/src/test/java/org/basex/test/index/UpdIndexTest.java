@@ -0,0 +1,164 @@
+package org.basex.test.index;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.test.query.*;
+import org.junit.*;
+
+/**
+ * Compares the results of value index lookups in an updatable database with the
+ * results of a database without index structures.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class UpdIndexTest extends AdvancedQueryTest {
+  /** Database without index structures. */
+  private static final String SCAN = NAME + "scan";
+  /** Number of different values. */
+  private static final int VALUES = 20;
+
+  /**
+   * Creates the test databases.
+   * @throws BaseXException database exception
+   */
+  @Before
+  public void start() throws BaseXException {
+    final String doc = "<r><x a='v0'>0</x><x a='v1'>1</x></r>";
+    context.prop.set(Prop.UPDINDEX, true);
+    new CreateDB(NAME, doc).execute(context);
+    context.prop.set(Prop.UPDINDEX, false);
+    context.prop.set(Prop.TEXTINDEX, false);
+    context.prop.set(Prop.ATTRINDEX, false);
+    new CreateDB(SCAN, doc).execute(context);
+    context.prop.set(Prop.TEXTINDEX, true);
+    context.prop.set(Prop.ATTRINDEX, true);
+    new Close().execute(context);
+  }
+
+  /**
+   * Drops the test databases.
+   * @throws BaseXException database exception
+   */
+  @After
+  public void finish() throws BaseXException {
+    new DropDB(NAME).execute(context);
+    new DropDB(SCAN).execute(context);
+  }
+
+  /**
+   * Performs random updates and compares the results of index lookups.
+   */
+  @Test
+  public void updates() {
+    final Random rnd = new Random(0);
+    updates(rnd, 200);
+    rebuild();
+
+    // merge the changes into the index structures
+    update("insert node (1 to 70000) ! <x a='v{ . mod " + VALUES + " }'>{ . mod " +
+        VALUES + " }</x> into DB/r");
+    check(rnd);
+    updates(rnd, 10);
+    rebuild();
+  }
+
+  /**
+   * Compares the results of all index lookups with the results of
+   * a rebuilt index.
+   */
+  private static void rebuild() {
+    final String lookups = "for $v in 0 to " + (VALUES - 1) + " return (" +
+        _DB_TEXT.args(NAME, " string($v)") + ", " +
+        _DB_ATTRIBUTE.args(NAME, " concat('v', $v)") + ") ! db:node-pre(.), " +
+        _INDEX_TEXTS.args(NAME) + " ! concat(., ':', @count), " +
+        _INDEX_ATTRIBUTES.args(NAME) + " ! concat(., ':', @count)";
+    final String exp = query(lookups);
+    query(_DB_OPTIMIZE.args(NAME));
+    assertEquals(exp, query(lookups));
+  }
+
+  /**
+   * Performs random updates.
+   * @param rnd random generator
+   * @param n number of updates
+   */
+  private static void updates(final Random rnd, final int n) {
+    for(int i = 0; i < n; i++) {
+      final String x = "for $x in (DB//x)[position() = " + rnd.nextInt(1000) +
+          " mod last() + 1] return ";
+      final int v = rnd.nextInt(VALUES);
+      switch(rnd.nextInt(6)) {
+        case 0:
+          update(x + "insert node <x a='v" + v + "'>" + v + "</x> into $x");
+          break;
+        case 1:
+          update("insert node <x a='v" + v + "'>" + v + "</x> into DB/r");
+          break;
+        case 2:
+          update(x + "delete node $x");
+          break;
+        case 3:
+          update(x + "replace value of node $x/text() with '" + v + "'");
+          break;
+        case 4:
+          update(x + "replace value of node $x/@a with 'v" + v + "'");
+          break;
+        default:
+          update("for $x in DB//x[position() mod " + (2 + rnd.nextInt(5)) + " = 0] " +
+              "return replace value of node $x/@a with 'v" + v + "'");
+      }
+      check(rnd);
+    }
+  }
+
+  /**
+   * Performs an update on both databases.
+   * @param query updating query
+   */
+  private static void update(final String query) {
+    query(query.replace("DB", _DB_OPEN.args(NAME)));
+    query(query.replace("DB", _DB_OPEN.args(SCAN)));
+  }
+
+  /**
+   * Compares the results of index lookups with the expected results.
+   * @param rnd random generator
+   */
+  private static void check(final Random rnd) {
+    final String v = Integer.toString(rnd.nextInt(VALUES));
+    final String w = Integer.toString(rnd.nextInt(VALUES));
+    final String scan = _DB_OPEN.args(SCAN);
+    compare(_DB_TEXT.args(NAME, v), scan + "//text()[. = '" + v + "']");
+    compare(_DB_ATTRIBUTE.args(NAME, 'v' + v), scan + "//@*[. = 'v" + v + "']");
+    compare(_DB_TEXT_RANGE.args(NAME, v, w),
+        scan + "//text()[. >= '" + v + "' and . <= '" + w + "']");
+
+    final String all = "for $t in " + scan + "//text() group by $s := string($t) ";
+    compare(_INDEX_TEXTS.args(NAME) + "! concat(., ':', @count)",
+        all + "order by $s return concat($s, ':', count($t))");
+    compare(_INDEX_TEXTS.args(NAME, v, false) + "! concat(., ':', @count)",
+        all + "where $s < '" + v + "' order by $s descending " +
+        "return concat($s, ':', count($t))");
+    compare(_INDEX_TEXTS.args(NAME, "1") + "! concat(., ':', @count)",
+        all + "where starts-with($s, '1') order by $s return concat($s, ':', count($t))");
+  }
+
+  /**
+   * Compares the results of two queries.
+   * @param query index-based query
+   * @param expected query for expected results
+   */
+  private static void compare(final String query, final String expected) {
+    final String exp = query("(" + expected + ") ! (if(. instance of node()) " +
+        "then db:node-pre(.) else .)");
+    final String res = query("(" + query + ") ! (if(. instance of node()) " +
+        "then db:node-pre(.) else .)");
+    assertEquals(query, exp, res);
+  }
+}
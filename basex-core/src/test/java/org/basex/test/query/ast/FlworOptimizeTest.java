@@ -267,4 +267,26 @@ public final class FlworOptimizeTest extends QueryPlanTest {
         "exists(//Let)"
     );
   }
+
+  /** Tests if equality joins are rewritten to hash joins. */
+  @Test public void hashJoinTest() {
+    final String a = "let $a := (<a k='1'/>, <a k='2'/>, <a k='3'/>) ";
+    final String b = "let $b := (<b i='2'>x</b>, <b i='1'>y</b>, <b i='2'>z</b>) ";
+    check(a + b + "for $x in $a, $y in $b where $x/@k = $y/@i return $x/@k || $y",
+        "1y 2x 2z", "exists(//For/Join)");
+    // multiple probe keys: order is preserved, duplicates are skipped
+    check(a + b + "for $x in $a, $y in $b where ($x/@k, '2') = $y/@i return $x/@k || $y",
+        "1x 1y 1z 2x 2z 3x 3z", "exists(//For/Join)");
+    // probe depends on the outer clause only
+    check(b + "for $x in 1 to 3 let $s := string($x) for $y in $b where $y/@i = $s " +
+        "return $y/string()",
+        "y x z", "exists(//For/Join)");
+    // numeric comparisons are not rewritten
+    check(a + b + "for $x in $a, $y in $b where xs:integer($x/@k) = $y/@i " +
+        "return $y/string()",
+        "y x z", "empty(//Join)");
+    // items of other types are compared at runtime
+    check(a + "for $x in (1, <x>1</x>, 'b', 3), $y in $a where $x = $y/@k " +
+        "return $y/@k/string()", "1 1 3", "exists(//For/Join)");
+  }
 }
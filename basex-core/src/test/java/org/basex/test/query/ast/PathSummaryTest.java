@@ -0,0 +1,66 @@
+package org.basex.test.query.ast;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.query.expr.*;
+import org.basex.util.*;
+import org.junit.*;
+
+/**
+ * Checks optimizations of location paths that are based on the path summary.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class PathSummaryTest extends QueryPlanTest {
+  /**
+   * Initializes the tests.
+   * @throws BaseXException database exception
+   */
+  @BeforeClass
+  public static void start() throws BaseXException {
+    final TokenBuilder tb = new TokenBuilder("<r>");
+    tb.add("<a><x/><b><x/><c><x/></c></b></a><d><e/><f><e/></f></d>");
+    for(int i = 0; i < 1000; i++) tb.add("<n>").addInt(i).add("</n>");
+    for(int i = 0; i < 10; i++) tb.add("<m>5</m>");
+    new CreateDB(NAME, tb.add("</r>").toString()).execute(context);
+  }
+
+  /**
+   * Finishes the tests.
+   * @throws BaseXException database exception
+   */
+  @AfterClass
+  public static void finish() throws BaseXException {
+    new DropDB(NAME).execute(context);
+  }
+
+  /**
+   * Skips subtrees that contain no results.
+   */
+  @Test
+  public void subtree() {
+    check("//x/../name()", "a b c",
+        "exists(//*[@axis = 'child'][@test = '*:a'])",
+        "exists(//*[@axis = 'descendant'][@test = '*:x'])");
+    check("//f//e/../name()", "f",
+        "exists(//*[@axis = 'child'][@test = '*:f'])",
+        "empty(//*[@axis = 'descendant'][@test = '*:f'])");
+    // no rewriting, as e elements are found in two subtrees of the d element
+    check("/r/d//e/../name()", "d f",
+        "empty(//*[@axis = 'child'][@test = '*:f'])");
+  }
+
+  /**
+   * Chooses index access if it is cheaper than a scan of the database, even if the
+   * path summary addresses fewer nodes than there are index hits.
+   */
+  @Test
+  public void costs() {
+    final String va = ValueAccess.class.getSimpleName();
+    // 11 index hits, 1000 elements addressed
+    check("count(//n[text() = '5'])", "1", "exists(//" + va + ')');
+    // 11 index hits, 10 elements addressed
+    check("count(//m[text() = '5'])", "10", "exists(//" + va + ')');
+  }
+}
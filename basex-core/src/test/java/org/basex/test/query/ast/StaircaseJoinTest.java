@@ -0,0 +1,137 @@
+package org.basex.test.query.ast;
+
+import static org.junit.Assert.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.query.*;
+import org.basex.test.query.*;
+import org.basex.util.*;
+import org.junit.*;
+
+/**
+ * Checks the evaluation of location paths on database nodes via the staircase join.
+ * Results are compared with paths that are evaluated node by node.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class StaircaseJoinTest extends AdvancedQueryTest {
+  /** Test document. */
+  private static final String DOC = "<a id='1'><b x='1'><a><b/>t<c/></a><!--c--></b>" +
+      "<a x='2'><a><b y='3'>u</b></a><?p q?></a><b><c><b/></c></b></a>";
+  /** Second test document. */
+  private static final String DOC2 = "<x><y/><y/></x>";
+  /** Predicate that prevents the join from being applied. */
+  private static final String P = "[string-length(name()) >= 0]";
+
+  /**
+   * Initializes the tests.
+   * @throws BaseXException database exception
+   */
+  @BeforeClass
+  public static void start() throws BaseXException {
+    new CreateDB(NAME, DOC).execute(context);
+    new Add("doc2.xml", DOC2).execute(context);
+  }
+
+  /**
+   * Finishes the tests.
+   * @throws BaseXException database exception
+   */
+  @AfterClass
+  public static void finish() throws BaseXException {
+    new DropDB(NAME).execute(context);
+  }
+
+  /**
+   * Descendant steps.
+   */
+  @Test
+  public void descendant() {
+    compare("//a//b", "//a" + P + "//b" + P);
+    compare("//b//a//b", "//b" + P + "//a" + P + "//b" + P);
+    compare("//*//node()", "//*" + P + "//node()" + P);
+    compare("//a/descendant-or-self::a", "//a" + P + "/descendant-or-self::a" + P);
+    compare("//@*/descendant-or-self::node()", "//@*" + P + "/self::node()" + P);
+    compare("//a//text()", "//a" + P + "//text()");
+    compare("//*//comment()", "//*" + P + "//comment()");
+    compare("//*//processing-instruction()", "//*" + P + "//processing-instruction()");
+  }
+
+  /**
+   * Child and attribute steps.
+   */
+  @Test
+  public void child() {
+    compare("//a//b/c", "//a" + P + "//b" + P + "/c" + P);
+    compare("//*//*/*", "//*" + P + "//*" + P + "/*" + P);
+    compare("//*//node()/node()", "//*" + P + "//node()" + P + "/node()");
+    compare("//a//*/@*", "//a" + P + "//*" + P + "/@*");
+    compare("//a//b/@x", "//a" + P + "//b" + P + "/@x");
+    compare("//a//self::b", "//a" + P + "//b" + P);
+  }
+
+  /**
+   * Paths without results.
+   */
+  @Test
+  public void empty() {
+    query("count(//a//unknown)", 0);
+    query("count(//a//b/@unknown)", 0);
+    query("count(//text()//node())", 0);
+  }
+
+  /**
+   * Context nodes that are not sorted by their pre values.
+   */
+  @Test
+  public void unordered() {
+    final String db = "reverse(db:open('" + NAME + "'))";
+    compare(db, "/descendant::node()/self::node()", "/descendant::node()" + P, false);
+    compare("reverse(db:open('" + NAME + "')//a)", "//b", P + "//b" + P, false);
+    compare("(db:open('" + NAME + "')//c, db:open('" + NAME + "')//b)", "/node()",
+        P + "/node()" + P, false);
+  }
+
+  /**
+   * Compares the results of two queries.
+   * @param query query that uses the join
+   * @param ref reference query
+   */
+  private static void compare(final String query, final String ref) {
+    compare("db:open('" + NAME + "')", query, ref, true);
+  }
+
+  /**
+   * Compares the results of two queries and checks if the join has been applied.
+   * The results of unordered context nodes are sorted, as the reference query
+   * may return them in a different order.
+   * @param root root expression
+   * @param query query that may use the join
+   * @param ref reference query
+   * @param join expected usage of the join
+   */
+  private static void compare(final String root, final String query, final String ref,
+      final boolean join) {
+
+    final String ret = (join ? "" : " order by db:node-pre($n)") +
+        " return db:node-pre($n)";
+    final String q = "for $n in " + root + query + ret;
+    final String res = query(q);
+    assertEquals(query("for $n in " + root + ref + ret), res);
+    assertFalse(query, res.isEmpty());
+
+    context.prop.set(Prop.QUERYINFO, true);
+    final QueryProcessor qp = new QueryProcessor(q, context);
+    try {
+      qp.execute();
+      assertEquals(query + ": " + qp.info(), join, qp.info().contains("structural join"));
+    } catch(final QueryException ex) {
+      fail(Util.message(ex));
+    } finally {
+      context.prop.set(Prop.QUERYINFO, false);
+      qp.close();
+    }
+  }
+}
@@ -59,6 +59,32 @@ public final class AnnotationsTest extends AdvancedQueryTest {
     error("declare %output:method function local:x() { 1 }; 1", Err.BASX_ANNOTARGS);
   }
 
+  /** Memoization of function results. */
+  @Test
+  public void memo() {
+    // recursive calls: would take too long without memoization
+    query("declare %basex:memo function local:fib($n) { if($n < 2) then $n " +
+        "else local:fib($n - 1) + local:fib($n - 2) }; local:fib(80)",
+        "23416728348467685");
+    // arguments of different types
+    query("declare %basex:memo(10) function local:t($a) { $a instance of xs:integer }; " +
+        "local:t(1), local:t(1.0), local:t('1'), local:t(1), local:t(())",
+        "true false false true false");
+    // constructed nodes and non-deterministic results are not memoized
+    query("declare %basex:memo function local:x($a) { <x>{ $a }</x> }; " +
+        "local:x(1) is local:x(1)", "false");
+    query("declare %basex:memo function local:x($a) { map { 'a' := <x/> } }; " +
+        "local:x(1)('a') is local:x(1)('a')", "false");
+    query("declare %basex:memo function local:x($a) { let $x := <x/> " +
+        "return function() { $x } }; local:x(1)() is local:x(1)()", "false");
+    query("declare %basex:memo function local:r($a) { random:double() }; " +
+        "local:r(1) = local:r(1)", "false");
+    error("declare %basex:memo(0) function local:x() { 1 }; local:x()",
+        Err.BASX_ANNOTARGS);
+    error("declare %basex:memo('a') function local:x() { 1 }; local:x()",
+        Err.BASX_ANNOTARGS);
+  }
+
   /**  Test for empty-sequence() as function item. */
   @Test
   public void emptyFunTest() {
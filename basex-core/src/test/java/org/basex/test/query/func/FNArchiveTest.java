@@ -46,6 +46,13 @@ public final class FNArchiveTest extends AdvancedQueryTest {
     query(COUNT.args(_ARCHIVE_CREATE.args("<archive:entry>X</archive:entry>", "",
         "<archive:options><archive:format value='gzip'/></archive:options>")), "1");
 
+    // streamed binaries
+    final String bin = _FILE_READ_BINARY.args(GZIP);
+    query(_ARCHIVE_EXTRACT_BINARY.args(_ARCHIVE_CREATE.args("X", bin)) + " eq " + bin,
+        "true");
+    query(_ARCHIVE_EXTRACT_BINARY.args(_ARCHIVE_CREATE.args("X", bin,
+        " map { 'format':='gzip' }")) + " eq " + bin, "true");
+
     // different number of entries and contents
     error(_ARCHIVE_CREATE.args("X", "()"), Err.ARCH_DIFF);
     // name must not be empty
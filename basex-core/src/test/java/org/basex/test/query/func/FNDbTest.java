@@ -576,6 +576,15 @@ public final class FNDbTest extends AdvancedQueryTest {
     query("xs:hexBinary(" + _DB_RETRIEVE.args(NAME, "raw2") + ')', "62");
     query(_DB_STORE.args(NAME, "raw3", 123));
     query("xs:hexBinary(" + _DB_RETRIEVE.args(NAME, "raw3") + ')', "313233");
+    // streamed items
+    query(_DB_STORE.args(NAME, "raw4", _FILE_READ_BINARY.args(FILE)));
+    query(_DB_RETRIEVE.args(NAME, "raw4") + " eq " + _FILE_READ_BINARY.args(FILE),
+        "true");
+    final String tmp = Prop.TMP + NAME + ".txt";
+    query(_FILE_WRITE_TEXT.args(tmp, "\u00e4"));
+    query(_DB_STORE.args(NAME, "raw5", _FILE_READ_TEXT.args(tmp)));
+    query("xs:hexBinary(" + _DB_RETRIEVE.args(NAME, "raw5") + ')', "C3A4");
+    query(_FILE_DELETE.args(tmp));
   }
 
   /** Test method. */
@@ -189,6 +189,25 @@ public final class FNFileTest extends AdvancedQueryTest {
     query(_FILE_DELETE.args(PATH1));
   }
 
+  /** Test method. */
+  @Test
+  public void readTextLines() {
+    error(_FILE_READ_TEXT_LINES.args(PATH1), Err.FILE_WHICH);
+    error(_FILE_READ_TEXT_LINES.args(PATH), Err.FILE_DIR);
+    query(_FILE_WRITE.args(PATH1, "a\r\nb\rc\n\nd\n"));
+    query("string-join(" + _FILE_READ_TEXT_LINES.args(PATH1) + ", '|')", "a|b|c||d");
+    error(_FILE_READ_TEXT_LINES.args(PATH1, "UNKNOWN"), Err.FILE_ENCODING);
+    // lazy evaluation: input is closed when the query is closed
+    query(_FILE_READ_TEXT_LINES.args(PATH1) + "[1]", "a");
+    query(_FILE_DELETE.args(PATH1));
+    query(_FILE_EXISTS.args(PATH1), "false");
+    // invalid characters are detected while the lines are read
+    query(_FILE_WRITE_BINARY.args(PATH1, "xs:hexBinary('610A00')"));
+    query(_FILE_READ_TEXT_LINES.args(PATH1) + "[1]", "a");
+    error(_FILE_READ_TEXT_LINES.args(PATH1), Err.FILE_IO);
+    query(_FILE_DELETE.args(PATH1));
+  }
+
   /** Test method. */
   @Test
   public void readBinary() {
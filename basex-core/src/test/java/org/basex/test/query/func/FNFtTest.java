@@ -131,6 +131,20 @@ public final class FNFtTest extends AdvancedQueryTest {
     query(_FT_SCORE.args(_FT_SEARCH.args(NAME, "XML")), "1 0.5");
   }
 
+  /** Test method. */
+  @Test
+  public void top() {
+    query(_FT_TOP.args(NAME, "XML", 1), "XML");
+    query(_FT_SCORE.args(_FT_TOP.args(NAME, "XML", 2)), "1 0.5");
+    query(_FT_SCORE.args(_FT_TOP.args(NAME, "XML", 5)), "1 0.5");
+    query(COUNT.args(_FT_TOP.args(NAME, " ('exercise', 'xml')", 10)), "4");
+    query(COUNT.args(_FT_TOP.args(NAME, " ('exercise', 'xml')", 3)), "3");
+    query(_FT_TOP.args(NAME, "XXX", 1), "");
+    query(_FT_TOP.args(NAME, "XML", 0), "");
+    query(_FT_MARK.args(_FT_TOP.args(NAME, "2", 1) + "/.."),
+        "<li>Exercise <mark>2</mark></li>");
+  }
+
   /**
    * Test method.
    * @throws BaseXException database exception
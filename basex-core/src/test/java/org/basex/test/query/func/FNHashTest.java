@@ -13,6 +13,9 @@ import org.junit.*;
  * @author Christian Gruen
  */
 public final class FNHashTest extends AdvancedQueryTest {
+  /** Test file. */
+  private static final String FILE = "src/test/resources/input.xml";
+
   /** Test method. */
   @Test
   public void md5() {
@@ -47,4 +50,13 @@ public final class FNHashTest extends AdvancedQueryTest {
     query(_HASH_HASH.args("xs:hexBinary('')", "md5"), "1B2M2Y8AsgTpgAmY7PhCfg==");
     error(_HASH_HASH.args("", ""), Err.HASH_ALG);
   }
+
+  /** Test method. */
+  @Test
+  public void stream() {
+    final String bin = _FILE_READ_BINARY.args(FILE), text = _FILE_READ_TEXT.args(FILE);
+    query(_HASH_MD5.args(bin) + " eq " + _HASH_MD5.args(text), "true");
+    query(_HASH_SHA256.args(bin) + " eq " + _HASH_SHA256.args(text), "true");
+    error(_HASH_HASH.args(_FILE_READ_BINARY.args(FILE + 'x'), "md5"), Err.FILE_WHICH);
+  }
 }
@@ -22,6 +22,28 @@ public final class FNMapTest extends AdvancedQueryTest {
     query(_MAP_SIZE.args(_MAP_NEW.args("()")), 0);
     query(COUNT.args(_MAP_NEW.args("()")), 1);
     query(_MAP_SIZE.args(_MAP_NEW.args(_MAP_NEW.args("()"))), 0);
+
+    // bulk creation: compare with successive insertions
+    final String bulk = _MAP_NEW.args(" for $i in 1 to 10000 return " +
+        _MAP_ENTRY.args("$i mod 7000", "$i"));
+    final String single = "fold-left(1 to 10000, " + _MAP_NEW.args() +
+        ", function($m, $i) { " + _MAP_NEW.args("($m, " +
+        _MAP_ENTRY.args("$i mod 7000", "$i") + ")") + " })";
+    query(_MAP_SIZE.args(bulk), 7000);
+    query(DEEP_EQUAL.args(bulk, single), true);
+    query(_MAP_GET.args(bulk, 1), 7001);
+    query(_MAP_GET.args(bulk, 6999), 6999);
+    // colliding hash values, duplicate keys
+    query("let $m := " + _MAP_NEW.args("(" + _MAP_ENTRY.args("'Aa'", 1) + ", " +
+        _MAP_ENTRY.args("'BB'", 2) + ", " + _MAP_ENTRY.args("'Aa'", 3) + ")") +
+        " return (" + _MAP_SIZE.args("$m") + ", " + _MAP_GET.args("$m", "'Aa'") + ", " +
+        _MAP_GET.args("$m", "'BB'") + ")", "2 3 2");
+    query("let $m := map { 1 := 'a', 2 := 'b', 1.0 := 'c' } return (" +
+        _MAP_GET.args("$m", 1) + ", " + _MAP_SIZE.args("$m") + ")", "c 2");
+    // bulk entries are merged with larger maps
+    query("let $m := " + _MAP_NEW.args("(" + _MAP_ENTRY.args(1, 2) + ", " +
+        "map { 1 := 3, 2 := 4 }, " + _MAP_ENTRY.args(2, 5) + ")") +
+        " return (1, 2) ! $m(.)", "3 5");
   }
 
   /** Test method. */
@@ -20,6 +20,30 @@ public final class FuncTest extends QueryTest {
     queries = new Object[][] {
       { "distinct-values 2", itr(2),
         "count(distinct-values(//line/text()))" },
+      { "distinct-values 3", itr(1, 2, 3), "distinct-values((1, 2, 1, 3, 2))" },
+      { "distinct-values 4", str("a", "b"), "distinct-values(('a', 'b', 'a'))" },
+      { "distinct-values 5", itr(3), "count(distinct-values((1, 'a', 1.0, " +
+        "xs:untypedAtomic('a'), xs:anyURI('a'), 2)))" },
+      { "index-of 1", itr(2, 4), "index-of((1, 2, 3, 2), 2)" },
+      { "index-of 2", itr(1, 3), "index-of(('a', 'b', 'a'), 'a')" },
+      { "index-of 3", itr(2), "index-of((1, 2, 3), 2.0)" },
+      { "index-of 4", itr(1), "index-of(('a', 'b'), xs:untypedAtomic('a'))" },
+      { "union 1", str("desc", "line", "desc", "line"),
+        "(reverse(//line) | reverse(//desc)) ! name()" },
+      { "intersect 1", itr(2), "count(reverse(//*) intersect //line)" },
+      { "except 1", str("desclist"),
+        "(reverse(//*) except //line except //desc) ! name()" },
+      { "sum 1", itr(50005000), "sum(1 to 10000)" },
+      { "sum 2", itr(155), "let $s := (1 to 10) ! (. * 3 - 1) return sum($s)" },
+      { "sum 3", dbl(5), "sum((1 to 4) ! (. div 2e0))" },
+      { "avg 1", str("5.5"), "string(avg(reverse(1 to 10)))" },
+      { "min 1", itr(10), "min((1 to 10) ! (20 - .))" },
+      { "min 2", str("NaN"), "string(min((1e0, xs:double('NaN'), 0e0)))" },
+      { "max 1", dbl(2.5), "max((1 to 10) ! (. div 4e0))" },
+      { "max 2", itr(6), "max((1 to 100) ! (. mod 7))" },
+      { "map 1", bool(true), "(1 to 3) ! (. * 2) instance of xs:integer+" },
+      { "map 2", "(1 to 3) ! (. idiv 0)" },
+      { "map 3", "(1 to 3) ! (. * 9223372036854775807)" },
     };
   }
 
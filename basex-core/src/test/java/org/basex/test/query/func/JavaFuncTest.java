@@ -47,6 +47,15 @@ public class JavaFuncTest extends AdvancedQueryTest {
     query("declare namespace p = 'java.util.Properties'; p:new()", "{}");
   }
 
+  /** Tests calling overloaded methods with different argument types. */
+  @Test
+  public void overloaded() {
+    query("for $x in (xs:int(-2), xs:double(-2.5), xs:int(-3), xs:float(-1.5)) " +
+        "return Q{java:java.lang.Math}abs($x)", "2 2.5 3 1.5");
+    query("string-join(for $x in (xs:int(5), 'ab', xs:int(3), 'c') " +
+        "return string(Q{java:java.lang.StringBuilder}new($x)), '|')", "|ab||c");
+  }
+
   /** Tests importing a Java class. */
   @Test
   public void importClass() {
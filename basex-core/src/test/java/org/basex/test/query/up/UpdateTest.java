@@ -1056,4 +1056,41 @@ public final class UpdateTest extends AdvancedQueryTest {
    query("declare function local:c() { copy $a := <a/> modify () return $a };" +
      "xquery:eval('$c()', map { 'c' := local:c#0 })", "<a/>");
  }
+
+ /**
+  * Inserts nodes from other databases.
+  * @throws BaseXException database exception
+  */
+ @Test
+ public void insertFromDB() throws BaseXException {
+   final String src = "db:open('" + NAME + "src')";
+   new CreateDB(NAME + "src", "<x><a>1<b c='d'/></a><a>2</a><a>3</a></x>").
+     execute(context);
+   new CreateDB(NAME + "ns", "<x xmlns:p='u'><p:a/></x>").execute(context);
+   createDB("<y/>");
+
+   // contiguous nodes: copied from the original database
+   query("insert node " + src + "//a into /y");
+   query("/y", "<y><a>1<b c=\"d\"/></a><a>2</a><a>3</a></y>");
+   // no contiguous nodes
+   query("replace node /y/a[3] with " + src + "//a[position() = (1, 3)]");
+   query("/y/a/text()", "1213");
+   // source database is updated as well
+   query("insert node " + src + "//a[2] into /y, delete node " + src + "//a[2]");
+   query("/y/a[last()]/text()", "2");
+   query("count(" + src + "//a)", "2");
+   query("insert node <z/> into " + src + "//a[2], " +
+       "insert node " + src + "//a[2] into /y");
+   query("/y/a[last()]", "<a>3</a>");
+   // nodes of the same database
+   query("insert node <big>{ (1 to 1000) ! <c>{ . }</c> }</big> into /y");
+   query("insert node /y/big as first into /y");
+   query("deep-equal(/y/big[1], /y/big[2])", "true");
+   // namespaces
+   query("insert node db:open('" + NAME + "ns')//*:a into /y");
+   query("/y/*[last()]", "<p:a xmlns:p=\"u\"/>");
+
+   new DropDB(NAME + "src").execute(context);
+   new DropDB(NAME + "ns").execute(context);
+ }
 }
@@ -28,14 +28,14 @@ public class RESTConcurrencyTest {
   /** Socket time-out in (ms). */
   private static final int SOCKET_TIMEOUT = 3000;
   /** Test database name. */
-  private static final String DBNAME = Util.name(RESTConcurrencyTest.class);
+  static final String DBNAME = Util.name(RESTConcurrencyTest.class);
   /** Context to create and drop the test database. */
   private static final Context CTX = new Context();
   /** BaseX HTTP base URL. */
   static final String BASE_URL = "http://localhost:8984/rest/" + DBNAME;
 
   /** BaseX HTTP server instance under test. */
-  private Process basexHTTPServer;
+  private static Process basexHTTPServer;
 
   /**
    * Create a test database and start BaseXHTTP.
@@ -172,16 +172,16 @@ public class RESTConcurrencyTest {
     }
   }
 
-  // private methods
+  // helper methods, which are also used by other performance tests
 
   /** Start BaseX HTTP. */
-  private void startBaseXHTTP() {
+  static void startBaseXHTTP() {
     basexHTTPServer = Util.start(BaseXHTTP.class, "-U" + Text.ADMIN, "-P" + Text.ADMIN);
     Performance.sleep(TIMEOUT); // give the server some time to stop
   }
 
   /** Stop BaseX HTTP. */
-  private void stopBaseXHTTP() {
+  static void stopBaseXHTTP() {
     Util.start(BaseXHTTP.class, "stop");
     Performance.sleep(TIMEOUT); // give the server some time to stop
     basexHTTPServer.destroy();
@@ -193,7 +193,7 @@ public class RESTConcurrencyTest {
    * @param name database name
    * @throws IOException error during database creation
    */
-  private static void createTestDatabase(final String name) throws IOException {
+  static void createTestDatabase(final String name) throws IOException {
     new CreateDB(name).execute(CTX);
     new Close().execute(CTX);
   }
@@ -203,14 +203,14 @@ public class RESTConcurrencyTest {
    * @param name database name
    * @throws IOException error during database drop
    */
-  private static void dropTestDatabase(final String name) throws IOException {
+  static void dropTestDatabase(final String name) throws IOException {
     new DropDB(name).execute(CTX);
   }
 
   // REST API:
 
   /** REST GET request. */
-  private static class Get implements Callable<HTTPResponse> {
+  static class Get implements Callable<HTTPResponse> {
     /** Request URI. */
     protected final URI uri;
     /** Stop signal. */
@@ -248,7 +248,7 @@ public class RESTConcurrencyTest {
   }
 
   /** REST PUT request. */
-  private static class Put implements Callable<HTTPResponse> {
+  static class Put implements Callable<HTTPResponse> {
     /** Request URI. */
     private final URI uri;
     /** Content to send to the server. */
@@ -317,7 +317,7 @@ public class RESTConcurrencyTest {
   // Toolbox
 
   /** Simple HTTP response. */
-  private static class HTTPResponse {
+  static class HTTPResponse {
     /** Status code. */
     public final HTTPCode status;
     /** Response data or {@code null} if no data was returned. */
@@ -343,7 +343,7 @@ public class RESTConcurrencyTest {
   }
 
   /** HTTP response codes. */
-  private static enum HTTPCode {
+  static enum HTTPCode {
     /** 100: Continue. */
     CONTINUE(100, "Continue"),
     /** 200: OK. */
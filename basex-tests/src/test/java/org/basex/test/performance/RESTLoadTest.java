@@ -0,0 +1,97 @@
+package org.basex.test.performance;
+
+import static org.basex.test.performance.RESTConcurrencyTest.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.util.*;
+import org.junit.*;
+
+/**
+ * This class sends parallel read requests to the REST API and reports
+ * the median and 99th percentile of the response times. The server and the test
+ * database are set up in the same way as in {@link RESTConcurrencyTest}.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class RESTLoadTest {
+  /** Client count. */
+  private static final int CLIENTS = 8;
+  /** Runs per client. */
+  private static final int RUNS = 250;
+
+  /**
+   * Creates the test database and starts the server.
+   * @throws Exception exception
+   */
+  @BeforeClass
+  public static void start() throws Exception {
+    createTestDatabase(DBNAME);
+    startBaseXHTTP();
+    final HTTPResponse res = new Put("/a.xml", Token.token("<a/>")).call();
+    assertEquals(HTTPCode.CREATED, res.status);
+  }
+
+  /**
+   * Stops the server and drops the test database.
+   * @throws Exception exception
+   */
+  @AfterClass
+  public static void stop() throws Exception {
+    stopBaseXHTTP();
+    dropTestDatabase(DBNAME);
+  }
+
+  /**
+   * Load test.
+   * @throws Exception exception
+   */
+  @Test
+  public void load() throws Exception {
+    final ExecutorService exec = Executors.newFixedThreadPool(CLIENTS);
+    final ArrayList<Future<long[]>> loaders = new ArrayList<Future<long[]>>();
+    final Performance perf = new Performance();
+    for(int l = 0; l < CLIENTS; l++) loaders.add(exec.submit(new Loader()));
+
+    final long[] times = new long[CLIENTS * RUNS];
+    for(int l = 0; l < CLIENTS; l++) {
+      System.arraycopy(loaders.get(l).get(), 0, times, l * RUNS, RUNS);
+    }
+    final String time = perf.toString();
+    exec.shutdown();
+
+    Arrays.sort(times);
+    Util.outln("% requests in %: p50 = %, p99 = %", times.length, time,
+        Performance.getTime(percentile(times, 50), 1),
+        Performance.getTime(percentile(times, 99), 1));
+  }
+
+  /**
+   * Returns the specified percentile of the sorted values.
+   * @param times sorted values
+   * @param p percentile
+   * @return value
+   */
+  private static long percentile(final long[] times, final int p) {
+    return times[Math.min(times.length - 1, times.length * p / 100)];
+  }
+
+  /** Client, measuring the response times of all requests. */
+  private static final class Loader implements Callable<long[]> {
+    @Override
+    public long[] call() throws Exception {
+      final long[] times = new long[RUNS];
+      for(int i = 0; i < RUNS; i++) {
+        final long t = System.nanoTime();
+        final HTTPResponse res = new Get("?query=count(.)").call();
+        times[i] = System.nanoTime() - t;
+        assertEquals(HTTPCode.OK, res.status);
+        assertEquals("1", res.data);
+      }
+      return times;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package org.basex.test.performance;
+
+import java.io.*;
+
+import org.basex.build.*;
+import org.basex.core.*;
+import org.basex.io.*;
+import org.basex.test.*;
+import org.basex.util.*;
+import org.junit.*;
+
+/**
+ * This class benchmarks the throughput of the internal XML parser
+ * for a markup-heavy and a text-heavy document.
+ *
+ * @author BaseX Team 2005-12, BSD License
+ * @author Christian Gruen
+ */
+public final class XMLScanTest extends SandboxTest {
+  /** Input document. */
+  private static final String INPUT = "src/test/resources/factbook.zip";
+  /** Number of runs. */
+  private static final int RUNS = 50;
+  /** Markup-heavy document. */
+  private static IOContent markup;
+  /** Text-heavy document. */
+  private static IOContent text;
+
+  /**
+   * Reads and creates the input documents.
+   * @throws IOException I/O exception
+   */
+  @BeforeClass
+  public static void init() throws IOException {
+    markup = new IOContent(new Zip(new IOFile(INPUT)).read("factbook.xml"));
+    // paragraphs of plain text, which have about the same size as the factbook
+    final TokenBuilder tb = new TokenBuilder("<text>");
+    final String[] words = { "lorem", "ipsum", "dolor", "sit", "amet", "adipiscing" };
+    for(int p = 0; tb.size() < markup.length(); p++) {
+      tb.add("<p>");
+      for(int w = 0; w < 100; w++) tb.add(words[(p + w * w) % words.length]).add(' ');
+      tb.add("</p>");
+    }
+    text = new IOContent(tb.add("</text>").finish());
+  }
+
+  /**
+   * Measures the throughput for the markup-heavy document.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void markup() throws IOException {
+    throughput("Markup", markup);
+  }
+
+  /**
+   * Measures the throughput for the text-heavy document.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void text() throws IOException {
+    throughput("Text", text);
+  }
+
+  /**
+   * Measures the throughput of the internal parser.
+   * @param name name of the input
+   * @param input input document
+   * @throws IOException I/O exception
+   */
+  private void throughput(final String name, final IOContent input) throws IOException {
+    final Prop prop = context.prop;
+    final boolean chop = prop.is(Prop.CHOP), intparse = prop.is(Prop.INTPARSE);
+    prop.set(Prop.CHOP, false);
+    prop.set(Prop.INTPARSE, true);
+    try {
+      // warm up
+      for(int r = 0; r < 5; r++) MemBuilder.build(Parser.xmlParser(input, prop)).close();
+
+      final Performance p = new Performance();
+      for(int r = 0; r < RUNS; r++) {
+        MemBuilder.build(Parser.xmlParser(input, prop)).close();
+      }
+      final double ms = Math.max(1, p.time() / 1000000d);
+      final long size = input.length() * RUNS;
+      final double mbs = size / ms * 1000 / (1 << 20);
+      Util.outln("XML Scanner (%): % MB/s", name, Math.round(mbs * 10) / 10d);
+    } finally {
+      prop.set(Prop.CHOP, chop);
+      prop.set(Prop.INTPARSE, intparse);
+    }
+  }
+}
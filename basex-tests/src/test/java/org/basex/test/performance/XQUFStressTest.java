@@ -13,6 +13,8 @@ import org.junit.*;
 public final class XQUFStressTest extends SandboxTest {
   /** Number of node updates. */
   private static final int NRNODES = 100;
+  /** Number of node updates in a single query. */
+  private static final int BULK = 100000;
 
   /**
    * Tests the insert statement.
@@ -103,4 +105,46 @@ public final class XQUFStressTest extends SandboxTest {
     }
     new DropDB(NAME).execute(context);
   }
+
+  /**
+   * Tests bulk updates on a single document.
+   * @throws Exception exception
+   */
+  @Test
+  public void bulk() throws Exception {
+    new CreateDB(NAME, "<doc/>").execute(context);
+    new XQuery("insert node (1 to " + BULK + ") ! <section>{ . }</section> into /doc").
+      execute(context);
+    bulk("/doc/section");
+    new DropDB(NAME).execute(context);
+  }
+
+  /**
+   * Tests bulk updates on multiple documents.
+   * @throws Exception exception
+   */
+  @Test
+  public void bulkDocs() throws Exception {
+    new CreateDB(NAME).execute(context);
+    new XQuery("for $i in 1 to " + BULK + " return db:add('" + NAME + "', " +
+        "<section>{ $i }</section>, $i || '.xml')").execute(context);
+    bulk("/section");
+    new DropDB(NAME).execute(context);
+  }
+
+  /**
+   * Performs bulk updates on the specified nodes.
+   * @param nodes path to the nodes
+   * @throws Exception exception
+   */
+  private void bulk(final String nodes) throws Exception {
+    new XQuery("for $s in " + nodes + " return insert node <page/> into $s").
+      execute(context);
+    new XQuery("for $p in " + nodes + "/page return replace node $p with <p>x</p>").
+      execute(context);
+    new XQuery("for $s in " + nodes + "[position() mod 2 = 0] return delete node $s").
+      execute(context);
+    new XQuery("for $p in " + nodes + "/p return rename node $p as 'page'").
+      execute(context);
+  }
 }